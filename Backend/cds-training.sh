@@ -0,0 +1,43 @@
+#!/bin/bash
+# Builds the AppCDS archive for the fast-start profile.
+# Usage: cds-training.sh target/employee-management-system-1.0.0.jar
+#
+# The jar is exploded into target/fast-start so the JVM sees plain classpath
+# entries (CDS cannot archive classes loaded from nested jars), then the app is
+# started once with Spring AOT enabled and stopped right after context refresh.
+# The training run needs the configured database to be reachable.
+
+set -e
+
+JAR="$(cd "$(dirname "$1")" && pwd)/$(basename "$1")"
+OUT="$(dirname "$JAR")/fast-start"
+
+rm -rf "$OUT"
+mkdir -p "$OUT"
+cd "$OUT"
+jar -xf "$JAR"
+
+# Keep the dependency order recorded by the Spring Boot plugin; the classpath
+# used at runtime must match the training run exactly
+CP="BOOT-INF/classes"
+while read -r line; do
+    CP="$CP:$(echo "$line" | sed -e 's/^- "//' -e 's/"$//')"
+done < BOOT-INF/classpath.idx
+echo "$CP" > classpath.txt
+
+echo "Running CDS training run..."
+java -XX:ArchiveClassesAtExit=app.jsa \
+     -Dspring.aot.enabled=true \
+     -Dspring.context.exit=onRefresh \
+     -cp "$CP" com.employeems.EmployeeManagementSystemApplication
+
+cat > start-fast.sh <<'START'
+#!/bin/bash
+# Starts the fast-start build (run from target/fast-start)
+cd "$(dirname "$0")"
+exec java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -cp "$(cat classpath.txt)" \
+     com.employeems.EmployeeManagementSystemApplication "$@"
+START
+chmod +x start-fast.sh
+
+echo "CDS archive written to $OUT/app.jsa"
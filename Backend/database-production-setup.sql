@@ -31,11 +31,13 @@ CREATE TABLE IF NOT EXISTS employees (
     salary DECIMAL(12,2) NOT NULL,
     hire_date DATE NOT NULL,
     is_active BOOLEAN DEFAULT TRUE,
+    manager_id BIGINT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
     -- Indexes for performance
     INDEX idx_department (department),
+    INDEX idx_manager_id (manager_id),
     INDEX idx_position (position),
     INDEX idx_hire_date (hire_date),
     INDEX idx_active (is_active),
@@ -94,6 +96,136 @@ CREATE TABLE IF NOT EXISTS system_metrics (
     INDEX idx_recorded_at (recorded_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- Daily active headcount per department (written by the application, see HeadcountTimeSeriesService)
+CREATE TABLE IF NOT EXISTS headcount_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    snapshot_date DATE NOT NULL,
+    department VARCHAR(100) NOT NULL,
+    headcount INT NOT NULL,
+    
+    UNIQUE KEY uk_snapshot_date_department (snapshot_date, department)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Soft-deleted employees past the retention window (moved by EmployeeArchiveService)
+CREATE TABLE IF NOT EXISTS employees_archive (
+    id BIGINT PRIMARY KEY,
+    first_name VARCHAR(100) NOT NULL,
+    last_name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    department VARCHAR(100) NOT NULL,
+    position VARCHAR(100) NOT NULL,
+    hire_date DATE NOT NULL,
+    salary DECIMAL(10,2),
+    is_active BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    INDEX idx_archive_department (department),
+    INDEX idx_archive_email (email),
+    INDEX idx_archived_at (archived_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Committed employee changes, polled by every instance to invalidate in-memory state (see InvalidationBus)
+CREATE TABLE IF NOT EXISTS employee_change_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    employee_id BIGINT NOT NULL,
+    change_type CHAR(1) NOT NULL,
+    origin VARCHAR(64) NOT NULL,
+    changed_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    
+    INDEX idx_change_log_changed_at (changed_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS read_model_departments (
+    ordinal INT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    
+    UNIQUE KEY uk_read_model_department_name (name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS employee_read_model (
+    id BIGINT PRIMARY KEY,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    full_name VARCHAR(101) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    department VARCHAR(100) NOT NULL,
+    department_ordinal INT NOT NULL,
+    position VARCHAR(100) NOT NULL,
+    hire_date DATE NOT NULL,
+    salary DECIMAL(10,2),
+    is_active BOOLEAN NOT NULL,
+    manager_id BIGINT NULL,
+    search_key VARCHAR(410) NOT NULL,
+    created_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NULL,
+    synced_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    
+    INDEX idx_read_model_active_department (is_active, department_ordinal),
+    INDEX idx_read_model_hire_date (hire_date),
+    INDEX idx_read_model_salary (salary)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS employee_hierarchy (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+    
+    PRIMARY KEY (ancestor_id, descendant_id),
+    INDEX idx_hierarchy_descendant (descendant_id, depth)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS leave_balances (
+    employee_id BIGINT PRIMARY KEY,
+    balance DECIMAL(6,2) NOT NULL DEFAULT 0,
+    accrued_period INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS leave_accrual_runs (
+    period INT PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    employees_accrued BIGINT NOT NULL DEFAULT 0,
+    chunks INT NOT NULL DEFAULT 0,
+    attempts INT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    duration_ms BIGINT NULL,
+    error VARCHAR(500) NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Job leases (one row per job or job shard) and job run history
+CREATE TABLE IF NOT EXISTS scheduled_job_locks (
+    lock_name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(100) NULL,
+    lease_until TIMESTAMP(3) NULL,
+    heartbeat_at TIMESTAMP(3) NULL,
+    acquired_at TIMESTAMP(3) NULL,
+    fencing_token BIGINT NOT NULL DEFAULT 0,
+    run_key VARCHAR(50) NULL,
+    checkpoint BIGINT NOT NULL DEFAULT 0,
+    completed_key VARCHAR(50) NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS scheduled_job_runs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    shard INT NOT NULL DEFAULT 0,
+    shard_count INT NOT NULL DEFAULT 1,
+    run_key VARCHAR(50) NULL,
+    owner VARCHAR(100) NOT NULL,
+    fencing_token BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP(3) NOT NULL,
+    finished_at TIMESTAMP(3) NULL,
+    duration_ms BIGINT NULL,
+    items BIGINT NOT NULL DEFAULT 0,
+    error VARCHAR(500) NULL,
+    INDEX idx_job_runs_job (job_name, status, shard),
+    INDEX idx_job_runs_started (started_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- Insert sample production data (minimal for production)
 INSERT IGNORE INTO employees (first_name, last_name, email, phone, department, position, salary, hire_date) VALUES
 ('System', 'Administrator', 'admin@company.com', '+1-555-0001', 'Engineering', 'System Administrator', 75000.00, '2024-01-01'),
@@ -0,0 +1,42 @@
+#!/bin/bash
+# End-to-end load test: optionally seeds the database, boots the jar, runs a scenario, stops the app.
+# Usage: load-test.sh <scenario.json> [employees-to-seed]
+#
+# Build first: mvn clean package
+# Seeding truncates the employees table (datagen profile, seed 42) so runs are comparable.
+# Reports go to target/loadtest/<scenario>-<timestamp>.json; exit status 1 when an SLO is missed.
+
+SCENARIO=${1:-loadtest/scenarios/mixed.json}
+SEED_COUNT=${2:-0}
+BASE_DIR="$(cd "$(dirname "$0")" && pwd)"
+JAR="$BASE_DIR/target/employee-management-system-1.0.0.jar"
+PORT=${PORT:-8080}
+
+if [ ! -f "$JAR" ]; then
+    echo "ERROR: $JAR not found, run mvn clean package first"
+    exit 1
+fi
+
+if [ "$SEED_COUNT" -gt 0 ]; then
+    echo "Seeding $SEED_COUNT employees..."
+    java -jar "$JAR" --spring.profiles.active=datagen --ems.datagen.count="$SEED_COUNT" \
+        --ems.datagen.seed=42 --ems.datagen.truncate=true || exit 1
+fi
+
+echo "Starting application on port $PORT..."
+java -jar "$JAR" --server.port="$PORT" --logging.level.com.employeems=INFO \
+    --logging.level.org.springframework.web=INFO --logging.level.org.hibernate.SQL=INFO \
+    > "$BASE_DIR/target/load-test-app.log" 2>&1 &
+APP_PID=$!
+trap 'kill $APP_PID 2>/dev/null; wait $APP_PID 2>/dev/null' EXIT
+
+for i in $(seq 1 120); do
+    if curl -sf "http://localhost:$PORT/api/health/ready" > /dev/null; then
+        break
+    fi
+    sleep 1
+done
+
+# The runner is in src/loadtest/java (not packaged), so it runs through the load-test profile
+cd "$BASE_DIR" && mvn -q -Pload-test test-compile exec:exec -Dloadtest.scenario="$SCENARIO" \
+    -Dloadtest.baseUrl="http://localhost:$PORT"
@@ -0,0 +1,54 @@
+#!/bin/bash
+# Reports startup time, RSS and throughput for the native image and the jar.
+# Usage: native-benchmark.sh [requests]
+#
+# Build both first:
+#   mvn clean package && cp target/employee-management-system-1.0.0.jar target/regular.jar
+#   mvn -Pnative native:compile
+#
+# The database configured in application.properties must be reachable.
+
+REQUESTS=${1:-2000}
+PORT=18080
+TARGET="$(cd "$(dirname "$0")" && pwd)/target"
+URL="http://localhost:$PORT/api/employees?size=20"
+
+run() {
+    local label=$1
+    shift
+    local start=$(date +%s%N)
+    "$@" --server.port=$PORT > "$TARGET/$label-benchmark.log" 2>&1 &
+    local pid=$!
+
+    # Startup: time until the API answers
+    until curl -sf "http://localhost:$PORT/api/employees/health" > /dev/null; do
+        if ! kill -0 $pid 2> /dev/null; then
+            echo "ERROR: $label exited, see target/$label-benchmark.log"
+            return
+        fi
+        sleep 0.01
+    done
+    local ready=$(date +%s%N)
+
+    local rss_idle=$(ps -o rss= -p $pid)
+
+    # Throughput: sequential requests against the paged list endpoint
+    local t0=$(date +%s%N)
+    for i in $(seq 1 "$REQUESTS"); do
+        curl -s -o /dev/null "$URL"
+    done
+    local t1=$(date +%s%N)
+
+    local rss_load=$(ps -o rss= -p $pid)
+    kill $pid
+    wait $pid 2> /dev/null
+
+    echo "$label startup:    $(( (ready - start) / 1000000 )) ms"
+    echo "$label RSS idle:   $(( rss_idle / 1024 )) MB"
+    echo "$label RSS loaded: $(( rss_load / 1024 )) MB"
+    echo "$label throughput: $(( REQUESTS * 1000000000 / (t1 - t0) )) req/s"
+    echo
+}
+
+[ -x "$TARGET/employee-api" ] && run native "$TARGET/employee-api"
+[ -f "$TARGET/regular.jar" ] && run jvm java -jar "$TARGET/regular.jar"
@@ -0,0 +1,69 @@
+package com.employeems.benchmark;
+
+import com.employeems.datagen.SyntheticEmployeeGenerator;
+import com.employeems.entity.Employee;
+import com.employeems.service.EmployeeFuzzyIndex;
+
+/**
+ * Build time, memory and query latency of EmployeeFuzzyIndex at 100k and 1M employees
+ * Runs in-process on SyntheticEmployeeGenerator data, no Spring context or database needed:
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=FuzzySearchBenchmark -Dbenchmark.args="[sizes...]"
+ */
+public class FuzzySearchBenchmark {
+
+    private static final String[] QUERIES = {"Jhon Smith", "enginering", "Micheal Jonson", "sarha", "finanse analyst",
+            "jenifer rodrigez", "opperations analist", "pria patel", "custmer service"};
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+                ? java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[] {100_000, 1_000_000};
+        for (int size : sizes) {
+            run(size);
+        }
+    }
+
+    private static void run(int size) {
+        SyntheticEmployeeGenerator generator = new SyntheticEmployeeGenerator(42);
+        EmployeeFuzzyIndex index = new EmployeeFuzzyIndex();
+
+        System.gc();
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        for (int i = 1; i <= size; i++) {
+            Employee employee = generator.next();
+            employee.setId((long) i);
+            if (employee.getIsActive()) {
+                index.index(employee);
+            }
+        }
+        long buildMs = (System.nanoTime() - start) / 1_000_000;
+        System.gc();
+        long heapMb = (usedHeap() - heapBefore) / (1024 * 1024);
+
+        // Warm up, then measure
+        for (int i = 0; i < 50; i++) {
+            index.search(QUERIES[i % QUERIES.length], 20);
+        }
+        int iterations = 200;
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long t0 = System.nanoTime();
+            index.search(QUERIES[i % QUERIES.length], 20);
+            latencies[i] = System.nanoTime() - t0;
+        }
+        java.util.Arrays.sort(latencies);
+
+        System.out.printf("employees=%d build=%d ms heap=%d MB query p50=%.2f ms p99=%.2f ms max=%.2f ms%n",
+                size, buildMs, heapMb,
+                latencies[iterations / 2] / 1e6, latencies[iterations * 99 / 100] / 1e6, latencies[iterations - 1] / 1e6);
+        for (String query : QUERIES) {
+            System.out.println("  " + query + " -> " + index.search(query, 1));
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
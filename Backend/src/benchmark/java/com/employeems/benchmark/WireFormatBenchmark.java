@@ -0,0 +1,103 @@
+package com.employeems.benchmark;
+
+import com.employeems.datagen.SyntheticEmployeeGenerator;
+import com.employeems.entity.Employee;
+import com.employeems.wire.EmployeeProtobufCodec;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload size and encode/decode time of JSON vs application/x-protobuf for employee pages
+ * Uses the same envelope as GET /api/employees on SyntheticEmployeeGenerator data, no Spring context needed:
+ *   mvn -Pbenchmark test-compile exec:exec -Dbenchmark=WireFormatBenchmark -Dbenchmark.args="[page sizes...]"
+ */
+public class WireFormatBenchmark {
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = args.length > 0
+                ? java.util.Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : new int[] {10, 100, 1000};
+        for (int size : sizes) {
+            run(size);
+        }
+    }
+
+    private static void run(int size) throws IOException {
+        Map<String, Object> page = page(size);
+        byte[] json = JSON.writeValueAsBytes(page);
+        byte[] proto = EmployeeProtobufCodec.encodeEnvelope(page, JSON);
+
+        // Enough iterations for ~20M employees per measurement, after a warm-up of the same length
+        int iterations = Math.max(200, 20_000_000 / (size * 100));
+        double jsonEncode = measure(iterations, () -> JSON.writeValueAsBytes(page));
+        double jsonDecode = measure(iterations, () -> JSON.readValue(json, Map.class));
+        double protoEncode = measure(iterations, () -> EmployeeProtobufCodec.encodeEnvelope(page, JSON));
+        double protoDecode = measure(iterations, () -> EmployeeProtobufCodec.decodeEnvelope(proto, JSON));
+
+        System.out.printf("page=%d json: %d B (gzip %d B) encode=%.1f us decode=%.1f us | "
+                        + "protobuf: %d B (gzip %d B) encode=%.1f us decode=%.1f us | size %.0f%% of json%n",
+                size, json.length, gzip(json), jsonEncode, jsonDecode,
+                proto.length, gzip(proto), protoEncode, protoDecode, 100.0 * proto.length / json.length);
+    }
+
+    private static Map<String, Object> page(int size) {
+        SyntheticEmployeeGenerator generator = new SyntheticEmployeeGenerator(42);
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Employee employee = generator.next();
+            employee.setId((long) i);
+            employee.setManagerId(i > 10 ? (long) (i % 10 + 1) : null);
+            employees.add(employee);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("employees", employees);
+        response.put("currentPage", 0);
+        response.put("totalItems", 250_000L);
+        response.put("totalPages", 250_000 / size);
+        response.put("hasNext", true);
+        response.put("hasPrevious", false);
+        response.put("pageSize", size);
+        return response;
+    }
+
+    private interface Task {
+        Object run() throws IOException;
+    }
+
+    // Microseconds per operation
+    private static double measure(int iterations, Task task) throws IOException {
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += task.run().hashCode() & 1;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += task.run().hashCode() & 1;
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / iterations;
+        return sink < 0 ? -1 : micros;
+    }
+
+    private static int gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        }
+        return buffer.size();
+    }
+}
@@ -0,0 +1,114 @@
+package com.employeems.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load test scenario, read from a JSON file (see loadtest/scenarios)
+ * Paths and bodies may use the placeholders {id} (a sampled existing employee id),
+ * {seq} (request sequence number), {run} (run id), {term} and {department}.
+ */
+public class LoadScenario {
+
+    private String name = "scenario";
+    private String baseUrl = "http://localhost:8080";
+    // Constant arrival rate (open model), requests per second over all endpoints
+    private double ratePerSecond = 100;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 60;
+    private int timeoutMillis = 10000;
+    // Requests beyond this many in flight are counted as dropped instead of queued
+    private int maxInFlight = 1000;
+    // Number of existing employee ids sampled for {id}
+    private int idSample = 1000;
+    private List<String> terms = new ArrayList<>(List.of("john", "smith", "engineer", "sales"));
+    private List<String> departments = new ArrayList<>(List.of("Engineering", "Sales", "HR", "Finance"));
+    private Slo slo = new Slo();
+    private List<Request> requests = new ArrayList<>();
+
+    public static class Request {
+        private String name;
+        private String method = "GET";
+        private String path;
+        private String body;
+        private double weight = 1;
+        // Overrides the scenario SLO for this endpoint
+        private Slo slo;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+
+        public String getBody() { return body; }
+        public void setBody(String body) { this.body = body; }
+
+        public double getWeight() { return weight; }
+        public void setWeight(double weight) { this.weight = weight; }
+
+        public Slo getSlo() { return slo; }
+        public void setSlo(Slo slo) { this.slo = slo; }
+    }
+
+    /**
+     * Latency objective on coordinated-omission-corrected percentiles, and an error budget
+     */
+    public static class Slo {
+        private Double p50Millis;
+        private Double p99Millis = 500.0;
+        private Double p999Millis;
+        private double maxErrorRate = 0.01;
+
+        public Double getP50Millis() { return p50Millis; }
+        public void setP50Millis(Double p50Millis) { this.p50Millis = p50Millis; }
+
+        public Double getP99Millis() { return p99Millis; }
+        public void setP99Millis(Double p99Millis) { this.p99Millis = p99Millis; }
+
+        public Double getP999Millis() { return p999Millis; }
+        public void setP999Millis(Double p999Millis) { this.p999Millis = p999Millis; }
+
+        public double getMaxErrorRate() { return maxErrorRate; }
+        public void setMaxErrorRate(double maxErrorRate) { this.maxErrorRate = maxErrorRate; }
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getBaseUrl() { return baseUrl; }
+    public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+
+    public double getRatePerSecond() { return ratePerSecond; }
+    public void setRatePerSecond(double ratePerSecond) { this.ratePerSecond = ratePerSecond; }
+
+    public int getWarmupSeconds() { return warmupSeconds; }
+    public void setWarmupSeconds(int warmupSeconds) { this.warmupSeconds = warmupSeconds; }
+
+    public int getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(int durationSeconds) { this.durationSeconds = durationSeconds; }
+
+    public int getTimeoutMillis() { return timeoutMillis; }
+    public void setTimeoutMillis(int timeoutMillis) { this.timeoutMillis = timeoutMillis; }
+
+    public int getMaxInFlight() { return maxInFlight; }
+    public void setMaxInFlight(int maxInFlight) { this.maxInFlight = maxInFlight; }
+
+    public int getIdSample() { return idSample; }
+    public void setIdSample(int idSample) { this.idSample = idSample; }
+
+    public List<String> getTerms() { return terms; }
+    public void setTerms(List<String> terms) { this.terms = terms; }
+
+    public List<String> getDepartments() { return departments; }
+    public void setDepartments(List<String> departments) { this.departments = departments; }
+
+    public Slo getSlo() { return slo; }
+    public void setSlo(Slo slo) { this.slo = slo; }
+
+    public List<Request> getRequests() { return requests; }
+    public void setRequests(List<Request> requests) { this.requests = requests; }
+}
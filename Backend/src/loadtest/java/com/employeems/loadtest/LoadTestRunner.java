@@ -0,0 +1,330 @@
+package com.employeems.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load generator with coordinated-omission-corrected latencies
+ * Requests are started on a fixed schedule (constant arrival rate) whether or not
+ * earlier ones have finished. Latency is measured from the scheduled start, so a
+ * stalled server shows up in the percentiles instead of slowing the load down.
+ * Service time (from the actual send) is reported alongside for comparison.
+ * Requests dropped at maxInFlight count as errors and are recorded at the timeout.
+ *   mvn -Pload-test test-compile exec:exec -Dloadtest.scenario=loadtest/scenarios/mixed.json
+ * -Dloadtest.baseUrl overrides the scenario's base URL. Exits with status 1 when an SLO is missed.
+ */
+public class LoadTestRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final LoadScenario scenario;
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final List<Long> sampledIds = new ArrayList<>();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadTestRunner(LoadScenario scenario) {
+        this.scenario = scenario;
+        this.executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(scenario.getTimeoutMillis()))
+                .executor(executor)
+                .build();
+        for (LoadScenario.Request request : scenario.getRequests()) {
+            stats.put(request.getName(), new EndpointStats(request));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: LoadTestRunner <scenario.json> [reportDir]");
+            System.exit(2);
+        }
+        LoadScenario scenario = MAPPER.readValue(new File(args[0]), LoadScenario.class);
+        if (System.getProperty("loadtest.baseUrl") != null) {
+            scenario.setBaseUrl(System.getProperty("loadtest.baseUrl"));
+        }
+        File reportDir = new File(args.length > 1 ? args[1] : "target/loadtest");
+
+        LoadTestRunner runner = new LoadTestRunner(scenario);
+        Map<String, Object> report = runner.run();
+        runner.shutdown();
+
+        reportDir.mkdirs();
+        File reportFile = new File(reportDir, scenario.getName() + "-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        MAPPER.writeValue(reportFile, report);
+        System.out.println("Report written to " + reportFile.getPath());
+        System.exit(Boolean.TRUE.equals(report.get("sloMet")) ? 0 : 1);
+    }
+
+    public Map<String, Object> run() throws Exception {
+        sampleIds();
+        double[] cdf = weightsCdf();
+        SplittableRandom random = new SplittableRandom(42);
+        long intervalNanos = (long) (1_000_000_000L / scenario.getRatePerSecond());
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(scenario.getWarmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(scenario.getDurationSeconds());
+
+        System.out.printf("%s: %.0f req/s for %ds after %ds warmup against %s%n", scenario.getName(),
+                scenario.getRatePerSecond(), scenario.getDurationSeconds(), scenario.getWarmupSeconds(), scenario.getBaseUrl());
+
+        for (long seq = 0; ; seq++) {
+            long scheduled = start + seq * intervalNanos;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            LoadScenario.Request request = scenario.getRequests().get(pick(cdf, random.nextDouble()));
+            send(request, seq, scheduled, scheduled >= measureFrom, random.split());
+        }
+
+        // Let the last requests finish (they still count against the schedule)
+        long drainUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(scenario.getTimeoutMillis());
+        while (inFlight.get() > 0 && System.nanoTime() < drainUntil) {
+            Thread.sleep(10);
+        }
+        return report(TimeUnit.NANOSECONDS.toSeconds(end - measureFrom));
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void send(LoadScenario.Request request, long seq, long scheduled, boolean measured, SplittableRandom random) {
+        EndpointStats endpoint = stats.get(request.getName());
+        if (inFlight.get() >= scenario.getMaxInFlight()) {
+            if (measured) {
+                // Counted as a failure at the timeout, so shedding load can't improve the percentiles
+                endpoint.dropped.incrementAndGet();
+                endpoint.corrected.recordMicros(scenario.getTimeoutMillis() * 1000L);
+            }
+            return;
+        }
+
+        String path = expand(request.getPath(), seq, random, true);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(scenario.getBaseUrl() + path))
+                .timeout(Duration.ofMillis(scenario.getTimeoutMillis()));
+        if (request.getBody() != null) {
+            builder.header("Content-Type", "application/json")
+                    .method(request.getMethod(), HttpRequest.BodyPublishers.ofString(expand(request.getBody(), seq, random, false)));
+        } else {
+            builder.method(request.getMethod(), HttpRequest.BodyPublishers.noBody());
+        }
+
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        client.sendAsync(builder.build(), HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            long done = System.nanoTime();
+            inFlight.decrementAndGet();
+            if (!measured) {
+                return;
+            }
+            endpoint.corrected.recordMicros((done - scheduled) / 1000);
+            endpoint.service.recordMicros((done - sent) / 1000);
+            String outcome = error != null ? error.getClass().getSimpleName() : Integer.toString(response.statusCode());
+            endpoint.outcomes.computeIfAbsent(outcome, key -> new AtomicLong()).incrementAndGet();
+            if (error != null || response.statusCode() >= 400) {
+                endpoint.errors.incrementAndGet();
+            }
+        });
+    }
+
+    // Existing ids from a few random pages of the list endpoint, for {id}
+    private void sampleIds() throws Exception {
+        if (scenario.getIdSample() <= 0) {
+            return;
+        }
+        int pageSize = 100;
+        JsonNode first = getJson("/api/employees?size=" + pageSize + "&page=0");
+        int totalPages = Math.max(1, first.path("totalPages").asInt(1));
+        SplittableRandom random = new SplittableRandom(7);
+        addIds(first);
+        for (int i = 1; i < scenario.getIdSample() / pageSize && sampledIds.size() < scenario.getIdSample(); i++) {
+            addIds(getJson("/api/employees?size=" + pageSize + "&page=" + random.nextInt(totalPages)));
+        }
+        if (sampledIds.isEmpty()) {
+            throw new IllegalStateException("No employees found at " + scenario.getBaseUrl() + ", seed the database first");
+        }
+        System.out.println("Sampled " + sampledIds.size() + " employee ids");
+    }
+
+    private void addIds(JsonNode page) {
+        for (JsonNode employee : page.path("employees")) {
+            sampledIds.add(employee.path("id").asLong());
+        }
+    }
+
+    private JsonNode getJson(String path) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(scenario.getBaseUrl() + path))
+                .timeout(Duration.ofMillis(scenario.getTimeoutMillis())).build(), HttpResponse.BodyHandlers.ofString());
+        return MAPPER.readTree(response.body());
+    }
+
+    private String expand(String template, long seq, SplittableRandom random, boolean urlEncode) {
+        String result = template;
+        if (result.contains("{id}")) {
+            result = result.replace("{id}", Long.toString(sampledIds.get(random.nextInt(sampledIds.size()))));
+        }
+        if (result.contains("{term}")) {
+            result = result.replace("{term}", value(scenario.getTerms(), random, urlEncode));
+        }
+        if (result.contains("{department}")) {
+            result = result.replace("{department}", value(scenario.getDepartments(), random, urlEncode));
+        }
+        return result.replace("{seq}", Long.toString(seq)).replace("{run}", runId);
+    }
+
+    private static String value(List<String> values, SplittableRandom random, boolean urlEncode) {
+        String value = values.get(random.nextInt(values.size()));
+        return urlEncode ? URLEncoder.encode(value, StandardCharsets.UTF_8) : value;
+    }
+
+    private double[] weightsCdf() {
+        List<LoadScenario.Request> requests = scenario.getRequests();
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException("Scenario has no requests");
+        }
+        double total = requests.stream().mapToDouble(LoadScenario.Request::getWeight).sum();
+        double[] cdf = new double[requests.size()];
+        double running = 0;
+        for (int i = 0; i < cdf.length; i++) {
+            running += requests.get(i).getWeight();
+            cdf[i] = running / total;
+        }
+        cdf[cdf.length - 1] = 1.0;
+        return cdf;
+    }
+
+    private static int pick(double[] cdf, double value) {
+        for (int i = 0; i < cdf.length; i++) {
+            if (value <= cdf[i]) {
+                return i;
+            }
+        }
+        return cdf.length - 1;
+    }
+
+    private Map<String, Object> report(long seconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario.getName());
+        report.put("baseUrl", scenario.getBaseUrl());
+        report.put("targetRatePerSecond", scenario.getRatePerSecond());
+        report.put("durationSeconds", seconds);
+        report.put("startedAt", LocalDateTime.now().minusSeconds(seconds).toString());
+
+        boolean sloMet = true;
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        System.out.printf("%n%-22s %8s %8s %7s %9s %9s %9s %9s %9s %5s%n", "endpoint", "count", "req/s", "errors",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "SLO");
+        for (EndpointStats endpoint : stats.values()) {
+            LatencyHistogram h = endpoint.corrected;
+            long count = h.getTotalCount();
+            double errorRate = count == 0 ? 0 : (double) (endpoint.errors.get() + endpoint.dropped.get()) / count;
+            LoadScenario.Slo slo = endpoint.request.getSlo() != null ? endpoint.request.getSlo() : scenario.getSlo();
+            List<String> violations = violations(slo, h, errorRate);
+            sloMet &= violations.isEmpty();
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint.request.getName());
+            row.put("method", endpoint.request.getMethod());
+            row.put("path", endpoint.request.getPath());
+            row.put("count", count);
+            row.put("ratePerSecond", seconds == 0 ? 0 : (double) count / seconds);
+            row.put("errors", endpoint.errors.get());
+            row.put("dropped", endpoint.dropped.get());
+            row.put("errorRate", errorRate);
+            row.put("outcomes", endpoint.outcomes);
+            row.put("latencyMillis", latencies(h));
+            row.put("serviceTimeMillis", latencies(endpoint.service));
+            row.put("sloViolations", violations);
+            endpoints.add(row);
+
+            System.out.printf("%-22s %8d %8.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f %5s%n", endpoint.request.getName(), count,
+                    seconds == 0 ? 0.0 : (double) count / seconds, endpoint.errors.get() + endpoint.dropped.get(),
+                    millis(h.getPercentileMicros(50)), millis(h.getPercentileMicros(90)), millis(h.getPercentileMicros(99)),
+                    millis(h.getPercentileMicros(99.9)), millis(h.getMaxMicros()), violations.isEmpty() ? "ok" : "FAIL");
+            violations.forEach(violation -> System.out.println("    " + violation));
+        }
+        report.put("endpoints", endpoints);
+        report.put("sloMet", sloMet);
+        System.out.println(sloMet ? "All SLOs met" : "SLO violations found");
+        return report;
+    }
+
+    private static List<String> violations(LoadScenario.Slo slo, LatencyHistogram h, double errorRate) {
+        List<String> violations = new ArrayList<>();
+        check(violations, "p50", slo.getP50Millis(), millis(h.getPercentileMicros(50)));
+        check(violations, "p99", slo.getP99Millis(), millis(h.getPercentileMicros(99)));
+        check(violations, "p99.9", slo.getP999Millis(), millis(h.getPercentileMicros(99.9)));
+        if (errorRate > slo.getMaxErrorRate()) {
+            violations.add(String.format("error rate %.4f > %.4f", errorRate, slo.getMaxErrorRate()));
+        }
+        return violations;
+    }
+
+    private static void check(List<String> violations, String label, Double limitMillis, double actualMillis) {
+        if (limitMillis != null && actualMillis > limitMillis) {
+            violations.add(String.format("%s %.2f ms > %.2f ms", label, actualMillis, limitMillis));
+        }
+    }
+
+    private static Map<String, Object> latencies(LatencyHistogram h) {
+        Map<String, Object> latencies = new LinkedHashMap<>();
+        latencies.put("mean", millis((long) h.getMeanMicros()));
+        for (double percentile : new double[] {50, 90, 95, 99, 99.9, 99.99}) {
+            latencies.put("p" + (percentile == (long) percentile ? Long.toString((long) percentile) : Double.toString(percentile)),
+                    millis(h.getPercentileMicros(percentile)));
+        }
+        latencies.put("max", millis(h.getMaxMicros()));
+        return latencies;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class EndpointStats {
+        private final LoadScenario.Request request;
+        private final LatencyHistogram corrected = new LatencyHistogram();
+        private final LatencyHistogram service = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final Map<String, AtomicLong> outcomes = new ConcurrentHashMap<>();
+
+        EndpointStats(LoadScenario.Request request) {
+            this.request = request;
+        }
+    }
+}
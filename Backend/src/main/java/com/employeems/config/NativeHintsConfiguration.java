@@ -0,0 +1,62 @@
+package com.employeems.config;
+
+import com.employeems.entity.ArchivedEmployee;
+import com.employeems.entity.Employee;
+import com.employeems.entity.JobLock;
+import com.employeems.entity.JobRun;
+import com.employeems.entity.LeaveAccrualRun;
+import com.employeems.service.EmployeeFuzzyIndex;
+import com.employeems.service.EmployeeSuggestIndex;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.List;
+
+/**
+ * Runtime hints for the native image build (-Pnative)
+ * Spring AOT infers most hints itself, these cover what it can't see:
+ * entities serialized inside Map responses, validation errors and classpath resources
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfiguration.EmployeeRuntimeHints.class)
+public class NativeHintsConfiguration {
+
+    static class EmployeeRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Jackson serialization and Bean Validation of Employee (controllers return it inside a Map)
+            hints.reflection().registerType(Employee.class,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+
+            // Other types serialized by Jackson inside Map or List responses: search results,
+            // archived rows, job leases and run history
+            for (Class<?> type : List.of(EmployeeFuzzyIndex.Match.class, EmployeeSuggestIndex.Suggestion.class,
+                    ArchivedEmployee.class, JobLock.class, JobRun.class, LeaveAccrualRun.class)) {
+                hints.reflection().registerType(type,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+
+            // Validation errors returned as-is in the "errors" field
+            hints.reflection().registerType(ObjectError.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection().registerType(FieldError.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection().registerType(DefaultMessageSourceResolvable.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            // Templates, static assets and SQL scripts
+            hints.resources().registerPattern("templates/**");
+            hints.resources().registerPattern("static/**");
+            hints.resources().registerPattern("*.sql");
+        }
+    }
+}
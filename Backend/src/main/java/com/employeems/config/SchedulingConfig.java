@@ -0,0 +1,15 @@
+package com.employeems.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled and @Async background work (health checks, index builds, maintenance jobs)
+ * Pool sizes are set with spring.task.scheduling.pool.size and spring.task.execution.pool.*
+ */
+@Configuration
+@EnableScheduling
+@EnableAsync
+public class SchedulingConfig {
+}
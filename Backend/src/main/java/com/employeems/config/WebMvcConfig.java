@@ -0,0 +1,36 @@
+package com.employeems.config;
+
+import com.employeems.filter.QueryBudgetInterceptor;
+import com.employeems.wire.ProtobufEmployeeHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Adds the application/x-protobuf converter after the default ones and the query budget interceptor
+ * The converter is last in the list, so wildcard or missing Accept headers still get JSON.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QueryBudgetInterceptor queryBudgetInterceptor;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ProtobufEmployeeHttpMessageConverter(objectMapper));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor);
+    }
+}
@@ -1,18 +1,26 @@
 package com.employeems.controller;
 
+import com.employeems.service.HealthMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.web.bind.annotation.*;
 import java.util.*;
 
+// Demo data is only built on the first /api/demo request, not at startup
+@Lazy
 @RestController
 @RequestMapping("/api/demo")
 @CrossOrigin(origins = "*")
 public class DemoController {
     
+    @Autowired
+    private HealthMonitor healthMonitor;
+    
     // In-memory storage for demo
-    private static List<Map<String, Object>> employees = new ArrayList<>();
-    private static Long nextId = 1L;
+    private final List<Map<String, Object>> employees = new ArrayList<>();
+    private Long nextId = 1L;
     
-    static {
+    public DemoController() {
         // Initialize with sample data
         addSampleEmployee("John", "Doe", "john.doe@company.com", "Engineering", "Software Engineer", "75000");
         addSampleEmployee("Jane", "Smith", "jane.smith@company.com", "HR", "HR Manager", "65000");
@@ -21,7 +29,7 @@ public class DemoController {
         addSampleEmployee("David", "Brown", "david.brown@company.com", "Finance", "Financial Analyst", "70000");
     }
     
-    private static void addSampleEmployee(String firstName, String lastName, String email, String department, String position, String salary) {
+    private void addSampleEmployee(String firstName, String lastName, String email, String department, String position, String salary) {
         Map<String, Object> employee = new HashMap<>();
         employee.put("id", nextId++);
         employee.put("firstName", firstName);
@@ -166,8 +174,9 @@ public class DemoController {
         Map<String, Object> response = new HashMap<>();
         response.put("status", "UP");
         response.put("message", "Employee Management System is running!");
-        response.put("timestamp", new Date());
+        response.put("timestamp", healthMonitor.getSnapshot().getCheckedAt());
         response.put("employeeCount", employees.size());
+        response.put("ready", healthMonitor.isReady());
         return response;
     }
 }
@@ -1,15 +1,33 @@
 package com.employeems.controller;
 
+import com.employeems.dto.FacetQuery;
+import com.employeems.entity.ArchivedEmployee;
 import com.employeems.entity.Employee;
+import com.employeems.service.EmployeeAnalyticsService;
+import com.employeems.service.EmployeeFacetIndex;
+import com.employeems.service.EmployeeFuzzyIndex;
 import com.employeems.service.EmployeeService;
+import com.employeems.service.EmployeeSuggestIndex;
+import com.employeems.service.HeadcountTimeSeriesService;
+import com.employeems.service.HealthMonitor;
+import com.employeems.service.OrgHierarchyService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,22 +40,49 @@ public class EmployeeRestController {
     
     @Autowired
     private EmployeeService employeeService;
+    
+    @Autowired
+    private HealthMonitor healthMonitor;
+    
+    @Autowired
+    private EmployeeSuggestIndex suggestIndex;
+    
+    @Autowired
+    private EmployeeFuzzyIndex fuzzyIndex;
+    
+    @Autowired
+    private EmployeeFacetIndex facetIndex;
+    
+    @Autowired
+    private EmployeeAnalyticsService analyticsService;
+    
+    @Autowired
+    private HeadcountTimeSeriesService headcountService;
+    
+    @Autowired
+    private OrgHierarchyService orgHierarchy;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${ems.streaming.chunk-size:500}")
+    private int streamChunkSize;
 
-    // Health check endpoint
+    // Health check endpoint (served from the last background check, see HealthMonitor)
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
+        HealthMonitor.Snapshot snapshot = healthMonitor.getSnapshot();
         Map<String, Object> response = new HashMap<>();
-        try {
-            long count = employeeService.countActiveEmployees();
+        if (healthMonitor.isReady()) {
             response.put("status", "UP");
             response.put("message", "Employee Management System is running!");
-            response.put("timestamp", System.currentTimeMillis());
-            response.put("employeeCount", count);
+            response.put("timestamp", snapshot.getCheckedAt());
+            response.put("employeeCount", healthMonitor.getEmployeeCount());
             response.put("database", "MySQL - ems");
             return ResponseEntity.ok(response);
-        } catch (Exception e) {
+        } else {
             response.put("status", "DOWN");
-            response.put("message", "Database connection failed: " + e.getMessage());
+            response.put("message", "Database connection failed: " + snapshot.getReadiness().getOrDefault("error", "not ready"));
             return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
         }
     }
@@ -70,6 +115,7 @@ public class EmployeeRestController {
             response.put("totalPages", employeePage.getTotalPages());
             response.put("hasNext", employeePage.hasNext());
             response.put("hasPrevious", employeePage.hasPrevious());
+            response.put("pageSize", employeePage.getSize());
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -80,9 +126,226 @@ public class EmployeeRestController {
         }
     }
     
+    // Stream all active employees as JSON, written chunk by chunk as rows are fetched
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees(
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        ObjectWriter rowWriter = objectMapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        ObjectWriter archivedWriter = objectMapper.writerFor(ArchivedEmployee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                long count = 0;
+                long lastId = 0;
+                
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("employees");
+                
+                List<Employee> chunk;
+                do {
+                    // Each chunk is loaded in its own transaction and released once written
+                    chunk = employeeService.getActiveEmployeesAfter(lastId, department, streamChunkSize);
+                    for (Employee employee : chunk) {
+                        rowWriter.writeValue(generator, employee);
+                        lastId = employee.getId();
+                    }
+                    count += chunk.size();
+                    generator.flush();
+                } while (!chunk.isEmpty());
+                
+                // Archived rows follow the live ones, same chunking
+                if (includeArchived) {
+                    List<ArchivedEmployee> archivedChunk;
+                    lastId = 0;
+                    do {
+                        archivedChunk = employeeService.getArchivedEmployeesAfter(lastId, department, streamChunkSize);
+                        for (ArchivedEmployee employee : archivedChunk) {
+                            archivedWriter.writeValue(generator, employee);
+                            lastId = employee.getId();
+                        }
+                        count += archivedChunk.size();
+                        generator.flush();
+                    } while (!archivedChunk.isEmpty());
+                }
+                
+                generator.writeEndArray();
+                generator.writeNumberField("totalItems", count);
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+    
+    // Typeahead suggestions from the in-memory prefix index
+    @GetMapping("/suggest")
+    public ResponseEntity<Map<String, Object>> suggest(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        long start = System.nanoTime();
+        Map<String, Object> response = new HashMap<>();
+        int k = Math.max(1, Math.min(limit, 50));
+        
+        if (suggestIndex.isReady()) {
+            response.put("suggestions", suggestIndex.suggest(query, k));
+        } else {
+            // Index still building after startup: fall back to the database search
+            response.put("suggestions", employeeService.searchEmployees(query, 0, k, "id", "asc").getContent().stream()
+                    .map(e -> Map.of("id", e.getId(), "label", e.getFullName() + " - " + e.getPosition() + " (" + e.getDepartment() + ")"))
+                    .toList());
+        }
+        response.put("indexReady", suggestIndex.isReady());
+        response.put("tookMicros", (System.nanoTime() - start) / 1000);
+        return ResponseEntity.ok(response);
+    }
+    
+    // Typo-tolerant search ranked by relevance, served from the in-memory fuzzy index
+    @GetMapping("/fuzzy")
+    public ResponseEntity<Map<String, Object>> fuzzySearch(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        if (!fuzzyIndex.isReady()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Fuzzy index is still building");
+            response.put("message", "Retry shortly or use /api/employees?search=");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+        
+        long start = System.nanoTime();
+        List<EmployeeFuzzyIndex.Match> matches = fuzzyIndex.search(query, Math.max(1, Math.min(limit, employeeService.getMaxPageSize())));
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("employees", matches);
+        response.put("totalItems", matches.size());
+        response.put("tookMicros", (System.nanoTime() - start) / 1000);
+        return ResponseEntity.ok(response);
+    }
+    
+    // Faceted search: combined filters, one page of rows and per-facet counts for the whole result set
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, Object>> facetedSearch(@ModelAttribute FacetQuery query) {
+        if (!facetIndex.isReady()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Facet index is still building");
+            response.put("message", "Retry shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+        
+        query.setSize(Math.max(1, Math.min(query.getSize(), employeeService.getMaxPageSize())));
+        EmployeeFacetIndex.Result result;
+        try {
+            result = facetIndex.search(query);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Invalid facet query");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        int totalPages = (result.totalItems() + query.getSize() - 1) / query.getSize();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("employees", employeeService.getEmployeesByIds(result.ids()));
+        response.put("currentPage", query.getPage());
+        response.put("totalItems", result.totalItems());
+        response.put("totalPages", totalPages);
+        response.put("hasNext", query.getPage() + 1 < totalPages);
+        response.put("hasPrevious", query.getPage() > 0);
+        response.put("facets", Map.of(
+            "department", result.departmentCounts(),
+            "position", result.positionCounts()
+        ));
+        return ResponseEntity.ok(response);
+    }
+    
+    // Salary and tenure analytics per department (percentiles, histograms), computed in memory
+    @GetMapping("/analytics")
+    public ResponseEntity<Map<String, Object>> getAnalytics(@RequestParam(defaultValue = "10000") long bucketSize) {
+        if (!analyticsService.isReady()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Analytics data is still loading");
+            response.put("message", "Retry shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+        
+        try {
+            long start = System.nanoTime();
+            Map<String, Object> response = new HashMap<>(analyticsService.getReport(bucketSize));
+            response.put("tookMicros", (System.nanoTime() - start) / 1000);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Invalid analytics query");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    // Active headcount per department over time, from daily snapshots downsampled to day/week/month
+    @GetMapping("/headcount")
+    public ResponseEntity<Map<String, Object>> getHeadcountSeries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "month") String granularity,
+            @RequestParam(required = false) String department) {
+        
+        Map<String, Object> response = new HashMap<>();
+        if (!headcountService.isReady()) {
+            response.put("error", "Headcount history is still being backfilled");
+            response.put("message", "Retry shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+        
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        try {
+            HeadcountTimeSeriesService.Granularity step =
+                    HeadcountTimeSeriesService.Granularity.valueOf(granularity.toUpperCase());
+            if (start.isAfter(end)) {
+                throw new IllegalArgumentException("'from' must not be after 'to'");
+            }
+            return ResponseEntity.ok(headcountService.getSeries(start, end, step, department));
+        } catch (IllegalArgumentException e) {
+            response.put("error", "Invalid headcount query");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    // Archived (long soft-deleted) employees with pagination
+    @GetMapping("/archive")
+    public ResponseEntity<Map<String, Object>> getArchivedEmployees(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(required = false) String department) {
+        
+        try {
+            Page<ArchivedEmployee> archivedPage = employeeService.getArchivedEmployees(department, page, size, sortBy, sortDirection);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("employees", archivedPage.getContent());
+            response.put("currentPage", archivedPage.getNumber());
+            response.put("totalItems", archivedPage.getTotalElements());
+            response.put("totalPages", archivedPage.getTotalPages());
+            response.put("hasNext", archivedPage.hasNext());
+            response.put("hasPrevious", archivedPage.hasPrevious());
+            response.put("pageSize", archivedPage.getSize());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Failed to fetch archived employees");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
     // Get employee by ID
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getEmployeeById(@PathVariable Long id) {
+    public ResponseEntity<Map<String, Object>> getEmployeeById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         try {
             Optional<Employee> employee = employeeService.getEmployeeById(id);
             Map<String, Object> response = new HashMap<>();
@@ -90,6 +353,12 @@ public class EmployeeRestController {
             if (employee.isPresent()) {
                 response.put("employee", employee.get());
                 return ResponseEntity.ok(response);
+            }
+            Optional<ArchivedEmployee> archived = includeArchived ? employeeService.getArchivedEmployeeById(id) : Optional.empty();
+            if (archived.isPresent()) {
+                response.put("employee", archived.get());
+                response.put("archived", true);
+                return ResponseEntity.ok(response);
             } else {
                 response.put("error", "Employee not found");
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
@@ -102,6 +371,120 @@ public class EmployeeRestController {
         }
     }
     
+    // Direct reports of an employee
+    @GetMapping("/{id}/reports")
+    public ResponseEntity<Map<String, Object>> getDirectReports(@PathVariable Long id) {
+        List<Employee> reports = orgHierarchy.getDirectReports(id);
+        Map<String, Object> response = new HashMap<>();
+        response.put("managerId", id);
+        response.put("employees", reports);
+        response.put("count", reports.size());
+        return ResponseEntity.ok(response);
+    }
+    
+    // Chain of command above an employee, nearest manager first
+    @GetMapping("/{id}/chain")
+    public ResponseEntity<Map<String, Object>> getChainOfCommand(@PathVariable Long id) {
+        if (!employeeService.existsById(id)) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Employee not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("employeeId", id);
+        response.put("chain", orgHierarchy.getChainOfCommand(id));
+        return ResponseEntity.ok(response);
+    }
+    
+    // Active headcount, salary total, direct reports and levels in an employee's organization
+    @GetMapping("/{id}/org")
+    public ResponseEntity<Map<String, Object>> getOrgSummary(@PathVariable Long id) {
+        if (!orgHierarchy.isReady()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Org hierarchy is still loading");
+            response.put("message", "Retry shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
+        return ResponseEntity.ok(orgHierarchy.getSubtreeSummary(id));
+    }
+    
+    // Everyone in an employee's organization with pagination, optionally limited to maxDepth levels
+    @GetMapping("/{id}/org/members")
+    public ResponseEntity<Map<String, Object>> getOrgMembers(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @RequestParam(defaultValue = "64") int maxDepth) {
+        
+        Page<Employee> members = orgHierarchy.getSubtree(id, maxDepth, page, size, sortBy, sortDirection);
+        Map<String, Object> response = new HashMap<>();
+        response.put("employees", members.getContent());
+        response.put("currentPage", members.getNumber());
+        response.put("totalItems", members.getTotalElements());
+        response.put("totalPages", members.getTotalPages());
+        response.put("hasNext", members.hasNext());
+        response.put("hasPrevious", members.hasPrevious());
+        response.put("pageSize", members.getSize());
+        return ResponseEntity.ok(response);
+    }
+    
+    // Change an employee's manager; the employee's team moves along ({"managerId": null} makes it top level)
+    @PutMapping("/{id}/manager")
+    public ResponseEntity<Map<String, Object>> changeManager(@PathVariable Long id, @RequestBody Map<String, Long> body) {
+        return moveEmployees(List.of(id), body.get("managerId"));
+    }
+    
+    // Bulk move: {"employeeIds": [..], "managerId": ..}, each with everyone reporting to them
+    @PostMapping("/org/move")
+    public ResponseEntity<Map<String, Object>> moveEmployees(@RequestBody Map<String, Object> body) {
+        Object ids = body.get("employeeIds");
+        Object managerId = body.get("managerId");
+        if (!(ids instanceof List<?> idList) || (managerId != null && !(managerId instanceof Number))) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Invalid move request");
+            response.put("message", "Expected {\"employeeIds\": [ids], \"managerId\": id or null}");
+            return ResponseEntity.badRequest().body(response);
+        }
+        List<Long> employeeIds = idList.stream()
+                .map(value -> value instanceof Number number ? number.longValue() : null)
+                .toList();
+        return moveEmployees(employeeIds, managerId == null ? null : ((Number) managerId).longValue());
+    }
+    
+    // Reorg: all direct reports of an employee, with their teams, move under another manager
+    @PostMapping("/{id}/reports/reassign")
+    public ResponseEntity<Map<String, Object>> reassignReports(@PathVariable Long id, @RequestParam Long managerId) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            List<Employee> moved = employeeService.reassignReports(id, managerId);
+            response.put("message", "Reports reassigned successfully");
+            response.put("moved", moved.size());
+            response.put("employees", moved);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            response.put("error", "Failed to reassign reports");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    private ResponseEntity<Map<String, Object>> moveEmployees(List<Long> employeeIds, Long managerId) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            List<Employee> moved = employeeService.moveEmployees(employeeIds, managerId);
+            response.put("message", "Employees moved successfully");
+            response.put("moved", moved.size());
+            response.put("employees", moved);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            response.put("error", "Failed to move employees");
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
     // Create new employee
     @PostMapping
     public ResponseEntity<Map<String, Object>> createEmployee(@Valid @RequestBody Employee employee, BindingResult result) {
@@ -1,21 +1,27 @@
 package com.employeems.controller;
 
+import com.employeems.dto.EmployeeView;
 import com.employeems.entity.Employee;
+import com.employeems.service.DashboardService;
+import com.employeems.service.DepartmentService;
 import com.employeems.service.EmployeeService;
+import com.employeems.service.ViewFragmentCache;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+// Server-rendered pages are not needed to serve the API, so create them on first use
+@Lazy
 @Controller
 @RequestMapping("/")
 public class EmployeeWebController {
@@ -23,10 +29,17 @@ public class EmployeeWebController {
     @Autowired
     private EmployeeService employeeService;
     
-    private final List<String> departments = Arrays.asList(
-        "HR", "Engineering", "Marketing", "Sales", "Finance", 
-        "Operations", "IT", "Legal", "Customer Service", "Research & Development"
-    );
+    @Autowired
+    private DepartmentService departmentService;
+    
+    @Autowired
+    private ViewFragmentCache fragmentCache;
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
+    // Distinguishes ETags of different instances and restarts
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
     
     // Home page - redirect to employee list
     @GetMapping("/")
@@ -58,7 +71,7 @@ public class EmployeeWebController {
                 employeePage = employeeService.getActiveEmployees(page, size, sortBy, sortDirection);
             }
             
-            model.addAttribute("employees", employeePage.getContent());
+            model.addAttribute("employees", employeePage.getContent().stream().map(EmployeeView::new).toList());
             model.addAttribute("currentPage", employeePage.getNumber());
             model.addAttribute("totalPages", employeePage.getTotalPages());
             model.addAttribute("totalItems", employeePage.getTotalElements());
@@ -67,11 +80,11 @@ public class EmployeeWebController {
             model.addAttribute("sortBy", sortBy);
             model.addAttribute("sortDirection", sortDirection);
             model.addAttribute("size", size);
-            model.addAttribute("departments", departments);
+            model.addAttribute("departments", departmentService.getDepartments());
             
-            // Get statistics for dashboard
-            Map<String, Object> stats = employeeService.getEmployeeStatistics();
-            model.addAttribute("statistics", stats);
+            // Statistics cards are re-rendered only when the data changes
+            model.addAttribute("statisticsHtml", fragmentCache.render("fragments/statistics", "summaryCards",
+                    () -> Map.of("statistics", employeeService.getEmployeeStatistics())));
             
         } catch (Exception e) {
             model.addAttribute("error", "Error loading employees: " + e.getMessage());
@@ -84,7 +97,7 @@ public class EmployeeWebController {
     @GetMapping("/employees/add")
     public String showAddForm(Model model) {
         model.addAttribute("employee", new Employee());
-        model.addAttribute("departments", departments);
+        model.addAttribute("departments", departmentService.getDepartments());
         model.addAttribute("pageTitle", "Add New Employee");
         return "employees/form";
     }
@@ -97,7 +110,7 @@ public class EmployeeWebController {
                              RedirectAttributes redirectAttributes) {
         
         if (result.hasErrors()) {
-            model.addAttribute("departments", departments);
+            model.addAttribute("departments", departmentService.getDepartments());
             model.addAttribute("pageTitle", "Add New Employee");
             return "employees/form";
         }
@@ -109,7 +122,7 @@ public class EmployeeWebController {
             return "redirect:/employees";
         } catch (Exception e) {
             model.addAttribute("errorMessage", "Error adding employee: " + e.getMessage());
-            model.addAttribute("departments", departments);
+            model.addAttribute("departments", departmentService.getDepartments());
             model.addAttribute("pageTitle", "Add New Employee");
             return "employees/form";
         }
@@ -122,7 +135,7 @@ public class EmployeeWebController {
             Optional<Employee> employee = employeeService.getEmployeeById(id);
             if (employee.isPresent()) {
                 model.addAttribute("employee", employee.get());
-                model.addAttribute("departments", departments);
+                model.addAttribute("departments", departmentService.getDepartments());
                 model.addAttribute("pageTitle", "Edit Employee");
                 return "employees/form";
             } else {
@@ -144,7 +157,7 @@ public class EmployeeWebController {
                               RedirectAttributes redirectAttributes) {
         
         if (result.hasErrors()) {
-            model.addAttribute("departments", departments);
+            model.addAttribute("departments", departmentService.getDepartments());
             model.addAttribute("pageTitle", "Edit Employee");
             return "employees/form";
         }
@@ -156,7 +169,7 @@ public class EmployeeWebController {
             return "redirect:/employees";
         } catch (Exception e) {
             model.addAttribute("errorMessage", "Error updating employee: " + e.getMessage());
-            model.addAttribute("departments", departments);
+            model.addAttribute("departments", departmentService.getDepartments());
             model.addAttribute("pageTitle", "Edit Employee");
             return "employees/form";
         }
@@ -201,14 +214,18 @@ public class EmployeeWebController {
     
     // Dashboard page
     @GetMapping("/dashboard")
-    public String dashboard(Model model) {
+    public String dashboard(Model model, WebRequest request) {
         try {
-            Map<String, Object> stats = employeeService.getEmployeeStatistics();
-            model.addAttribute("statistics", stats);
+            DashboardService.Snapshot snapshot = dashboardService.getSnapshot();
+            
+            // Unchanged data: answer 304 without rendering (flash messages always render)
+            boolean hasFlash = model.containsAttribute("successMessage") || model.containsAttribute("errorMessage");
+            if (!hasFlash && request.checkNotModified("\"dashboard-" + instanceTag + "-" + snapshot.getVersion() + "\"")) {
+                return null;
+            }
             
-            // Get recent employees (last 5)
-            Page<Employee> recentEmployees = employeeService.getActiveEmployees(0, 5, "createdAt", "desc");
-            model.addAttribute("recentEmployees", recentEmployees.getContent());
+            model.addAttribute("statistics", snapshot.getStatistics());
+            model.addAttribute("recentEmployees", snapshot.getRecentEmployees());
             
         } catch (Exception e) {
             model.addAttribute("error", "Error loading dashboard: " + e.getMessage());
@@ -0,0 +1,39 @@
+package com.employeems.controller;
+
+import com.employeems.service.HealthMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/health")
+@CrossOrigin(origins = "*")
+public class HealthController {
+
+    @Autowired
+    private HealthMonitor healthMonitor;
+
+    // Liveness: the process is up and serving requests, no dependencies checked
+    @GetMapping("/live")
+    public ResponseEntity<Map<String, Object>> liveness() {
+        return ResponseEntity.ok(healthMonitor.getSnapshot().getLiveness());
+    }
+
+    // Readiness: last background database check passed and the pool is not exhausted
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, Object>> readiness() {
+        HealthMonitor.Snapshot snapshot = healthMonitor.getSnapshot();
+        if (healthMonitor.isReady()) {
+            return ResponseEntity.ok(snapshot.getReadiness());
+        }
+        if (snapshot.isReady()) {
+            // Checks stopped running; the snapshot can't be trusted anymore
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("status", "DOWN", "message", "Health check is stale", "checkedAt", snapshot.getCheckedAt()));
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(snapshot.getReadiness());
+    }
+}
@@ -0,0 +1,34 @@
+package com.employeems.controller;
+
+import com.employeems.entity.JobLock;
+import com.employeems.entity.JobRun;
+import com.employeems.jobs.DistributedJobScheduler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/jobs")
+@CrossOrigin(origins = "*")
+public class JobController {
+
+    private static final int MAX_RUNS = 500;
+
+    @Autowired
+    private DistributedJobScheduler jobScheduler;
+
+    // Job leases across all instances: holder, lease expiry, last heartbeat, fencing token, shard checkpoint
+    @GetMapping("/locks")
+    public ResponseEntity<List<JobLock>> getLocks() {
+        return ResponseEntity.ok(jobScheduler.getLocks());
+    }
+
+    // Run history, newest first, optionally for one job (e.g. ?job=archive)
+    @GetMapping("/runs")
+    public ResponseEntity<List<JobRun>> getRuns(@RequestParam(required = false) String job,
+                                                @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(jobScheduler.getRuns(job, Math.max(1, Math.min(limit, MAX_RUNS))));
+    }
+}
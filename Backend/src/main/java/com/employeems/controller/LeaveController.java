@@ -0,0 +1,94 @@
+package com.employeems.controller;
+
+import com.employeems.entity.LeaveAccrualRun;
+import com.employeems.service.LeaveAccrualService;
+import com.employeems.service.LeaveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/leave")
+@CrossOrigin(origins = "*")
+public class LeaveController {
+
+    @Autowired
+    private LeaveService leaveService;
+
+    @Autowired
+    private LeaveAccrualService leaveAccrualService;
+
+    // Current leave balance of an employee, in days
+    @GetMapping("/balances/{employeeId}")
+    public ResponseEntity<Map<String, Object>> getBalance(@PathVariable Long employeeId) {
+        try {
+            return ResponseEntity.ok(leaveService.getBalance(employeeId));
+        } catch (RuntimeException e) {
+            return error(HttpStatus.NOT_FOUND, "Employee not found", e.getMessage());
+        }
+    }
+
+    // Take leave: {"days": 1.5}; 409 when the balance doesn't cover it
+    @PostMapping("/balances/{employeeId}/take")
+    public ResponseEntity<Map<String, Object>> takeLeave(@PathVariable Long employeeId, @RequestBody Map<String, Object> body) {
+        Object days = body.get("days");
+        if (!(days instanceof Number number)) {
+            return error(HttpStatus.BAD_REQUEST, "Invalid request", "Expected {\"days\": number}");
+        }
+        BigDecimal requested = new BigDecimal(number.toString());
+        try {
+            if (!leaveService.deduct(employeeId, requested)) {
+                return error(HttpStatus.CONFLICT, "Insufficient balance", "Leave balance is lower than " + requested + " days");
+            }
+            return ResponseEntity.ok(leaveService.getBalance(employeeId));
+        } catch (RuntimeException e) {
+            HttpStatus status = e.getMessage() != null && e.getMessage().startsWith("Employee not found")
+                    ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            return error(status, "Leave not taken", e.getMessage());
+        }
+    }
+
+    // Accrue (or finish accruing) a month and any unfinished month before it, e.g. ?period=2026-09; defaults to the previous month
+    @PostMapping("/accruals")
+    public ResponseEntity<Map<String, Object>> runAccrual(@RequestParam(required = false) String period) {
+        YearMonth month;
+        try {
+            month = period == null ? YearMonth.now().minusMonths(1) : YearMonth.parse(period);
+        } catch (DateTimeParseException e) {
+            return error(HttpStatus.BAD_REQUEST, "Invalid period", "Expected yyyy-MM, got " + period);
+        }
+        // The current month is still running: its new hires and deactivations are not final yet
+        if (!month.isBefore(YearMonth.now())) {
+            return error(HttpStatus.BAD_REQUEST, "Invalid period", "Only past months can be accrued");
+        }
+        if (leaveAccrualService.isLaterPeriodStarted(month)) {
+            return error(HttpStatus.CONFLICT, "Out of order", "A later month has already been accrued; months are accrued in order");
+        }
+        if (leaveAccrualService.isRunning()) {
+            return error(HttpStatus.CONFLICT, "Accrual in progress", "A leave accrual is already running");
+        }
+        leaveAccrualService.accrueInBackground(month);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("message", "Leave accrual for " + month + " started"));
+    }
+
+    // Accrual runs of the last 24 months, newest first
+    @GetMapping("/accruals")
+    public ResponseEntity<List<LeaveAccrualRun>> getAccrualRuns() {
+        return ResponseEntity.ok(leaveAccrualService.getRunHistory());
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String error, String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("error", error);
+        response.put("message", message);
+        return ResponseEntity.status(status).body(response);
+    }
+}
@@ -0,0 +1,110 @@
+package com.employeems.controller;
+
+import com.employeems.invalidation.InvalidationBus;
+import com.employeems.jobs.DistributedJobScheduler;
+import com.employeems.service.AdmissionControlService;
+import com.employeems.service.EmailUniquenessIndex;
+import com.employeems.service.EmployeeArchiveService;
+import com.employeems.service.EmployeeReadModelService;
+import com.employeems.service.LeaveAccrualService;
+import com.employeems.service.QueryBudgetService;
+import com.employeems.service.ReadCoalescer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+@CrossOrigin(origins = "*")
+public class MetricsController {
+
+    @Autowired
+    private AdmissionControlService admissionControlService;
+
+    @Autowired
+    private EmployeeArchiveService archiveService;
+
+    @Autowired
+    private EmailUniquenessIndex emailIndex;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    @Autowired
+    private EmployeeReadModelService readModelService;
+
+    @Autowired
+    private ReadCoalescer readCoalescer;
+
+    @Autowired
+    private QueryBudgetService queryBudgetService;
+
+    @Autowired
+    private LeaveAccrualService leaveAccrualService;
+
+    @Autowired
+    private DistributedJobScheduler jobScheduler;
+
+    // Admission control limits, in-flight requests and rejections per endpoint class
+    @GetMapping("/admission")
+    public ResponseEntity<Map<String, Object>> getAdmissionMetrics() {
+        return ResponseEntity.ok(admissionControlService.getMetrics());
+    }
+
+    // Archival job progress: last run and total employees moved to employees_archive
+    @GetMapping("/archive")
+    public ResponseEntity<Map<String, Object>> getArchiveMetrics() {
+        return ResponseEntity.ok(archiveService.getMetrics());
+    }
+
+    // Email uniqueness checks answered by the Bloom filter vs. the database
+    @GetMapping("/email-index")
+    public ResponseEntity<Map<String, Object>> getEmailIndexMetrics() {
+        return ResponseEntity.ok(emailIndex.getMetrics());
+    }
+
+    // Cross-instance invalidation: messages in and out, propagation lag, transport state
+    @GetMapping("/invalidation")
+    public ResponseEntity<Map<String, Object>> getInvalidationMetrics() {
+        return ResponseEntity.ok(invalidationBus.getMetrics());
+    }
+
+    // Read model: pending changes, lag behind the employees table, last rebuild
+    @GetMapping("/read-model")
+    public ResponseEntity<Map<String, Object>> getReadModelMetrics() {
+        return ResponseEntity.ok(readModelService.getMetrics());
+    }
+
+    // Single-flight reads: queries run vs. requests served from a concurrent identical query
+    @GetMapping("/coalescing")
+    public ResponseEntity<Map<String, Object>> getCoalescingMetrics() {
+        return ResponseEntity.ok(readCoalescer.getMetrics());
+    }
+
+    // JDBC statements per endpoint against its budget, with the latest over-budget requests
+    @GetMapping("/queries")
+    public ResponseEntity<Map<String, Object>> getQueryMetrics() {
+        return ResponseEntity.ok(queryBudgetService.getMetrics());
+    }
+
+    // Start a fresh measurement (e.g. before a regression run)
+    @DeleteMapping("/queries")
+    public ResponseEntity<Map<String, Object>> resetQueryMetrics() {
+        queryBudgetService.reset();
+        return ResponseEntity.ok(Map.of("message", "Query metrics reset"));
+    }
+
+    // Monthly leave accrual: configuration, progress of a running accrual and the last run's throughput
+    @GetMapping("/leave-accrual")
+    public ResponseEntity<Map<String, Object>> getLeaveAccrualMetrics() {
+        return ResponseEntity.ok(leaveAccrualService.getMetrics());
+    }
+
+    // Background jobs on this instance: leases held now, runs, skips (lease held elsewhere), failures
+    @GetMapping("/jobs")
+    public ResponseEntity<Map<String, Object>> getJobMetrics() {
+        return ResponseEntity.ok(jobScheduler.getMetrics());
+    }
+}
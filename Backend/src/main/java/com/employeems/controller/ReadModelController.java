@@ -0,0 +1,33 @@
+package com.employeems.controller;
+
+import com.employeems.service.EmployeeReadModelService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/read-model")
+@CrossOrigin(origins = "*")
+public class ReadModelController {
+
+    @Autowired
+    private EmployeeReadModelService readModelService;
+
+    // Rebuild employee_read_model from the employees table; progress is reported by /api/metrics/read-model
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        if (!readModelService.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Read model disabled", "message", "Set ems.read-model.enabled=true"));
+        }
+        if (readModelService.isRebuilding()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Rebuild in progress", "message", "A read model rebuild is already running"));
+        }
+        readModelService.rebuild();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("message", "Read model rebuild started"));
+    }
+}
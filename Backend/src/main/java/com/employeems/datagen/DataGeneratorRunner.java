@@ -0,0 +1,86 @@
+package com.employeems.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Command-line data load, active with the "datagen" profile:
+ *   java -jar target/employee-management-system-1.0.0.jar --spring.profiles.active=datagen \
+ *        --ems.datagen.count=1000000 --ems.datagen.seed=42
+ * Runs after the schema check, loads the rows and exits.
+ */
+@Component
+@Profile("datagen")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class DataGeneratorRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataGeneratorRunner.class);
+
+    // Keyed by employee id and rebuilt on the next start; emptied with the employees they were built from
+    private static final List<String> DERIVED_TABLES = List.of("employee_read_model", "employee_hierarchy");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${ems.datagen.count:100000}")
+    private long count;
+
+    @Value("${ems.datagen.seed:42}")
+    private long seed;
+
+    @Value("${ems.datagen.reference-date:2025-01-01}")
+    private String referenceDate;
+
+    @Value("${ems.datagen.email-domain:example.com}")
+    private String emailDomain;
+
+    @Value("${ems.datagen.batch-size:1000}")
+    private int batchSize;
+
+    // Deletes all existing employees first, so the same seed can be loaded again
+    @Value("${ems.datagen.truncate:false}")
+    private boolean truncate;
+
+    @Value("${ems.datagen.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (truncate) {
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("DELETE FROM employees");
+                for (String table : DERIVED_TABLES) {
+                    statement.execute("DELETE FROM " + table);
+                }
+            }
+            logger.info("Removed existing employees and emptied {}", DERIVED_TABLES);
+        }
+
+        logger.info("Generating {} employees (seed {}, reference date {})", count, seed, referenceDate);
+        SyntheticEmployeeGenerator generator = new SyntheticEmployeeGenerator(seed, LocalDate.parse(referenceDate), emailDomain);
+        EmployeeBulkLoader.Result result = new EmployeeBulkLoader(dataSource, batchSize).load(generator, count);
+        logger.info("Loaded {} employees in {} ms ({} rows/s)", result.rows(), result.millis(), result.rowsPerSecond());
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+}
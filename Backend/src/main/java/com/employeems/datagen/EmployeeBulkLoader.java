@@ -0,0 +1,110 @@
+package com.employeems.datagen;
+
+import com.employeems.entity.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Date;
+
+/**
+ * Inserts generated employees with multi-row INSERT statements over plain JDBC
+ * One statement carries a whole batch (one round trip, one commit), bypassing JPA,
+ * so change events are not published: in-memory indexes pick the rows up on the
+ * next start. Standard SQL, works against MySQL or any embedded database.
+ */
+public class EmployeeBulkLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeBulkLoader.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final String INSERT_PREFIX = "INSERT INTO employees (first_name, last_name, email, department, position, "
+            + "hire_date, salary, is_active, created_at, updated_at) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final int batchSize;
+
+    public EmployeeBulkLoader(DataSource dataSource) {
+        this(dataSource, DEFAULT_BATCH_SIZE);
+    }
+
+    public EmployeeBulkLoader(DataSource dataSource, int batchSize) {
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+    }
+
+    // Generates and inserts count employees, returns the achieved throughput
+    public Result load(SyntheticEmployeeGenerator generator, long count) throws SQLException {
+        long start = System.nanoTime();
+        long inserted = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement fullBatch = connection.prepareStatement(insertSql(batchSize))) {
+                while (inserted < count) {
+                    int rows = (int) Math.min(batchSize, count - inserted);
+                    if (rows == batchSize) {
+                        bindAndExecute(fullBatch, generator, rows);
+                    } else {
+                        try (PreparedStatement lastBatch = connection.prepareStatement(insertSql(rows))) {
+                            bindAndExecute(lastBatch, generator, rows);
+                        }
+                    }
+                    connection.commit();
+                    inserted += rows;
+                    if (inserted % (batchSize * 100L) == 0) {
+                        logger.info("Inserted {} / {} employees", inserted, count);
+                    }
+                }
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        return new Result(inserted, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void bindAndExecute(PreparedStatement statement, SyntheticEmployeeGenerator generator, int rows) throws SQLException {
+        int p = 1;
+        for (int i = 0; i < rows; i++) {
+            Employee employee = generator.next();
+            statement.setString(p++, employee.getFirstName());
+            statement.setString(p++, employee.getLastName());
+            statement.setString(p++, employee.getEmail());
+            statement.setString(p++, employee.getDepartment());
+            statement.setString(p++, employee.getPosition());
+            statement.setDate(p++, Date.valueOf(employee.getHireDate()));
+            statement.setBigDecimal(p++, employee.getSalary());
+            statement.setBoolean(p++, employee.getIsActive());
+            statement.setTimestamp(p++, Timestamp.valueOf(employee.getCreatedAt()));
+            statement.setTimestamp(p++, Timestamp.valueOf(employee.getUpdatedAt()));
+        }
+        statement.executeUpdate();
+    }
+
+    private static String insertSql(int rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + rows * (ROW_PLACEHOLDERS.length() + 2));
+        sql.append(INSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+
+    public record Result(long rows, long millis) {
+        public long rowsPerSecond() {
+            return millis == 0 ? rows : rows * 1000 / millis;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.employeems.datagen;
+
+import com.employeems.entity.Employee;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded, deterministic source of realistic employees for scale tests and benchmarks
+ * The same seed and reference date always produce the same sequence. Departments
+ * are skewed (Engineering and Sales dominate), names follow a Zipf distribution so
+ * full-name collisions are common (emails get a numeric suffix to stay unique),
+ * salaries depend on seniority and department, and hire dates lean recent.
+ * Plain Java, no Spring or database needed.
+ */
+public class SyntheticEmployeeGenerator {
+
+    public static final long DEFAULT_SEED = 42;
+    public static final LocalDate DEFAULT_REFERENCE_DATE = LocalDate.of(2025, 1, 1);
+    // Kept apart from the sample data addresses (@company.com)
+    public static final String DEFAULT_EMAIL_DOMAIN = "example.com";
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael",
+            "Linda", "David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas",
+            "Sarah", "Christopher", "Karen", "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Sandra", "Mark",
+            "Ashley", "Priya", "Wei", "Carlos", "Fatima", "Olga", "Kenji", "Aisha", "Lucas", "Mateo", "Sofia",
+            "Arjun", "Mei", "Ahmed", "Elena", "Hiroshi", "Chloe", "Diego", "Amara", "Noah", "Ingrid", "Tomasz", "Zara"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+            "Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas",
+            "Taylor", "Moore", "Jackson", "Martin", "Lee", "Patel", "Chen", "Khan", "Ivanova", "Tanaka", "Okafor",
+            "Nguyen", "Kim", "Singh", "Muller", "Rossi", "Silva", "Kowalski", "Novak", "Haddad", "Cohen", "Larsen",
+            "Dubois", "Yamamoto", "Mensah", "Oliveira", "Petrov", "Fischer", "Walker", "Young", "Allen", "King"};
+
+    // Department, share of headcount, salary multiplier
+    private static final String[] DEPARTMENTS = {"Engineering", "Sales", "Customer Service", "Operations", "Marketing",
+            "Finance", "IT", "HR", "Research & Development", "Legal"};
+    private static final double[] DEPARTMENT_WEIGHTS = {30, 18, 12, 10, 8, 6, 6, 4, 4, 2};
+    private static final double[] DEPARTMENT_PAY = {1.20, 0.95, 0.75, 0.90, 0.95, 1.05, 1.05, 0.90, 1.15, 1.30};
+
+    // Seniority levels: title prefix, share, salary band before the department multiplier
+    private static final String[] LEVEL_TITLES = {"Associate ", "", "Senior ", "Lead ", "Manager, ", "Director, "};
+    private static final double[] LEVEL_WEIGHTS = {20, 40, 22, 9, 7, 2};
+    private static final int[][] LEVEL_BANDS = {{38_000, 55_000}, {50_000, 80_000}, {70_000, 110_000},
+            {90_000, 135_000}, {95_000, 150_000}, {140_000, 240_000}};
+    private static final Map<String, String[]> ROLES = Map.of(
+            "Engineering", new String[] {"Software Engineer", "QA Engineer", "DevOps Engineer", "Data Engineer"},
+            "Sales", new String[] {"Account Executive", "Sales Representative", "Sales Engineer"},
+            "Customer Service", new String[] {"Support Agent", "Customer Success Specialist"},
+            "Operations", new String[] {"Operations Analyst", "Logistics Coordinator"},
+            "Marketing", new String[] {"Marketing Specialist", "Content Strategist", "Brand Designer"},
+            "Finance", new String[] {"Financial Analyst", "Accountant"},
+            "IT", new String[] {"System Administrator", "Network Engineer", "IT Support Specialist"},
+            "HR", new String[] {"HR Generalist", "Recruiter"},
+            "Research & Development", new String[] {"Research Scientist", "Product Researcher"},
+            "Legal", new String[] {"Legal Counsel", "Paralegal"});
+
+    // Share of employees that have left (soft-deleted)
+    private static final double INACTIVE_RATE = 0.06;
+    // Mean tenure of the exponential hire date distribution, and the cap
+    private static final double MEAN_TENURE_DAYS = 4 * 365.0;
+    private static final int MAX_TENURE_DAYS = 20 * 365;
+
+    private final SplittableRandom random;
+    private final LocalDate referenceDate;
+    private final String emailDomain;
+    private final double[] firstNameCdf = zipfCdf(FIRST_NAMES.length);
+    private final double[] lastNameCdf = zipfCdf(LAST_NAMES.length);
+    private final double[] departmentCdf = cdf(DEPARTMENT_WEIGHTS);
+    private final double[] levelCdf = cdf(LEVEL_WEIGHTS);
+    private final Map<String, Integer> emailCounts = new HashMap<>();
+    private long generated;
+
+    public SyntheticEmployeeGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    public SyntheticEmployeeGenerator(long seed) {
+        this(seed, DEFAULT_REFERENCE_DATE, DEFAULT_EMAIL_DOMAIN);
+    }
+
+    public SyntheticEmployeeGenerator(long seed, LocalDate referenceDate, String emailDomain) {
+        this.random = new SplittableRandom(seed);
+        this.referenceDate = referenceDate;
+        this.emailDomain = emailDomain;
+    }
+
+    // Next employee in the sequence (id not set)
+    public Employee next() {
+        String first = FIRST_NAMES[pick(firstNameCdf)];
+        String last = LAST_NAMES[pick(lastNameCdf)];
+        int departmentIndex = pick(departmentCdf);
+        String department = DEPARTMENTS[departmentIndex];
+        int level = pick(levelCdf);
+        String[] roles = ROLES.get(department);
+        String role = roles[random.nextInt(roles.length)];
+        String position = level >= 4 ? LEVEL_TITLES[level] + department : LEVEL_TITLES[level] + role;
+
+        // Triangular within the band, then the department multiplier, rounded to 100
+        int[] band = LEVEL_BANDS[level];
+        double position01 = (random.nextDouble() + random.nextDouble()) / 2;
+        long salary = Math.round((band[0] + (band[1] - band[0]) * position01) * DEPARTMENT_PAY[departmentIndex] / 100) * 100;
+
+        int tenureDays = (int) Math.min(-Math.log(1 - random.nextDouble()) * MEAN_TENURE_DAYS, MAX_TENURE_DAYS);
+        LocalDate hireDate = referenceDate.minusDays(tenureDays);
+
+        String localPart = (first + "." + last).toLowerCase(Locale.ROOT);
+        int occurrence = emailCounts.merge(localPart, 1, Integer::sum);
+        String email = (occurrence == 1 ? localPart : localPart + occurrence) + "@" + emailDomain;
+
+        Employee employee = new Employee(first, last, email, department, position, hireDate, BigDecimal.valueOf(salary, 0));
+        employee.setCreatedAt(hireDate.atStartOfDay());
+        employee.setUpdatedAt(hireDate.atStartOfDay());
+        if (random.nextDouble() < INACTIVE_RATE && tenureDays > 0) {
+            employee.setIsActive(false);
+            employee.setUpdatedAt(hireDate.plusDays(1 + random.nextInt(tenureDays)).atTime(17, 0));
+        }
+        generated++;
+        return employee;
+    }
+
+    public List<Employee> next(int count) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(next());
+        }
+        return employees;
+    }
+
+    public long getGenerated() {
+        return generated;
+    }
+
+    private int pick(double[] cdf) {
+        double value = random.nextDouble();
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cdf[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Rank r gets weight 1/r
+    private static double[] zipfCdf(int size) {
+        double[] weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            weights[i] = 1.0 / (i + 1);
+        }
+        return cdf(weights);
+    }
+
+    private static double[] cdf(double[] weights) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        double[] cdf = new double[weights.length];
+        double running = 0;
+        for (int i = 0; i < weights.length; i++) {
+            running += weights[i];
+            cdf[i] = running / total;
+        }
+        cdf[weights.length - 1] = 1.0;
+        return cdf;
+    }
+}
@@ -0,0 +1,53 @@
+package com.employeems.dto;
+
+import com.employeems.entity.Employee;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-only view model for server-rendered pages
+ * Holds only what the templates display, with fullName and initials computed once
+ */
+public class EmployeeView {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String fullName;
+    private final String initials;
+    private final String email;
+    private final String department;
+    private final String position;
+    private final LocalDate hireDate;
+    private final BigDecimal salary;
+
+    public EmployeeView(Employee employee) {
+        this.id = employee.getId();
+        this.firstName = employee.getFirstName();
+        this.lastName = employee.getLastName();
+        this.fullName = employee.getFullName();
+        this.initials = initial(firstName) + initial(lastName);
+        this.email = employee.getEmail();
+        this.department = employee.getDepartment();
+        this.position = employee.getPosition();
+        this.hireDate = employee.getHireDate();
+        this.salary = employee.getSalary();
+    }
+
+    private static String initial(String name) {
+        return name == null || name.isEmpty() ? "" : name.substring(0, 1);
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getFullName() { return fullName; }
+    public String getInitials() { return initials; }
+    public String getEmail() { return email; }
+    public String getDepartment() { return department; }
+    public String getPosition() { return position; }
+    public LocalDate getHireDate() { return hireDate; }
+    public BigDecimal getSalary() { return salary; }
+}
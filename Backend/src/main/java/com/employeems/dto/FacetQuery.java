@@ -0,0 +1,82 @@
+package com.employeems.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Filters for the faceted employee search, bound from request parameters
+ * Values within one facet are OR'ed, different filters are AND'ed
+ */
+public class FacetQuery {
+
+    public enum Status {
+        ACTIVE, INACTIVE, ALL
+    }
+
+    private String search;
+    private List<String> department;
+    private List<String> position;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private LocalDate hiredFrom;
+
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    private LocalDate hiredTo;
+
+    private BigDecimal minSalary;
+    private BigDecimal maxSalary;
+    private String status = "active";
+
+    private int page = 0;
+    private int size = 10;
+    private String sortBy = "id";
+    private String sortDirection = "asc";
+
+    // Getters and Setters
+    public String getSearch() { return search; }
+    public void setSearch(String search) { this.search = search; }
+
+    public List<String> getDepartment() { return department; }
+    public void setDepartment(List<String> department) { this.department = department; }
+
+    public List<String> getPosition() { return position; }
+    public void setPosition(List<String> position) { this.position = position; }
+
+    public LocalDate getHiredFrom() { return hiredFrom; }
+    public void setHiredFrom(LocalDate hiredFrom) { this.hiredFrom = hiredFrom; }
+
+    public LocalDate getHiredTo() { return hiredTo; }
+    public void setHiredTo(LocalDate hiredTo) { this.hiredTo = hiredTo; }
+
+    public BigDecimal getMinSalary() { return minSalary; }
+    public void setMinSalary(BigDecimal minSalary) { this.minSalary = minSalary; }
+
+    public BigDecimal getMaxSalary() { return maxSalary; }
+    public void setMaxSalary(BigDecimal maxSalary) { this.maxSalary = maxSalary; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    // Parsed status, active unless "inactive" or "all" is given
+    public Status getStatusFilter() {
+        if ("inactive".equalsIgnoreCase(status)) {
+            return Status.INACTIVE;
+        }
+        return "all".equalsIgnoreCase(status) ? Status.ALL : Status.ACTIVE;
+    }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public String getSortBy() { return sortBy; }
+    public void setSortBy(String sortBy) { this.sortBy = sortBy; }
+
+    public String getSortDirection() { return sortDirection; }
+    public void setSortDirection(String sortDirection) { this.sortDirection = sortDirection; }
+}
@@ -54,6 +54,10 @@ public class Employee {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
     
+    // Direct manager; the full reporting line is kept in employee_hierarchy
+    @Column(name = "manager_id")
+    private Long managerId;
+    
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
     
@@ -115,6 +119,9 @@ public class Employee {
     public Boolean getIsActive() { return isActive; }
     public void setIsActive(Boolean isActive) { this.isActive = isActive; }
     
+    public Long getManagerId() { return managerId; }
+    public void setManagerId(Long managerId) { this.managerId = managerId; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
@@ -125,7 +132,18 @@ public class Employee {
     public String getFullName() {
         return firstName + " " + lastName;
     }
-    
+
+    // Detached copy with the same field values (ids included), safe to hand to another request
+    public Employee copy() {
+        Employee copy = new Employee(firstName, lastName, email, department, position, hireDate, salary);
+        copy.setId(id);
+        copy.setIsActive(isActive);
+        copy.setManagerId(managerId);
+        copy.setCreatedAt(createdAt);
+        copy.setUpdatedAt(updatedAt);
+        return copy;
+    }
+
     @Override
     public String toString() {
         return "Employee{" +
@@ -138,6 +156,7 @@ public class Employee {
                 ", hireDate=" + hireDate +
                 ", salary=" + salary +
                 ", isActive=" + isActive +
+                ", managerId=" + managerId +
                 '}';
     }
 }
@@ -0,0 +1,47 @@
+package com.employeems.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per committed employee change, written in the same transaction
+ * Polled by other instances to invalidate their in-memory state (see DatabaseChangeLogTransport)
+ */
+@Entity
+@Table(name = "employee_change_log")
+public class EmployeeChangeLogEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+    
+    // C, U or D
+    @Column(name = "change_type", nullable = false, length = 1)
+    private String changeType;
+    
+    @Column(name = "origin", nullable = false, length = 64)
+    private String origin;
+    
+    @Column(name = "changed_at", nullable = false, insertable = false, updatable = false)
+    private LocalDateTime changedAt;
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+    
+    public String getChangeType() { return changeType; }
+    public void setChangeType(String changeType) { this.changeType = changeType; }
+    
+    public String getOrigin() { return origin; }
+    public void setOrigin(String origin) { this.origin = origin; }
+    
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
@@ -0,0 +1,62 @@
+package com.employeems.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Closure table row: ancestor manages descendant, depth levels apart
+ * Every employee has a depth 0 row to itself, so a subtree is all rows of one
+ * ancestor and a chain of command all rows of one descendant. Maintained with
+ * set-based statements by OrgHierarchyService, never through JPA.
+ */
+@Entity
+@Table(name = "employee_hierarchy")
+@IdClass(EmployeeHierarchy.Key.class)
+public class EmployeeHierarchy {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(name = "depth", nullable = false)
+    private Integer depth;
+
+    // Getters
+    public Long getAncestorId() { return ancestorId; }
+
+    public Long getDescendantId() { return descendantId; }
+
+    public Integer getDepth() { return depth; }
+
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long ancestorId;
+        private Long descendantId;
+
+        public Key() {}
+
+        public Key(Long ancestorId, Long descendantId) {
+            this.ancestorId = ancestorId;
+            this.descendantId = descendantId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(ancestorId, key.ancestorId) && Objects.equals(descendantId, key.descendantId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ancestorId, descendantId);
+        }
+    }
+}
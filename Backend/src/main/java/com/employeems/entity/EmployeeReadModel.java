@@ -0,0 +1,123 @@
+package com.employeems.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Denormalized, query-ready copy of an employee row (read side of the employee model)
+ * Rows are written only by EmployeeReadModelService with JDBC upserts, never through JPA,
+ * and carry precomputed values: full name, a lowercase search key over all searchable
+ * fields and the department ordinal from read_model_departments.
+ */
+@Entity
+@Immutable
+@Table(name = "employee_read_model")
+public class EmployeeReadModel {
+
+    // Separates fields in the search key so a search term never matches across two fields
+    public static final char SEARCH_KEY_SEPARATOR = '\u001f';
+
+    @Id
+    private Long id;
+
+    @Column(name = "first_name", nullable = false, length = 50)
+    private String firstName;
+
+    @Column(name = "last_name", nullable = false, length = 50)
+    private String lastName;
+
+    @Column(name = "full_name", nullable = false, length = 101)
+    private String fullName;
+
+    @Column(name = "email", nullable = false, length = 100)
+    private String email;
+
+    @Column(name = "department", nullable = false, length = 100)
+    private String department;
+
+    @Column(name = "department_ordinal", nullable = false)
+    private Integer departmentOrdinal;
+
+    @Column(name = "position", nullable = false, length = 100)
+    private String position;
+
+    @Column(name = "hire_date", nullable = false)
+    private LocalDate hireDate;
+
+    @Column(name = "salary", precision = 10, scale = 2)
+    private BigDecimal salary;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive;
+
+    @Column(name = "manager_id")
+    private Long managerId;
+
+    @Column(name = "search_key", nullable = false, length = 410)
+    private String searchKey;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "synced_at", nullable = false)
+    private LocalDateTime syncedAt;
+
+    // Lowercase first name, last name, email, department and position
+    public static String searchKey(Employee employee) {
+        return (employee.getFirstName() + SEARCH_KEY_SEPARATOR + employee.getLastName() + SEARCH_KEY_SEPARATOR
+                + employee.getEmail() + SEARCH_KEY_SEPARATOR + employee.getDepartment() + SEARCH_KEY_SEPARATOR
+                + employee.getPosition()).toLowerCase(Locale.ROOT);
+    }
+
+    // Detached Employee for callers of EmployeeService (not managed, never saved back as is)
+    public Employee toEmployee() {
+        Employee employee = new Employee(firstName, lastName, email, department, position, hireDate, salary);
+        employee.setId(id);
+        employee.setIsActive(isActive);
+        employee.setManagerId(managerId);
+        employee.setCreatedAt(createdAt);
+        employee.setUpdatedAt(updatedAt);
+        return employee;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+
+    public String getFirstName() { return firstName; }
+
+    public String getLastName() { return lastName; }
+
+    public String getFullName() { return fullName; }
+
+    public String getEmail() { return email; }
+
+    public String getDepartment() { return department; }
+
+    public Integer getDepartmentOrdinal() { return departmentOrdinal; }
+
+    public String getPosition() { return position; }
+
+    public LocalDate getHireDate() { return hireDate; }
+
+    public BigDecimal getSalary() { return salary; }
+
+    public Boolean getIsActive() { return isActive; }
+
+    public Long getManagerId() { return managerId; }
+
+    public String getSearchKey() { return searchKey; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public LocalDateTime getSyncedAt() { return syncedAt; }
+}
@@ -0,0 +1,50 @@
+package com.employeems.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Active headcount of one department at the end of one day
+ * Departments without active employees on a day have no row
+ */
+@Entity
+@Table(name = "headcount_snapshots",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"snapshot_date", "department"}))
+public class HeadcountSnapshot {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+    
+    @Column(name = "department", nullable = false, length = 100)
+    private String department;
+    
+    @Column(name = "headcount", nullable = false)
+    private int headcount;
+    
+    // Constructors
+    public HeadcountSnapshot() {}
+    
+    public HeadcountSnapshot(LocalDate snapshotDate, String department, int headcount) {
+        this.snapshotDate = snapshotDate;
+        this.department = department;
+        this.headcount = headcount;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public LocalDate getSnapshotDate() { return snapshotDate; }
+    public void setSnapshotDate(LocalDate snapshotDate) { this.snapshotDate = snapshotDate; }
+    
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+    
+    public int getHeadcount() { return headcount; }
+    public void setHeadcount(int headcount) { this.headcount = headcount; }
+}
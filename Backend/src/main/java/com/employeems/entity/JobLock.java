@@ -0,0 +1,63 @@
+package com.employeems.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on one scheduled job (or one shard of it), shared by all instances
+ * The holder renews leaseUntil while it runs; once it lapses any instance may take the
+ * lease over, which bumps the fencing token. runKey/checkpoint record how far the current
+ * run got, completedKey the last run that finished.
+ */
+@Entity
+@Table(name = "scheduled_job_locks")
+public class JobLock {
+
+    @Id
+    @Column(name = "lock_name", length = 100)
+    private String lockName;
+
+    @Column(name = "owner", length = 100)
+    private String owner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "acquired_at")
+    private LocalDateTime acquiredAt;
+
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken;
+
+    @Column(name = "run_key", length = 50)
+    private String runKey;
+
+    @Column(name = "checkpoint", nullable = false)
+    private Long checkpoint;
+
+    @Column(name = "completed_key", length = 50)
+    private String completedKey;
+
+    // Getters
+    public String getLockName() { return lockName; }
+
+    public String getOwner() { return owner; }
+
+    public LocalDateTime getLeaseUntil() { return leaseUntil; }
+
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+
+    public LocalDateTime getAcquiredAt() { return acquiredAt; }
+
+    public Long getFencingToken() { return fencingToken; }
+
+    public String getRunKey() { return runKey; }
+
+    public Long getCheckpoint() { return checkpoint; }
+
+    public String getCompletedKey() { return completedKey; }
+}
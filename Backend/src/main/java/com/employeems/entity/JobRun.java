@@ -0,0 +1,108 @@
+package com.employeems.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * One execution of a scheduled job (or of one shard) by one instance
+ */
+@Entity
+@Table(name = "scheduled_job_runs")
+public class JobRun {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED, LEASE_LOST, ABANDONED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, length = 100)
+    private String jobName;
+
+    @Column(name = "shard", nullable = false)
+    private Integer shard;
+
+    @Column(name = "shard_count", nullable = false)
+    private Integer shardCount;
+
+    @Column(name = "run_key", length = 50)
+    private String runKey;
+
+    @Column(name = "owner", nullable = false, length = 100)
+    private String owner;
+
+    @Column(name = "fencing_token", nullable = false)
+    private Long fencingToken;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "items", nullable = false)
+    private Long items = 0L;
+
+    @Column(name = "error", length = 500)
+    private String error;
+
+    // Constructors
+    public JobRun() {}
+
+    public JobRun(String jobName, int shard, int shardCount, String runKey, String owner, long fencingToken) {
+        this.jobName = jobName;
+        this.shard = shard;
+        this.shardCount = shardCount;
+        this.runKey = runKey;
+        this.owner = owner;
+        this.fencingToken = fencingToken;
+        this.status = Status.RUNNING;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public void finish(Status status, long items, String error) {
+        this.status = status;
+        this.items = items;
+        this.error = error == null ? null : error.substring(0, Math.min(error.length(), 500));
+        this.finishedAt = LocalDateTime.now();
+        this.durationMs = Duration.between(startedAt, finishedAt).toMillis();
+    }
+
+    // Getters
+    public Long getId() { return id; }
+
+    public String getJobName() { return jobName; }
+
+    public Integer getShard() { return shard; }
+
+    public Integer getShardCount() { return shardCount; }
+
+    public String getRunKey() { return runKey; }
+
+    public String getOwner() { return owner; }
+
+    public Long getFencingToken() { return fencingToken; }
+
+    public Status getStatus() { return status; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+
+    public Long getDurationMs() { return durationMs; }
+
+    public Long getItems() { return items; }
+
+    public String getError() { return error; }
+}
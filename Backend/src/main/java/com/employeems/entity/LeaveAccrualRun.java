@@ -0,0 +1,67 @@
+package com.employeems.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One monthly accrual and its progress, summed over all shards and instances
+ * Per-shard checkpoints live in the shards' job leases (scheduled_job_locks).
+ */
+@Entity
+@Table(name = "leave_accrual_runs")
+public class LeaveAccrualRun {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    // yyyymm
+    @Id
+    @Column(name = "period")
+    private Integer period;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "employees_accrued", nullable = false)
+    private Long employeesAccrued;
+
+    @Column(name = "chunks", nullable = false)
+    private Integer chunks;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "error", length = 500)
+    private String error;
+
+    // Getters
+    public Integer getPeriod() { return period; }
+
+    public Status getStatus() { return status; }
+
+    public Long getEmployeesAccrued() { return employeesAccrued; }
+
+    public Integer getChunks() { return chunks; }
+
+    public Integer getAttempts() { return attempts; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+
+    public Long getDurationMs() { return durationMs; }
+
+    public String getError() { return error; }
+}
@@ -0,0 +1,38 @@
+package com.employeems.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Paid leave balance of one employee, in days
+ * accruedPeriod (yyyymm) is the last month accrued, so a monthly accrual never
+ * applies twice. Written with bulk statements by LeaveService and LeaveAccrualService.
+ */
+@Entity
+@Table(name = "leave_balances")
+public class LeaveBalance {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Column(name = "balance", nullable = false, precision = 6, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "accrued_period", nullable = false)
+    private Integer accruedPeriod;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Getters
+    public Long getEmployeeId() { return employeeId; }
+
+    public BigDecimal getBalance() { return balance; }
+
+    public Integer getAccruedPeriod() { return accruedPeriod; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
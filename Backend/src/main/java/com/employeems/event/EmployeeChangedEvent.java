@@ -0,0 +1,50 @@
+package com.employeems.event;
+
+import com.employeems.entity.Employee;
+
+/**
+ * Published by EmployeeService whenever an employee is created, updated or deleted
+ * Listeners keeping derived state (caches, indexes) should use @TransactionalEventListener
+ * so they only see committed changes
+ */
+public class EmployeeChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+    private final Long employeeId;
+    private final Employee employee;
+    private final boolean remote;
+
+    public EmployeeChangedEvent(Type type, Long employeeId, Employee employee) {
+        this(type, employeeId, employee, false);
+    }
+
+    public EmployeeChangedEvent(Type type, Long employeeId, Employee employee, boolean remote) {
+        this.type = type;
+        this.employeeId = employeeId;
+        this.employee = employee;
+        this.remote = remote;
+    }
+
+    public Type getType() { return type; }
+
+    public Long getEmployeeId() { return employeeId; }
+
+    // Null for hard deletes
+    public Employee getEmployee() { return employee; }
+
+    // Replayed from another instance's change (see InvalidationBus), not to be broadcast again
+    public boolean isRemote() { return remote; }
+
+    @Override
+    public String toString() {
+        return "EmployeeChangedEvent{" +
+                "type=" + type +
+                ", employeeId=" + employeeId +
+                ", remote=" + remote +
+                '}';
+    }
+}
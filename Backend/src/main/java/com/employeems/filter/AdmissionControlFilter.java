@@ -0,0 +1,136 @@
+package com.employeems.filter;
+
+import com.employeems.service.AdmissionControlService;
+import com.employeems.service.AdmissionControlService.EndpointClass;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Sheds load with 503 + Retry-After when an endpoint class is over its limit
+ * Rejected requests never reach the service layer or wait for a pooled connection
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Pattern EMPLOYEE_BY_ID = Pattern.compile("/api/employees/\\d+");
+    private static final Pattern EMPLOYEE_ORG = Pattern.compile("/api/employees/\\d+/(reports|chain|org)");
+    private static final Pattern WEB_EMPLOYEE_PAGE = Pattern.compile("/employees/(view|edit)/\\d+");
+
+    @Autowired
+    private AdmissionControlService admissionControlService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        if (endpointClass == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        AdmissionControlService.Permit permit = admissionControlService.tryAdmit(endpointClass);
+        if (permit == null) {
+            reject(response, endpointClass);
+            return;
+        }
+
+        boolean async = false;
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+            if (request.isAsyncStarted()) {
+                // Streaming responses keep their slot until the async request completes
+                async = true;
+                request.getAsyncContext().addListener(new PermitReleasingListener(permit));
+            }
+        } finally {
+            if (!async) {
+                permit.release(failed);
+            }
+        }
+    }
+
+    // Map a request to its endpoint class; null means not admission-controlled
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean get = "GET".equals(request.getMethod());
+        boolean hasSearch = request.getParameter("search") != null && !request.getParameter("search").isBlank();
+
+        if (path.startsWith("/api/employees")) {
+            if (path.equals("/api/employees/health")) {
+                return null;
+            }
+            if (!get) {
+                return EndpointClass.WRITE;
+            }
+            if (path.equals("/api/employees/stream")) {
+                return EndpointClass.EXPORT;
+            }
+            if (path.equals("/api/employees/fuzzy") || path.equals("/api/employees/analytics")) {
+                return EndpointClass.SEARCH;
+            }
+            if (EMPLOYEE_BY_ID.matcher(path).matches() || EMPLOYEE_ORG.matcher(path).matches()
+                    || path.equals("/api/employees/suggest")) {
+                return EndpointClass.READ;
+            }
+            return hasSearch ? EndpointClass.SEARCH : EndpointClass.LIST;
+        }
+
+        if (path.startsWith("/employees") || path.equals("/dashboard")) {
+            if (!get) {
+                return EndpointClass.WRITE;
+            }
+            if (WEB_EMPLOYEE_PAGE.matcher(path).matches()) {
+                return EndpointClass.READ;
+            }
+            return hasSearch ? EndpointClass.SEARCH : EndpointClass.LIST;
+        }
+
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, EndpointClass endpointClass) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(admissionControlService.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Service overloaded\",\"message\":\"Too many concurrent "
+                + endpointClass.name().toLowerCase() + " requests, retry later\"}");
+    }
+
+    private static class PermitReleasingListener implements AsyncListener {
+        private final AdmissionControlService.Permit permit;
+
+        PermitReleasingListener(AdmissionControlService.Permit permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            permit.release(response.getStatus() >= 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) { }
+
+        @Override
+        public void onError(AsyncEvent event) { }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) { }
+    }
+}
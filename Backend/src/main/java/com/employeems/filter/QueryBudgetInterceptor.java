@@ -0,0 +1,54 @@
+package com.employeems.filter;
+
+import com.employeems.jdbc.QueryAccounting;
+import com.employeems.service.QueryBudgetService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the statements each controller call issues (view rendering included) against its budget
+ * Streaming responses are not counted: their queries run on other threads.
+ */
+@Component
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String SCOPE_ATTRIBUTE = QueryBudgetInterceptor.class.getName() + ".scope";
+
+    @Autowired
+    private QueryBudgetService queryBudgetService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (queryBudgetService.isEnabled() && handler instanceof HandlerMethod method) {
+            request.setAttribute(SCOPE_ATTRIBUTE, QueryAccounting.begin(endpoint(method)));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof QueryAccounting.Scope scope) {
+            scope.close();
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof QueryAccounting.Scope scope) {
+            scope.close();
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            queryBudgetService.record(scope.getName(), request.getMethod() + " " + pattern, scope);
+        }
+    }
+
+    static String endpoint(HandlerMethod method) {
+        return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+    }
+}
@@ -0,0 +1,130 @@
+package com.employeems.invalidation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Broker transport (ems.invalidation.transport=broker): one small text message per change
+ * Published after commit. Delivery guarantees are the broker's; a lost message leaves
+ * the receiver stale until the next change to the same employee or a restart. Messages
+ * the listener fails to apply are kept and retried, ahead of newer ones, every
+ * retry-interval-ms and on the next delivery.
+ */
+@Component
+@ConditionalOnProperty(name = "ems.invalidation.transport", havingValue = "broker")
+public class BrokerInvalidationTransport implements InvalidationTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrokerInvalidationTransport.class);
+
+    private final MessageBroker broker;
+    private final InstanceIdentity instanceIdentity;
+    private final String topic;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong malformed = new AtomicLong();
+    private final AtomicLong applyRetries = new AtomicLong();
+
+    private volatile Consumer<List<InvalidationMessage>> listener;
+
+    // Guarded by this
+    private List<InvalidationMessage> unapplied = new ArrayList<>();
+
+    @Autowired
+    public BrokerInvalidationTransport(ObjectProvider<MessageBroker> brokerProvider, InstanceIdentity instanceIdentity,
+                                       @Value("${ems.invalidation.topic:employee-invalidation}") String topic) {
+        this.broker = brokerProvider.getIfAvailable(InMemoryMessageBroker::shared);
+        this.instanceIdentity = instanceIdentity;
+        this.topic = topic;
+    }
+
+    @Override
+    public String name() {
+        return "broker:" + broker.getClass().getSimpleName();
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return false;
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        InvalidationMessage sequenced = new InvalidationMessage(message.origin(), sequence.incrementAndGet(),
+                message.employeeId(), message.type(), message.publishedAtMillis());
+        broker.publish(topic, sequenced.encode());
+        published.incrementAndGet();
+    }
+
+    @Override
+    public void subscribe(Consumer<List<InvalidationMessage>> listener) {
+        this.listener = listener;
+        broker.subscribe(topic, payload -> {
+            InvalidationMessage message;
+            try {
+                message = InvalidationMessage.decode(payload);
+            } catch (IllegalArgumentException e) {
+                malformed.incrementAndGet();
+                logger.warn("Ignoring invalidation message: {}", e.getMessage());
+                return;
+            }
+            if (!instanceIdentity.getId().equals(message.origin())) {
+                received.incrementAndGet();
+                deliver(List.of(message));
+            }
+        });
+    }
+
+    @Scheduled(initialDelayString = "${ems.invalidation.retry-interval-ms:1000}", fixedDelayString = "${ems.invalidation.retry-interval-ms:1000}")
+    public void retryUnapplied() {
+        if (hasUnapplied()) {
+            applyRetries.incrementAndGet();
+            deliver(List.of());
+        }
+    }
+
+    private synchronized boolean hasUnapplied() {
+        return !unapplied.isEmpty();
+    }
+
+    // Failures are kept rather than thrown, the broker's delivery thread serves other subscribers too
+    private synchronized void deliver(List<InvalidationMessage> messages) {
+        List<InvalidationMessage> batch = new ArrayList<>(unapplied);
+        batch.addAll(messages);
+        try {
+            listener.accept(batch);
+            unapplied = new ArrayList<>();
+        } catch (RuntimeException e) {
+            unapplied = batch;
+            logger.warn("{} invalidation messages not applied, will retry: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("topic", topic);
+        metrics.put("published", published.get());
+        metrics.put("received", received.get());
+        metrics.put("malformed", malformed.get());
+        metrics.put("applyRetries", applyRetries.get());
+        synchronized (this) {
+            metrics.put("unapplied", unapplied.size());
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,183 @@
+package com.employeems.invalidation;
+
+import com.employeems.jobs.DistributedJobScheduler;
+import com.employeems.repository.EmployeeChangeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Default transport: a change-log table written with each change and polled by every instance
+ * Ids are assigned at insert but committed in any order, so the poller only advances
+ * its watermark over contiguous ids. A missing id (a transaction still running, or one
+ * rolled back) holds the watermark for up to gap-timeout-ms; rows above it are
+ * delivered meanwhile and remembered, so nothing is applied twice or waits on the gap.
+ * Rows count as delivered only once the listener has returned; if it throws, the same
+ * rows are read again on the next poll. A transaction that commits its row after the
+ * gap was skipped is never delivered, so gap-timeout-ms must exceed the longest
+ * transaction that changes employees.
+ */
+@Component
+@ConditionalOnProperty(name = "ems.invalidation.transport", havingValue = "database", matchIfMissing = true)
+public class DatabaseChangeLogTransport implements InvalidationTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseChangeLogTransport.class);
+
+    @Autowired
+    private EmployeeChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private InstanceIdentity instanceIdentity;
+
+    @Autowired
+    private DistributedJobScheduler jobScheduler;
+
+    @Value("${ems.invalidation.poll-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${ems.invalidation.gap-timeout-ms:5000}")
+    private long gapTimeoutMs;
+
+    @Value("${ems.invalidation.log-retention-minutes:60}")
+    private int retentionMinutes;
+
+    private volatile Consumer<List<InvalidationMessage>> listener;
+
+    // Poller state, only touched by the scheduler thread
+    private long watermark = -1;
+    private final Set<Long> deliveredAboveWatermark = new HashSet<>();
+    private final Map<Long, Long> gapFirstSeen = new HashMap<>();
+
+    private volatile long polls;
+    private volatile long pollFailures;
+    private volatile long rowsRead;
+    private volatile long skippedGaps;
+    private volatile int openGaps;
+    private volatile long lastSuccessfulPollMillis;
+
+    @Override
+    public String name() {
+        return "database";
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return true;
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        changeLogRepository.append(message.employeeId(), message.type().name().substring(0, 1), message.origin());
+    }
+
+    @Override
+    public void subscribe(Consumer<List<InvalidationMessage>> listener) {
+        this.listener = listener;
+    }
+
+    @Scheduled(initialDelayString = "${ems.invalidation.poll-interval-ms:1000}", fixedDelayString = "${ems.invalidation.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            if (watermark < 0) {
+                // State is built from the table at startup; only later changes matter
+                watermark = changeLogRepository.findMaxId();
+            }
+            List<Object[]> rows = changeLogRepository.findAfter(watermark, batchSize);
+            long now = System.currentTimeMillis();
+            List<InvalidationMessage> messages = new ArrayList<>();
+            List<Long> newIds = new ArrayList<>();
+            long maxSeen = watermark;
+            for (Object[] row : rows) {
+                long id = ((Number) row[0]).longValue();
+                maxSeen = Math.max(maxSeen, id);
+                if (deliveredAboveWatermark.contains(id)) {
+                    continue;
+                }
+                newIds.add(id);
+                String origin = (String) row[3];
+                if (!instanceIdentity.getId().equals(origin)) {
+                    long ageMillis = ((Number) row[4]).longValue() / 1000;
+                    messages.add(new InvalidationMessage(origin, id, ((Number) row[1]).longValue(),
+                            InvalidationMessage.typeOf(((String) row[2]).charAt(0)), now - ageMillis));
+                }
+            }
+            if (!messages.isEmpty() && listener != null) {
+                listener.accept(messages);
+            }
+
+            // Applied, so these rows can move the watermark
+            for (Long id : newIds) {
+                deliveredAboveWatermark.add(id);
+                gapFirstSeen.remove(id);
+            }
+            rowsRead += rows.size();
+            advanceWatermark(maxSeen, now);
+            polls++;
+            lastSuccessfulPollMillis = now;
+        } catch (Exception e) {
+            pollFailures++;
+            logger.warn("Change log poll failed: {}", e.getMessage());
+        }
+    }
+
+    private void advanceWatermark(long maxSeen, long now) {
+        long next = watermark + 1;
+        while (next <= maxSeen) {
+            if (deliveredAboveWatermark.remove(next)) {
+                watermark = next++;
+                continue;
+            }
+            long firstSeen = gapFirstSeen.computeIfAbsent(next, id -> now);
+            if (now - firstSeen < gapTimeoutMs) {
+                break;
+            }
+            gapFirstSeen.remove(next);
+            skippedGaps++;
+            logger.warn("Change log id {} still missing after {} ms, skipping it", next, gapTimeoutMs);
+            watermark = next++;
+        }
+        openGaps = gapFirstSeen.size();
+    }
+
+    @Scheduled(initialDelayString = "${ems.invalidation.cleanup-interval-ms:600000}", fixedDelayString = "${ems.invalidation.cleanup-interval-ms:600000}")
+    public void purgeOldEntries() {
+        try {
+            // Every instance polls the log, but one purge per interval is enough
+            jobScheduler.runExclusive("change-log-purge", context -> {
+                int deleted = changeLogRepository.deleteOlderThan(retentionMinutes);
+                context.addItems(deleted);
+                if (deleted > 0) {
+                    logger.debug("Purged {} change log entries older than {} minutes", deleted, retentionMinutes);
+                }
+            });
+        } catch (Exception e) {
+            logger.warn("Change log purge failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("watermark", watermark);
+        metrics.put("polls", polls);
+        metrics.put("pollFailures", pollFailures);
+        metrics.put("rowsRead", rowsRead);
+        metrics.put("skippedGaps", skippedGaps);
+        metrics.put("openGaps", openGaps);
+        metrics.put("lastSuccessfulPollAgeMillis", lastSuccessfulPollMillis == 0 ? null : System.currentTimeMillis() - lastSuccessfulPollMillis);
+        return metrics;
+    }
+}
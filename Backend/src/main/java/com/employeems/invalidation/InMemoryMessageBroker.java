@@ -0,0 +1,42 @@
+package com.employeems.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Local stand-in for a message broker, shared by every application context in the JVM
+ * Delivery is asynchronous and in publish order, like a single-partition topic, so
+ * several instances started in one test JVM exchange invalidations as they would
+ * through a real broker.
+ */
+public class InMemoryMessageBroker implements MessageBroker {
+
+    private static final InMemoryMessageBroker SHARED = new InMemoryMessageBroker();
+
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService delivery = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "in-memory-broker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public static InMemoryMessageBroker shared() {
+        return SHARED;
+    }
+
+    @Override
+    public void publish(String topic, String payload) {
+        List<Consumer<String>> handlers = subscribers.getOrDefault(topic, List.of());
+        delivery.execute(() -> handlers.forEach(handler -> handler.accept(payload)));
+    }
+
+    @Override
+    public void subscribe(String topic, Consumer<String> handler) {
+        subscribers.computeIfAbsent(topic, key -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+}
@@ -0,0 +1,37 @@
+package com.employeems.invalidation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+
+/**
+ * Identifies this process in invalidation messages, so an instance skips its own changes
+ * Set ems.instance-id explicitly when host names are not unique (e.g. several containers per host)
+ */
+@Component
+public class InstanceIdentity {
+
+    private final String id;
+
+    public InstanceIdentity(@Value("${ems.instance-id:}") String configuredId) {
+        this.id = configuredId.isBlank() ? generate() : configuredId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    private static String generate() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        String id = host + "-" + ManagementFactory.getRuntimeMXBean().getPid() + "-"
+                + Long.toString(System.nanoTime() & 0xffffff, 36);
+        return id.length() > 64 ? id.substring(id.length() - 64) : id;
+    }
+}
@@ -0,0 +1,163 @@
+package com.employeems.invalidation;
+
+import com.employeems.entity.Employee;
+import com.employeems.event.EmployeeChangedEvent;
+import com.employeems.repository.EmployeeRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps in-memory state consistent across instances
+ * Local changes go out through the configured InvalidationTransport. Changes from
+ * other instances are reloaded from the database and re-published here as remote
+ * EmployeeChangedEvents, so every cache and index listener applies them exactly as
+ * it applies local writes (and EmployeeDataVersion moves on).
+ */
+@Service
+public class InvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvalidationBus.class);
+
+    @Autowired
+    private ObjectProvider<InvalidationTransport> transportProvider;
+
+    @Autowired
+    private InstanceIdentity instanceIdentity;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private InvalidationTransport transport;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong applyFailures = new AtomicLong();
+    private final AtomicLong lagSamples = new AtomicLong();
+    private final AtomicLong lagSumMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+    private volatile long lastLagMillis;
+
+    @PostConstruct
+    public void start() {
+        transport = transportProvider.getIfAvailable();
+        if (transport == null) {
+            logger.info("No invalidation transport configured, instance {} will not see other instances' changes", instanceIdentity.getId());
+            return;
+        }
+        transport.subscribe(this::apply);
+        logger.info("Invalidation bus started: instance {} via {}", instanceIdentity.getId(), transport.name());
+    }
+
+    // Database transport: written in the same transaction as the change
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void publishInTransaction(EmployeeChangedEvent event) {
+        if (transport != null && transport.isTransactional() && !event.isRemote()) {
+            publish(event);
+        }
+    }
+
+    // Other transports: only committed changes leave the instance
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publishAfterCommit(EmployeeChangedEvent event) {
+        if (transport != null && !transport.isTransactional() && !event.isRemote()) {
+            publish(event);
+        }
+    }
+
+    private void publish(EmployeeChangedEvent event) {
+        transport.publish(new InvalidationMessage(instanceIdentity.getId(), 0, event.getEmployeeId(), event.getType(),
+                System.currentTimeMillis()));
+        published.incrementAndGet();
+    }
+
+    // Reload the changed employees once per batch and replay the changes locally; failures are
+    // rethrown so the transport delivers the batch again instead of moving past it
+    void apply(List<InvalidationMessage> messages) {
+        received.addAndGet(messages.size());
+        // First and last change per employee; receivers must see a creation before its delete
+        Map<Long, EmployeeChangedEvent.Type> first = new LinkedHashMap<>();
+        Map<Long, EmployeeChangedEvent.Type> last = new HashMap<>();
+        for (InvalidationMessage message : messages) {
+            first.putIfAbsent(message.employeeId(), message.type());
+            last.put(message.employeeId(), message.type());
+        }
+        try {
+            Map<Long, Employee> current = employeeRepository.findAllById(first.keySet()).stream()
+                    .collect(Collectors.toMap(Employee::getId, Function.identity()));
+            first.forEach((id, firstType) -> {
+                Employee employee = current.get(id);
+                boolean created = firstType == EmployeeChangedEvent.Type.CREATED;
+                if (employee == null) {
+                    // Created and hard-deleted since the last batch: nothing the receivers ever saw
+                    if (!created) {
+                        replay(EmployeeChangedEvent.Type.DELETED, id, null);
+                    }
+                } else if (created && last.get(id) == EmployeeChangedEvent.Type.DELETED) {
+                    // Created and soft-deleted: replay both so counters go up before they come down
+                    replay(EmployeeChangedEvent.Type.CREATED, id, employee);
+                    replay(EmployeeChangedEvent.Type.DELETED, id, employee);
+                } else {
+                    // Created then updated within a batch is still a creation for counters and recent-hire lists
+                    replay(created ? firstType : last.get(id), id, employee);
+                }
+            });
+        } catch (RuntimeException e) {
+            applyFailures.incrementAndGet();
+            logger.error("Failed to apply {} invalidation messages: ", messages.size(), e);
+            throw e;
+        }
+
+        long now = System.currentTimeMillis();
+        for (InvalidationMessage message : messages) {
+            long lag = Math.max(0, now - message.publishedAtMillis());
+            lagSamples.incrementAndGet();
+            lagSumMillis.addAndGet(lag);
+            maxLagMillis.accumulateAndGet(lag, Math::max);
+            lastLagMillis = lag;
+        }
+    }
+
+    private void replay(EmployeeChangedEvent.Type type, Long id, Employee employee) {
+        eventPublisher.publishEvent(new EmployeeChangedEvent(type, id, employee, true));
+        applied.incrementAndGet();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("instanceId", instanceIdentity.getId());
+        metrics.put("transport", transport == null ? "none" : transport.name());
+        metrics.put("published", published.get());
+        metrics.put("received", received.get());
+        metrics.put("applied", applied.get());
+        metrics.put("applyFailures", applyFailures.get());
+        // Commit (or publish) on the writing instance to local state updated here
+        Map<String, Object> lag = new LinkedHashMap<>();
+        lag.put("lastMillis", lastLagMillis);
+        lag.put("maxMillis", maxLagMillis.get());
+        lag.put("meanMillis", lagSamples.get() == 0 ? 0 : lagSumMillis.get() / lagSamples.get());
+        metrics.put("propagationLag", lag);
+        if (transport != null) {
+            metrics.put(transport.name().startsWith("broker") ? "broker" : transport.name(), transport.getMetrics());
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,35 @@
+package com.employeems.invalidation;
+
+import com.employeems.event.EmployeeChangedEvent;
+
+/**
+ * Compact notice that an employee changed on some instance
+ * sequence is the change-log id (database transport) or a per-origin counter (broker);
+ * the receiver reloads the row itself, so no employee data travels with the message.
+ */
+public record InvalidationMessage(String origin, long sequence, long employeeId, EmployeeChangedEvent.Type type,
+                                  long publishedAtMillis) {
+
+    // origin|sequence|employeeId|type|publishedAtMillis
+    public String encode() {
+        return origin + '|' + sequence + '|' + employeeId + '|' + type.name().charAt(0) + '|' + publishedAtMillis;
+    }
+
+    public static InvalidationMessage decode(String encoded) {
+        String[] parts = encoded.split("\\|");
+        if (parts.length != 5) {
+            throw new IllegalArgumentException("Malformed invalidation message: " + encoded);
+        }
+        return new InvalidationMessage(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                typeOf(parts[3].charAt(0)), Long.parseLong(parts[4]));
+    }
+
+    static EmployeeChangedEvent.Type typeOf(char code) {
+        return switch (code) {
+            case 'C' -> EmployeeChangedEvent.Type.CREATED;
+            case 'U' -> EmployeeChangedEvent.Type.UPDATED;
+            case 'D' -> EmployeeChangedEvent.Type.DELETED;
+            default -> throw new IllegalArgumentException("Unknown change type: " + code);
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.employeems.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Carries invalidation messages between instances (selected with ems.invalidation.transport)
+ */
+public interface InvalidationTransport {
+
+    String name();
+
+    // True if publish must run inside the writing transaction (written atomically with the change);
+    // otherwise it is called after commit, so receivers never reload uncommitted data
+    boolean isTransactional();
+
+    void publish(InvalidationMessage message);
+
+    // Batches of messages from other instances; the transport drops this instance's own messages
+    void subscribe(Consumer<List<InvalidationMessage>> listener);
+
+    // Transport specific counters for /api/metrics/invalidation
+    Map<String, Object> getMetrics();
+}
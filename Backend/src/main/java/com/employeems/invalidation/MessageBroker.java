@@ -0,0 +1,15 @@
+package com.employeems.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Minimal pub/sub contract for the broker transport
+ * Provide a bean wrapping Redis, Kafka, NATS, ... to use a real broker;
+ * without one, the in-process InMemoryMessageBroker stands in.
+ */
+public interface MessageBroker {
+
+    void publish(String topic, String payload);
+
+    void subscribe(String topic, Consumer<String> handler);
+}
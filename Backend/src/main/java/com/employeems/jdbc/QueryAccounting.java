@@ -0,0 +1,138 @@
+package com.employeems.jdbc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread accounting of the JDBC statements issued through QueryCountingDataSource
+ * Every statement is recorded into all open scopes of the calling thread, so a scope opened
+ * by a test inside a request scope sees its own share. Typical uses:
+ *   try (QueryAccounting.Scope scope = QueryAccounting.begin("import")) { ...; scope.getStatements(); }
+ *   Page<Employee> page = QueryAccounting.assertMaxStatements("getActiveEmployees", 2, () -> service.getActiveEmployees(0, 10, "id", "asc"));
+ */
+public final class QueryAccounting {
+
+    private static final int MAX_SQL_SAMPLES = 20;
+    private static final int MAX_SQL_LENGTH = 300;
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    // All statements, in or out of a scope (background jobs, startup)
+    private static final LongAdder totalStatements = new LongAdder();
+    private static final LongAdder totalRowsRead = new LongAdder();
+    private static final LongAdder totalRowsUpdated = new LongAdder();
+    private static final LongAdder totalNanos = new LongAdder();
+
+    private QueryAccounting() {
+    }
+
+    public static Scope begin(String name) {
+        Scope scope = new Scope(name, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    // Run the action and fail with the issued statements when it needs more than maxStatements
+    public static <T> T assertMaxStatements(String label, int maxStatements, Supplier<T> action) {
+        T result;
+        Scope scope = begin(label);
+        try {
+            result = action.get();
+        } finally {
+            scope.close();
+        }
+        if (scope.getStatements() > maxStatements) {
+            throw new AssertionError(label + " issued " + scope.getStatements() + " statements, expected at most "
+                    + maxStatements + ":\n  " + String.join("\n  ", scope.getSql()));
+        }
+        return result;
+    }
+
+    public static void assertMaxStatements(String label, int maxStatements, Runnable action) {
+        assertMaxStatements(label, maxStatements, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    static void recordStatement(String sql, long nanos, long rowsUpdated) {
+        totalStatements.increment();
+        totalNanos.add(nanos);
+        totalRowsUpdated.add(rowsUpdated);
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+            scope.nanos += nanos;
+            scope.rowsUpdated += rowsUpdated;
+            if (scope.sql.size() < MAX_SQL_SAMPLES) {
+                scope.sql.add(sql == null ? "?" : sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) + "..." : sql);
+            }
+        }
+    }
+
+    static void recordRowRead() {
+        totalRowsRead.increment();
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.rowsRead++;
+        }
+    }
+
+    public static Map<String, Object> getTotals() {
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("statements", totalStatements.sum());
+        totals.put("rowsRead", totalRowsRead.sum());
+        totals.put("rowsUpdated", totalRowsUpdated.sum());
+        totals.put("timeMs", totalNanos.sum() / 1_000_000);
+        return totals;
+    }
+
+    /**
+     * Statements, rows and database time of one unit of work on one thread; close in reverse order of begin
+     */
+    public static final class Scope implements AutoCloseable {
+        private final String name;
+        private final Scope parent;
+        private final List<String> sql = new ArrayList<>();
+        private int statements;
+        private long rowsRead;
+        private long rowsUpdated;
+        private long nanos;
+
+        private Scope(String name, Scope parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        public String getName() { return name; }
+
+        public int getStatements() { return statements; }
+
+        public long getRowsRead() { return rowsRead; }
+
+        public long getRowsUpdated() { return rowsUpdated; }
+
+        public long getTimeMicros() { return nanos / 1_000; }
+
+        // The first statements issued, truncated
+        public List<String> getSql() { return Collections.unmodifiableList(sql); }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.employeems.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource wrapper that reports every executed statement to QueryAccounting
+ * Connections, statements and result sets are JDK proxies over the pooled ones: executions are
+ * timed, update counts and rows read (ResultSet.next) are counted, everything else passes through.
+ * Covers JPA, Spring Data and plain JDBC alike.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private abstract static class Handler implements InvocationHandler {
+        final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            // Identity semantics for the proxy itself (Hibernate keeps statements in hash maps)
+            switch (method.getName()) {
+                case "equals":
+                    return args != null && args.length == 1 && proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return handle(method, args);
+            }
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static class ConnectionHandler extends Handler {
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = call(method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, new StatementHandler(result, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class, new StatementHandler(result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class, new StatementHandler(result, (String) args[0]));
+                default -> result;
+            };
+        }
+    }
+
+    private static class StatementHandler extends Handler {
+        private String sql;
+
+        StatementHandler(Object target, String sql) {
+            super(target);
+            this.sql = sql;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = call(method, args);
+                if (name.equals("addBatch") && args != null && args.length == 1) {
+                    sql = (String) args[0];
+                }
+                return name.equals("getResultSet") && result != null
+                        ? proxy(ResultSet.class, new ResultSetHandler(result)) : result;
+            }
+
+            // execute, executeQuery, executeUpdate, executeLargeUpdate, executeBatch: one round trip each
+            String statementSql = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            long start = System.nanoTime();
+            Object result = null;
+            try {
+                result = call(method, args);
+            } finally {
+                QueryAccounting.recordStatement(statementSql, System.nanoTime() - start, updateCount(result));
+            }
+            return result instanceof ResultSet ? proxy(ResultSet.class, new ResultSetHandler(result)) : result;
+        }
+
+        private static long updateCount(Object result) {
+            if (result instanceof Number count) {
+                return Math.max(0, count.longValue());
+            }
+            long total = 0;
+            if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    total += Math.max(0, count);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    total += Math.max(0, count);
+                }
+            }
+            return total;
+        }
+    }
+
+    private static class ResultSetHandler extends Handler {
+        ResultSetHandler(Object target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = call(method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                QueryAccounting.recordRowRead();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.employeems.jobs;
+
+import com.employeems.entity.JobLock;
+import com.employeems.entity.JobRun;
+import com.employeems.invalidation.InstanceIdentity;
+import com.employeems.repository.JobLockRepository;
+import com.employeems.repository.JobRunRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Runs background jobs once per cluster instead of once per instance
+ * Each job (or shard of a job) is guarded by a row in scheduled_job_locks: an instance runs it
+ * only while it holds the lease, renews the lease from a heartbeat thread, and releases it when
+ * done. A crashed holder's lease lapses after ems.jobs.lease-ms and the next instance takes over
+ * with a higher fencing token, resuming from the saved checkpoint. Every execution is recorded
+ * in scheduled_job_runs with its duration, item count and outcome.
+ * - runExclusive: periodic jobs; instances that find the lease held skip this tick
+ * - runSerialized: startup checks; instances wait their turn and re-check, so only the first does the work
+ * - runSharded: a key range split into shards that instances claim one at a time, in parallel
+ */
+@Component
+public class DistributedJobScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistributedJobScheduler.class);
+
+    @Autowired
+    private JobLockRepository lockRepository;
+
+    @Autowired
+    private JobRunRepository runRepository;
+
+    @Autowired
+    private InstanceIdentity instanceIdentity;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${ems.jobs.lease-ms:30000}")
+    private long defaultLeaseMs;
+
+    @Value("${ems.jobs.serialized-wait-ms:600000}")
+    private long serializedWaitMs;
+
+    @Value("${ems.jobs.wait-poll-ms:2000}")
+    private long waitPollMs;
+
+    @Value("${ems.jobs.history-retention-days:30}")
+    private int historyRetentionDays;
+
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final Map<String, JobContext> held = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-lease-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Runs the task if no other instance holds the job's lease; false when skipped
+    public boolean runExclusive(String jobName, JobTask task) {
+        return runLocked(jobName, jobName, 0, 1, null, task);
+    }
+
+    // Waits up to ems.jobs.serialized-wait-ms for the lease, then runs the task
+    public boolean runSerialized(String jobName, JobTask task) {
+        return runSerialized(jobName, serializedWaitMs, task);
+    }
+
+    // Waits up to maxWaitMs for the lease, then runs the task; false when the wait timed out
+    public boolean runSerialized(String jobName, long maxWaitMs, JobTask task) {
+        long deadline = System.currentTimeMillis() + maxWaitMs;
+        while (!runLocked(jobName, jobName, 0, 1, null, task)) {
+            if (System.currentTimeMillis() >= deadline) {
+                logger.warn("Gave up waiting {} ms for the {} lease", maxWaitMs, jobName);
+                return false;
+            }
+            try {
+                Thread.sleep(waitPollMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Claims and runs shards of runKey until none is left unclaimed; true once every shard has completed (on any instance)
+    public boolean runSharded(String jobName, int shardCount, String runKey, JobTask task) {
+        List<String> lockNames = IntStream.range(0, shardCount).mapToObj(shard -> shardLockName(jobName, shard, shardCount)).toList();
+        // Instances start at different shards, so they rarely contend for the same lease
+        int first = Math.floorMod(instanceIdentity.getId().hashCode(), shardCount);
+        boolean claimed = true;
+        while (claimed) {
+            claimed = false;
+            Set<String> completed = completedLocks(lockNames, runKey);
+            for (int i = 0; i < shardCount && !claimed; i++) {
+                int shard = (first + i) % shardCount;
+                if (!completed.contains(lockNames.get(shard))) {
+                    claimed = runLocked(jobName, lockNames.get(shard), shard, shardCount, runKey, task);
+                }
+            }
+        }
+        return inNewTransaction(() -> lockRepository.countCompleted(lockNames, runKey)) == shardCount;
+    }
+
+    private boolean runLocked(String jobName, String lockName, int shard, int shardCount, String runKey, JobTask task) {
+        Stats jobStats = stats.computeIfAbsent(jobName, name -> new Stats());
+        String owner = instanceIdentity.getId() + "#" + acquisitions.incrementAndGet();
+        long leaseMs = environment.getProperty("ems.jobs.lease-ms." + jobName, Long.class, defaultLeaseMs);
+
+        JobLock lock;
+        Long token;
+        try {
+            token = inNewTransaction(() -> {
+                lockRepository.tryAcquire(lockName, owner, leaseMs);
+                return lockRepository.findHeldToken(lockName, owner);
+            });
+            if (token == null) {
+                jobStats.skipped.increment();
+                return false;
+            }
+            lock = inNewTransaction(() -> lockRepository.findById(lockName).orElseThrow());
+        } catch (Exception e) {
+            jobStats.acquireFailures.increment();
+            logger.warn("Could not acquire the {} lease: {}", lockName, e.getMessage());
+            return false;
+        }
+        if (runKey != null && runKey.equals(lock.getCompletedKey())) {
+            // Finished by another instance between our check and the acquisition
+            release(lockName, owner);
+            return false;
+        }
+
+        long resumeFrom = runKey != null && runKey.equals(lock.getRunKey()) ? lock.getCheckpoint() : 0;
+        JobContext context = new JobContext(this, jobName, lockName, owner, token, shard, shardCount, runKey, resumeFrom);
+        JobRun run = null;
+        JobRun.Status status = JobRun.Status.COMPLETED;
+        Exception failure = null;
+        long heartbeatMs = Math.max(1, leaseMs / 3);
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleWithFixedDelay(() -> heartbeat(context, leaseMs),
+                heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        held.put(lockName, context);
+        try {
+            // Separate transactions: the UPDATE's gap locks held across the INSERT deadlock
+            // with another job starting at the same time
+            int abandoned = inNewTransaction(() -> runRepository.abandonStale(jobName, shard, owner));
+            if (abandoned > 0) {
+                logger.warn("Took over {} from a lapsed lease (token {}), marked {} run(s) abandoned", lockName, token, abandoned);
+            }
+            run = inNewTransaction(() -> runRepository.save(new JobRun(jobName, shard, shardCount, runKey, owner, token)));
+            task.run(context);
+            // Checked again at the end: a paused holder may not have heard from its heartbeat yet
+            int stillHeld = context.isLeaseValid() ? inNewTransaction(() -> runKey != null
+                    ? lockRepository.markCompleted(lockName, owner, runKey)
+                    : lockRepository.renew(lockName, owner, leaseMs)) : 0;
+            if (stillHeld == 0) {
+                context.leaseLost();
+                status = JobRun.Status.LEASE_LOST;
+                logger.warn("Job {} finished after its lease was taken over (token {})", lockName, token);
+            }
+        } catch (Exception e) {
+            status = context.isLeaseValid() ? JobRun.Status.FAILED : JobRun.Status.LEASE_LOST;
+            failure = e;
+        } finally {
+            heartbeat.cancel(false);
+            held.remove(lockName, context);
+            finishRun(run, status, context, failure);
+            release(lockName, owner);
+            jobStats.record(status, run);
+        }
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof InterruptedException) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw new RuntimeException("Job " + lockName + " failed", failure);
+        }
+        return true;
+    }
+
+    private void heartbeat(JobContext context, long leaseMs) {
+        try {
+            if (inNewTransaction(() -> lockRepository.renew(context.getLockName(), context.getOwner(), leaseMs)) == 0) {
+                if (context.isLeaseValid()) {
+                    logger.warn("Lease {} was taken over by another instance, stopping", context.getLockName());
+                }
+                context.leaseLost();
+            } else {
+                context.renewed();
+            }
+        } catch (Exception e) {
+            // Another instance may take the lease once it lapses, so we can't assume it is still ours
+            if (System.currentTimeMillis() - context.getLastRenewedMillis() >= leaseMs && context.isLeaseValid()) {
+                logger.warn("Could not renew lease {} for {} ms, stopping: {}", context.getLockName(), leaseMs, e.getMessage());
+                context.leaseLost();
+            }
+        }
+    }
+
+    void saveCheckpoint(JobContext context, long checkpoint) {
+        int updated = inNewTransaction(() -> lockRepository.saveCheckpoint(context.getLockName(), context.getOwner(),
+                context.getRunKey() == null ? "" : context.getRunKey(), checkpoint));
+        if (updated == 0) {
+            context.leaseLost();
+        }
+    }
+
+    private void finishRun(JobRun run, JobRun.Status status, JobContext context, Exception failure) {
+        if (run == null) {
+            return;
+        }
+        run.finish(status, context.getItems(), failure == null ? null : failure.toString());
+        try {
+            inNewTransaction(() -> runRepository.save(run));
+        } catch (Exception e) {
+            logger.warn("Could not record the end of {} run {}: {}", context.getLockName(), run.getId(), e.getMessage());
+        }
+        if (failure != null) {
+            logger.error("Job {} failed after {} ms: ", context.getLockName(), run.getDurationMs(), failure);
+        }
+    }
+
+    private void release(String lockName, String owner) {
+        try {
+            inNewTransaction(() -> lockRepository.release(lockName, owner));
+        } catch (Exception e) {
+            // The lease lapses on its own
+            logger.warn("Could not release the {} lease: {}", lockName, e.getMessage());
+        }
+    }
+
+    private Set<String> completedLocks(List<String> lockNames, String runKey) {
+        Set<String> completed = new HashSet<>();
+        for (JobLock lock : inNewTransaction(() -> lockRepository.findAllById(lockNames))) {
+            if (runKey.equals(lock.getCompletedKey())) {
+                completed.add(lock.getLockName());
+            }
+        }
+        return completed;
+    }
+
+    static String shardLockName(String jobName, int shard, int shardCount) {
+        return jobName + "#" + shard + "/" + shardCount;
+    }
+
+    // Lease statements commit on their own, never inside the caller's transaction
+    private <T> T inNewTransaction(Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template.execute(status -> work.get());
+    }
+
+    @Scheduled(initialDelayString = "${ems.jobs.history-purge-interval-ms:86400000}",
+               fixedDelayString = "${ems.jobs.history-purge-interval-ms:86400000}")
+    public void purgeHistory() {
+        try {
+            runExclusive("job-history-purge", context ->
+                    context.addItems(inNewTransaction(() -> runRepository.deleteOlderThan(historyRetentionDays))));
+        } catch (Exception e) {
+            logger.warn("Job history purge failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Held leases are left to lapse: tasks may still be finishing their current batch
+        heartbeats.shutdownNow();
+    }
+
+    // Every lease in the cluster, with holder, expiry and checkpoint
+    public List<JobLock> getLocks() {
+        return lockRepository.findAllByOrderByLockNameAsc();
+    }
+
+    public List<JobRun> getRuns(String jobName, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return jobName == null ? runRepository.findByOrderByIdDesc(page) : runRepository.findByJobNameOrderByIdDesc(jobName, page);
+    }
+
+    // This instance's view: leases held now, and per job runs, skips (lease held elsewhere) and failures
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> leases = new LinkedHashMap<>();
+        for (JobContext context : held.values()) {
+            Map<String, Object> lease = new LinkedHashMap<>();
+            lease.put("fencingToken", context.getFencingToken());
+            lease.put("runKey", context.getRunKey());
+            lease.put("items", context.getItems());
+            lease.put("leaseValid", context.isLeaseValid());
+            lease.put("lastRenewedAgoMs", System.currentTimeMillis() - context.getLastRenewedMillis());
+            leases.put(context.getLockName(), lease);
+        }
+        Map<String, Object> jobs = new LinkedHashMap<>();
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats jobStats = entry.getValue();
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("runs", jobStats.runs.sum());
+            metrics.put("skipped", jobStats.skipped.sum());
+            metrics.put("failed", jobStats.failed.sum());
+            metrics.put("leaseLost", jobStats.leaseLost.sum());
+            metrics.put("acquireFailures", jobStats.acquireFailures.sum());
+            metrics.put("lastRunAt", jobStats.lastRunAt);
+            metrics.put("lastDurationMs", jobStats.lastDurationMs);
+            metrics.put("lastItems", jobStats.lastItems);
+            jobs.put(entry.getKey(), metrics);
+        }
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("instanceId", instanceIdentity.getId());
+        metrics.put("leaseMs", defaultLeaseMs);
+        metrics.put("heldLeases", leases);
+        metrics.put("jobs", jobs);
+        return metrics;
+    }
+
+    private static class Stats {
+        private final LongAdder runs = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder leaseLost = new LongAdder();
+        private final LongAdder acquireFailures = new LongAdder();
+        private volatile LocalDateTime lastRunAt;
+        private volatile Long lastDurationMs;
+        private volatile long lastItems;
+
+        void record(JobRun.Status status, JobRun run) {
+            runs.increment();
+            if (status == JobRun.Status.FAILED) {
+                failed.increment();
+            } else if (status == JobRun.Status.LEASE_LOST) {
+                leaseLost.increment();
+            }
+            if (run != null) {
+                lastRunAt = run.getStartedAt();
+                lastDurationMs = run.getDurationMs();
+                lastItems = run.getItems();
+            }
+        }
+    }
+}
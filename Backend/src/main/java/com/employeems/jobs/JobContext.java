@@ -0,0 +1,80 @@
+package com.employeems.jobs;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One held lease: which shard this instance owns, where the previous holder stopped, and
+ * whether the lease is still ours. A heartbeat that finds the lease taken over clears
+ * leaseValid; the task should then stop at the next batch boundary.
+ */
+public class JobContext {
+
+    private final DistributedJobScheduler scheduler;
+    private final String jobName;
+    private final String lockName;
+    private final String owner;
+    private final long fencingToken;
+    private final int shard;
+    private final int shardCount;
+    private final String runKey;
+    private final long resumeFrom;
+    private final AtomicLong items = new AtomicLong();
+    private volatile boolean leaseValid = true;
+    private volatile long lastRenewedMillis = System.currentTimeMillis();
+
+    JobContext(DistributedJobScheduler scheduler, String jobName, String lockName, String owner, long fencingToken,
+               int shard, int shardCount, String runKey, long resumeFrom) {
+        this.scheduler = scheduler;
+        this.jobName = jobName;
+        this.lockName = lockName;
+        this.owner = owner;
+        this.fencingToken = fencingToken;
+        this.shard = shard;
+        this.shardCount = shardCount;
+        this.runKey = runKey;
+        this.resumeFrom = resumeFrom;
+    }
+
+    public String getJobName() { return jobName; }
+
+    public int getShard() { return shard; }
+
+    public int getShardCount() { return shardCount; }
+
+    public String getRunKey() { return runKey; }
+
+    public long getFencingToken() { return fencingToken; }
+
+    // Checkpoint saved by an earlier holder for the same run key, 0 for a fresh run
+    public long getResumeFrom() { return resumeFrom; }
+
+    public boolean isLeaseValid() { return leaseValid; }
+
+    public long getItems() { return items.get(); }
+
+    // Items processed, recorded with the run
+    public void addItems(long count) {
+        items.addAndGet(count);
+    }
+
+    // Persists progress for the run key, so a takeover after a crash resumes from here
+    public void saveCheckpoint(long checkpoint) {
+        if (leaseValid) {
+            scheduler.saveCheckpoint(this, checkpoint);
+        }
+    }
+
+    String getLockName() { return lockName; }
+
+    String getOwner() { return owner; }
+
+    long getLastRenewedMillis() { return lastRenewedMillis; }
+
+    void renewed() {
+        lastRenewedMillis = System.currentTimeMillis();
+    }
+
+    void leaseLost() {
+        leaseValid = false;
+    }
+}
@@ -0,0 +1,10 @@
+package com.employeems.jobs;
+
+/**
+ * Work run under a job lease; long tasks check context.isLeaseValid() between batches
+ */
+@FunctionalInterface
+public interface JobTask {
+
+    void run(JobContext context) throws Exception;
+}
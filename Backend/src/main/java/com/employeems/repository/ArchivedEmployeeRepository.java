@@ -0,0 +1,26 @@
+package com.employeems.repository;
+
+import com.employeems.entity.ArchivedEmployee;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ArchivedEmployeeRepository extends JpaRepository<ArchivedEmployee, Long> {
+    
+    // Keyset chunks for streaming
+    List<ArchivedEmployee> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    List<ArchivedEmployee> findByDepartmentAndIdGreaterThanOrderByIdAsc(String department, Long id, Pageable pageable);
+    
+    Page<ArchivedEmployee> findByDepartment(String department, Pageable pageable);
+    
+    // Ids of the batch already in the archive (AUTO_INCREMENT reset after a restore); they can't be copied
+    @Query("SELECT a.id FROM ArchivedEmployee a WHERE a.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
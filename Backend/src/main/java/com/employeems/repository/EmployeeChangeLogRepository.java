@@ -0,0 +1,34 @@
+package com.employeems.repository;
+
+import com.employeems.entity.EmployeeChangeLogEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface EmployeeChangeLogRepository extends JpaRepository<EmployeeChangeLogEntry, Long> {
+    
+    // Timestamp from the database clock, so lag is measured against one clock
+    @Modifying
+    @Query(value = "INSERT INTO employee_change_log (employee_id, change_type, origin, changed_at) " +
+                   "VALUES (:employeeId, :changeType, :origin, NOW(3))", nativeQuery = true)
+    int append(@Param("employeeId") Long employeeId, @Param("changeType") String changeType, @Param("origin") String origin);
+    
+    // id, employee_id, change_type, origin, age in microseconds
+    @Query(value = "SELECT id, employee_id, change_type, origin, TIMESTAMPDIFF(MICROSECOND, changed_at, NOW(3)) " +
+                   "FROM employee_change_log WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+    
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM employee_change_log", nativeQuery = true)
+    Long findMaxId();
+    
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM employee_change_log WHERE changed_at < NOW() - INTERVAL :minutes MINUTE LIMIT 10000", nativeQuery = true)
+    int deleteOlderThan(@Param("minutes") int minutes);
+}
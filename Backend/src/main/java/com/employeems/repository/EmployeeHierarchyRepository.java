@@ -0,0 +1,88 @@
+package com.employeems.repository;
+
+import com.employeems.entity.EmployeeHierarchy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmployeeHierarchyRepository extends JpaRepository<EmployeeHierarchy, EmployeeHierarchy.Key> {
+
+    // Active employees below the ancestor: headcount, salary total, direct reports, levels (one row)
+    @Query(value = "SELECT COUNT(*), COALESCE(SUM(e.salary), 0), COALESCE(SUM(CASE WHEN h.depth = 1 THEN 1 ELSE 0 END), 0), " +
+                   "COALESCE(MAX(h.depth), 0) FROM employee_hierarchy h JOIN employees e ON e.id = h.descendant_id " +
+                   "WHERE h.ancestor_id = :id AND h.depth > 0 AND e.is_active = true", nativeQuery = true)
+    List<Object[]> summarizeSubtree(@Param("id") Long id);
+
+    // Managers above the employee, nearest first
+    @Query(value = "SELECT ancestor_id FROM employee_hierarchy WHERE descendant_id = :id AND depth > 0 ORDER BY depth",
+           nativeQuery = true)
+    List<Long> findAncestorIds(@Param("id") Long id);
+
+    // Non-zero when candidate is one of the roots or below one of them
+    @Query(value = "SELECT COUNT(*) FROM employee_hierarchy WHERE ancestor_id IN (:roots) AND descendant_id = :candidate",
+           nativeQuery = true)
+    long countSubtreeMembership(@Param("roots") Collection<Long> roots, @Param("candidate") Long candidate);
+
+    // Non-zero when one of the ids is below another one
+    @Query(value = "SELECT COUNT(*) FROM employee_hierarchy WHERE ancestor_id IN (:ids) AND descendant_id IN (:ids) AND depth > 0",
+           nativeQuery = true)
+    long countNestedPairs(@Param("ids") Collection<Long> ids);
+
+    // Employees without their self link (bulk loads and reseeds that bypass addEmployee)
+    @Query(value = "SELECT COUNT(*) FROM employees e LEFT JOIN employee_hierarchy h " +
+                   "ON h.descendant_id = e.id AND h.ancestor_id = e.id AND h.depth = 0 WHERE h.descendant_id IS NULL",
+           nativeQuery = true)
+    long countMissingSelfLinks();
+
+    // Links to or from an employee that no longer exists (no foreign key, so deletes outside the service leave them)
+    @Query(value = "SELECT COUNT(*) FROM employee_hierarchy h LEFT JOIN employees a ON a.id = h.ancestor_id " +
+                   "LEFT JOIN employees d ON d.id = h.descendant_id WHERE a.id IS NULL OR d.id IS NULL", nativeQuery = true)
+    long countOrphanLinks();
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO employee_hierarchy (ancestor_id, descendant_id, depth) VALUES (:id, :id, 0)",
+           nativeQuery = true)
+    int insertSelfLink(@Param("id") Long id);
+
+    // Cut the links from everyone above the roots to everyone in their subtrees (roots must not be nested)
+    @Modifying
+    @Query(value = "DELETE h FROM employee_hierarchy h " +
+                   "JOIN employee_hierarchy sub ON sub.descendant_id = h.descendant_id " +
+                   "JOIN employee_hierarchy sup ON sup.ancestor_id = h.ancestor_id AND sup.descendant_id = sub.ancestor_id " +
+                   "WHERE sub.ancestor_id IN (:roots) AND sup.depth > 0", nativeQuery = true)
+    int detachSubtrees(@Param("roots") Collection<Long> roots);
+
+    // Link the manager and everyone above it to everyone in the roots' subtrees
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+                   "SELECT sup.ancestor_id, sub.descendant_id, sup.depth + sub.depth + 1 " +
+                   "FROM employee_hierarchy sup JOIN employee_hierarchy sub ON sub.ancestor_id IN (:roots) " +
+                   "WHERE sup.descendant_id = :managerId", nativeQuery = true)
+    int attachSubtrees(@Param("roots") Collection<Long> roots, @Param("managerId") Long managerId);
+
+    @Modifying
+    @Query(value = "DELETE FROM employee_hierarchy WHERE ancestor_id IN (:ids) OR descendant_id IN (:ids)", nativeQuery = true)
+    int deleteLinks(@Param("ids") Collection<Long> ids);
+
+    // Rebuild from employees.manager_id: self links, then one statement per level
+    @Modifying
+    @Query(value = "DELETE FROM employee_hierarchy", nativeQuery = true)
+    int deleteAllLinks();
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO employee_hierarchy (ancestor_id, descendant_id, depth) SELECT id, id, 0 FROM employees",
+           nativeQuery = true)
+    int insertAllSelfLinks();
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO employee_hierarchy (ancestor_id, descendant_id, depth) " +
+                   "SELECT h.ancestor_id, e.id, h.depth + 1 FROM employee_hierarchy h " +
+                   "JOIN employees e ON e.manager_id = h.descendant_id WHERE h.depth = :depth", nativeQuery = true)
+    int extendPaths(@Param("depth") int depth);
+}
@@ -0,0 +1,64 @@
+package com.employeems.repository;
+
+import com.employeems.entity.EmployeeReadModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EmployeeReadModelRepository extends JpaRepository<EmployeeReadModel, Long> {
+
+    List<EmployeeReadModel> findByIsActiveTrue();
+    Page<EmployeeReadModel> findByIsActiveTrue(Pageable pageable);
+
+    // Department filter on the integer ordinal instead of the department string
+    Page<EmployeeReadModel> findByDepartmentOrdinalAndIsActiveTrue(Integer departmentOrdinal, Pageable pageable);
+
+    // One LIKE over the precomputed lowercase key instead of five LOWER(...) comparisons
+    @Query("SELECT r FROM EmployeeReadModel r WHERE r.isActive = true AND r.searchKey LIKE CONCAT('%', :searchKey, '%')")
+    Page<EmployeeReadModel> searchActive(@Param("searchKey") String searchKey, Pageable pageable);
+
+    // Served from the (is_active, department_ordinal) index
+    @Query("SELECT r.departmentOrdinal, COUNT(r) FROM EmployeeReadModel r WHERE r.isActive = true GROUP BY r.departmentOrdinal")
+    List<Object[]> countActiveByDepartmentOrdinal();
+
+    long countByIsActiveTrue();
+
+    // Department dictionary (ordinal, name)
+    @Query(value = "SELECT ordinal, name FROM read_model_departments", nativeQuery = true)
+    List<Object[]> findDepartmentOrdinals();
+
+    @Modifying
+    @Query(value = "DELETE FROM employee_read_model WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    // Employees with a change in the log newer than their read model row (employee_id, age of the
+    // oldest such change in microseconds); both timestamps come from the database clock
+    @Query(value = "SELECT c.employee_id, MAX(TIMESTAMPDIFF(MICROSECOND, c.changed_at, NOW(3))) FROM employee_change_log c " +
+                   "LEFT JOIN employees e ON e.id = c.employee_id LEFT JOIN employee_read_model r ON r.id = c.employee_id " +
+                   "WHERE c.changed_at >= NOW(3) - INTERVAL :windowSeconds SECOND " +
+                   "AND ((r.id IS NULL AND e.id IS NOT NULL) OR r.synced_at < c.changed_at) " +
+                   "GROUP BY c.employee_id ORDER BY 2 DESC LIMIT :limit", nativeQuery = true)
+    List<Object[]> findUnprojectedChanges(@Param("windowSeconds") int windowSeconds, @Param("limit") int limit);
+
+    // Employees without a read model row (bulk loads and reseeds that bypass the change events)
+    @Query(value = "SELECT COUNT(*) FROM employees e LEFT JOIN employee_read_model r ON r.id = e.id WHERE r.id IS NULL",
+           nativeQuery = true)
+    long countMissing();
+
+    // Read model rows whose employee no longer exists (the deleteOrphans condition)
+    @Query(value = "SELECT COUNT(*) FROM employee_read_model r LEFT JOIN employees e ON e.id = r.id WHERE e.id IS NULL",
+           nativeQuery = true)
+    long countOrphans();
+
+    // Rows whose employee no longer exists (hard-deleted or archived), after a rebuild
+    @Modifying
+    @Query(value = "DELETE r FROM employee_read_model r LEFT JOIN employees e ON e.id = r.id WHERE e.id IS NULL", nativeQuery = true)
+    int deleteOrphans();
+}
@@ -4,10 +4,13 @@ import com.employeems.entity.Employee;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +21,11 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     List<Employee> findByIsActiveTrue();
     Page<Employee> findByIsActiveTrue(Pageable pageable);
     
+    // Keyset chunks for streaming (no COUNT query)
+    List<Employee> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    List<Employee> findByDepartmentAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(String department, Long id, Pageable pageable);
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
     // Find by department
     List<Employee> findByDepartmentAndIsActiveTrue(String department);
     Page<Employee> findByDepartmentAndIsActiveTrue(String department, Pageable pageable);
@@ -27,6 +35,10 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     boolean existsByEmail(String email);
     boolean existsByEmailAndIdNot(String email, Long id);
     
+    // Id and email only, keyset chunks (builds the email uniqueness filter)
+    @Query("SELECT e.id, e.email FROM Employee e WHERE e.id > :afterId ORDER BY e.id")
+    List<Object[]> findIdAndEmailAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
     // Search functionality
     @Query("SELECT e FROM Employee e WHERE e.isActive = true AND " +
            "(LOWER(e.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -43,6 +55,63 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     // Count active employees
     long countByIsActiveTrue();
     
+    // Keyset chunk of active employee ids in one shard (id modulo shard count) for leave accrual
+    @Query(value = "SELECT id FROM employees WHERE is_active = true AND id > :afterId AND MOD(id, :shards) = :shard " +
+                   "ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findActiveIdsAfter(@Param("afterId") Long afterId, @Param("shards") int shards, @Param("shard") int shard,
+                                  @Param("limit") int limit);
+    
+    // Archival: soft-deleted rows past the retention window, moved in id-ordered batches
+    @Query(value = "SELECT id FROM employees WHERE is_active = false AND updated_at < :cutoff AND id > :afterId " +
+                   "ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findArchivableIds(@Param("cutoff") LocalDateTime cutoff, @Param("afterId") Long afterId, @Param("limit") int limit);
+    
+    // Locks the batch rows still inactive, so nothing changes between the copy and the delete
+    @Query(value = "SELECT id FROM employees WHERE id IN (:ids) AND is_active = false ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockArchivable(@Param("ids") List<Long> ids);
+    
+    // Plain INSERT: ids already in the archive are filtered out by the caller, a collision here fails the batch
+    @Modifying
+    @Query(value = "INSERT INTO employees_archive (id, first_name, last_name, email, department, position, " +
+                   "hire_date, salary, is_active, created_at, updated_at, archived_at) " +
+                   "SELECT id, first_name, last_name, email, department, position, hire_date, salary, is_active, " +
+                   "created_at, updated_at, NOW() FROM employees WHERE id IN (:ids) AND is_active = false", nativeQuery = true)
+    int copyToArchive(@Param("ids") List<Long> ids);
+    
+    // Called only after copyToArchive copied every one of these (locked) rows
+    @Modifying
+    @Query(value = "DELETE FROM employees WHERE id IN (:ids) AND is_active = false", nativeQuery = true)
+    int deleteArchived(@Param("ids") List<Long> ids);
+    
+    // Org hierarchy: direct reports, manager lookups and moves (links are in employee_hierarchy)
+    List<Employee> findByManagerIdAndIsActiveTrueOrderByIdAsc(Long managerId);
+    long countByIdIn(Collection<Long> ids);
+    
+    @Query("SELECT e.id FROM Employee e WHERE e.managerId = :managerId")
+    List<Long> findIdsByManagerId(@Param("managerId") Long managerId);
+    
+    @Query("SELECT DISTINCT e.managerId FROM Employee e WHERE e.managerId IN :ids")
+    List<Long> findManagersWithReports(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT e.managerId FROM Employee e WHERE e.id = :id")
+    Long findManagerIdById(@Param("id") Long id);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.managerId = :managerId, e.updatedAt = :now WHERE e.id IN :ids")
+    int updateManager(@Param("ids") Collection<Long> ids, @Param("managerId") Long managerId, @Param("now") LocalDateTime now);
+    
+    // Managers above the employee, nearest first
+    @Query(value = "SELECT e.* FROM employee_hierarchy h JOIN employees e ON e.id = h.ancestor_id " +
+                   "WHERE h.descendant_id = :id AND h.depth > 0 ORDER BY h.depth", nativeQuery = true)
+    List<Employee> findChainOfCommand(@Param("id") Long id);
+    
+    // Active employees below the manager, at most maxDepth levels down
+    @Query(value = "SELECT e FROM Employee e JOIN EmployeeHierarchy h ON h.descendantId = e.id " +
+                   "WHERE h.ancestorId = :id AND h.depth > 0 AND h.depth <= :maxDepth AND e.isActive = true",
+           countQuery = "SELECT COUNT(h) FROM EmployeeHierarchy h JOIN Employee e ON e.id = h.descendantId " +
+                        "WHERE h.ancestorId = :id AND h.depth > 0 AND h.depth <= :maxDepth AND e.isActive = true")
+    Page<Employee> findSubtree(@Param("id") Long id, @Param("maxDepth") int maxDepth, Pageable pageable);
+    
     // Get all departments
     @Query("SELECT DISTINCT e.department FROM Employee e WHERE e.isActive = true ORDER BY e.department")
     List<String> findAllDepartments();
@@ -0,0 +1,27 @@
+package com.employeems.repository;
+
+import com.employeems.entity.HeadcountSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface HeadcountSnapshotRepository extends JpaRepository<HeadcountSnapshot, Long> {
+    
+    // Snapshots for a set of period-end dates (one row per department and date)
+    List<HeadcountSnapshot> findBySnapshotDateIn(Collection<LocalDate> dates);
+    List<HeadcountSnapshot> findBySnapshotDateInAndDepartment(Collection<LocalDate> dates, String department);
+    
+    @Query("SELECT MAX(s.snapshotDate) FROM HeadcountSnapshot s")
+    LocalDate findLatestSnapshotDate();
+    
+    @Modifying
+    @Query("DELETE FROM HeadcountSnapshot s WHERE s.snapshotDate = :date")
+    int deleteBySnapshotDate(@Param("date") LocalDate date);
+}
@@ -0,0 +1,64 @@
+package com.employeems.repository;
+
+import com.employeems.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lease statements; every time comparison uses the database clock, so instance clocks never matter
+ */
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    // Takes the lease when it is free or has lapsed (assignments run left to right, lease_until last)
+    @Modifying
+    @Query(value = "INSERT INTO scheduled_job_locks (lock_name, owner, lease_until, heartbeat_at, acquired_at, fencing_token, checkpoint) " +
+                   "VALUES (:lockName, :owner, NOW(3) + INTERVAL :leaseMs * 1000 MICROSECOND, NOW(3), NOW(3), 1, 0) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "fencing_token = IF(lease_until <= NOW(3), fencing_token + 1, fencing_token), " +
+                   "acquired_at = IF(lease_until <= NOW(3), NOW(3), acquired_at), " +
+                   "heartbeat_at = IF(lease_until <= NOW(3), NOW(3), heartbeat_at), " +
+                   "owner = IF(lease_until <= NOW(3), :owner, owner), " +
+                   "lease_until = IF(lease_until <= NOW(3), NOW(3) + INTERVAL :leaseMs * 1000 MICROSECOND, lease_until)",
+           nativeQuery = true)
+    int tryAcquire(@Param("lockName") String lockName, @Param("owner") String owner, @Param("leaseMs") long leaseMs);
+
+    // Fencing token when owner holds the lease, nothing otherwise
+    @Query(value = "SELECT fencing_token FROM scheduled_job_locks WHERE lock_name = :lockName AND owner = :owner " +
+                   "AND lease_until > NOW(3)", nativeQuery = true)
+    Long findHeldToken(@Param("lockName") String lockName, @Param("owner") String owner);
+
+    // Heartbeat; 0 rows means another instance has taken the lease over
+    @Modifying
+    @Query(value = "UPDATE scheduled_job_locks SET lease_until = NOW(3) + INTERVAL :leaseMs * 1000 MICROSECOND, heartbeat_at = NOW(3) " +
+                   "WHERE lock_name = :lockName AND owner = :owner", nativeQuery = true)
+    int renew(@Param("lockName") String lockName, @Param("owner") String owner, @Param("leaseMs") long leaseMs);
+
+    @Modifying
+    @Query(value = "UPDATE scheduled_job_locks SET lease_until = NOW(3) WHERE lock_name = :lockName AND owner = :owner",
+           nativeQuery = true)
+    int release(@Param("lockName") String lockName, @Param("owner") String owner);
+
+    @Modifying
+    @Query(value = "UPDATE scheduled_job_locks SET run_key = :runKey, checkpoint = :checkpoint " +
+                   "WHERE lock_name = :lockName AND owner = :owner", nativeQuery = true)
+    int saveCheckpoint(@Param("lockName") String lockName, @Param("owner") String owner,
+                       @Param("runKey") String runKey, @Param("checkpoint") long checkpoint);
+
+    @Modifying
+    @Query(value = "UPDATE scheduled_job_locks SET completed_key = :runKey WHERE lock_name = :lockName AND owner = :owner",
+           nativeQuery = true)
+    int markCompleted(@Param("lockName") String lockName, @Param("owner") String owner, @Param("runKey") String runKey);
+
+    @Query(value = "SELECT COUNT(*) FROM scheduled_job_locks WHERE lock_name IN (:lockNames) AND completed_key = :runKey",
+           nativeQuery = true)
+    long countCompleted(@Param("lockNames") Collection<String> lockNames, @Param("runKey") String runKey);
+
+    List<JobLock> findAllByOrderByLockNameAsc();
+}
@@ -0,0 +1,31 @@
+package com.employeems.repository;
+
+import com.employeems.entity.JobRun;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    List<JobRun> findByOrderByIdDesc(Pageable pageable);
+
+    List<JobRun> findByJobNameOrderByIdDesc(String jobName, Pageable pageable);
+
+    // Runs left RUNNING by an instance whose lease lapsed (crash, long pause); called by the new lease holder
+    @Modifying
+    @Query(value = "UPDATE scheduled_job_runs SET status = 'ABANDONED', finished_at = NOW() " +
+                   "WHERE job_name = :jobName AND shard = :shard AND status = 'RUNNING' AND owner <> :owner",
+           nativeQuery = true)
+    int abandonStale(@Param("jobName") String jobName, @Param("shard") int shard, @Param("owner") String owner);
+
+    @Modifying
+    @Query(value = "DELETE FROM scheduled_job_runs WHERE started_at < NOW() - INTERVAL :days DAY AND status <> 'RUNNING' LIMIT 10000",
+           nativeQuery = true)
+    int deleteOlderThan(@Param("days") int days);
+}
@@ -0,0 +1,48 @@
+package com.employeems.repository;
+
+import com.employeems.entity.LeaveAccrualRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LeaveAccrualRunRepository extends JpaRepository<LeaveAccrualRun, Integer> {
+
+    List<LeaveAccrualRun> findTop24ByOrderByPeriodDesc();
+
+    Optional<LeaveAccrualRun> findTopByOrderByPeriodDesc();
+
+    Optional<LeaveAccrualRun> findTopByStatusOrderByPeriodDesc(LeaveAccrualRun.Status status);
+
+    // Unfinished runs in a period range, oldest first
+    List<LeaveAccrualRun> findByStatusNotAndPeriodBetweenOrderByPeriodAsc(LeaveAccrualRun.Status status, Integer from, Integer to);
+
+    long countByStatusNotAndPeriodLessThan(LeaveAccrualRun.Status status, Integer period);
+
+    boolean existsByPeriodGreaterThan(Integer period);
+
+    // Start, join or resume a period's run (each instance claims it; completed runs are never restarted)
+    @Modifying
+    @Query(value = "INSERT INTO leave_accrual_runs (period, status, employees_accrued, chunks, attempts, started_at) " +
+                   "VALUES (:period, 'RUNNING', 0, 0, 1, NOW()) " +
+                   "ON DUPLICATE KEY UPDATE attempts = IF(status = 'COMPLETED', attempts, attempts + 1), " +
+                   "error = IF(status = 'COMPLETED', error, NULL), status = IF(status = 'COMPLETED', status, 'RUNNING')",
+           nativeQuery = true)
+    int claim(@Param("period") int period);
+
+    @Modifying
+    @Query(value = "UPDATE leave_accrual_runs SET employees_accrued = employees_accrued + :accrued, chunks = chunks + 1 " +
+                   "WHERE period = :period", nativeQuery = true)
+    int addProgress(@Param("period") int period, @Param("accrued") long accrued);
+
+    @Modifying
+    @Query(value = "UPDATE leave_accrual_runs SET status = :status, finished_at = NOW(), duration_ms = :durationMs, " +
+                   "error = :error WHERE period = :period", nativeQuery = true)
+    int finish(@Param("period") int period, @Param("status") String status, @Param("durationMs") long durationMs,
+               @Param("error") String error);
+}
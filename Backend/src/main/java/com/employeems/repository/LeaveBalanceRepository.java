@@ -0,0 +1,43 @@
+package com.employeems.repository;
+
+import com.employeems.entity.LeaveBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+@Repository
+public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long> {
+
+    // Balance rows for active employees of the shard's id range that don't have one yet
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO leave_balances (employee_id, balance, accrued_period, updated_at) " +
+                   "SELECT id, 0, 0, NOW() FROM employees WHERE id BETWEEN :firstId AND :lastId AND MOD(id, :shards) = :shard " +
+                   "AND is_active = true", nativeQuery = true)
+    int insertMissing(@Param("firstId") Long firstId, @Param("lastId") Long lastId, @Param("shards") int shards, @Param("shard") int shard);
+
+    // Monthly accrual for one id range of a shard; rows already accrued for the period are left alone
+    @Modifying
+    @Query(value = "UPDATE leave_balances b JOIN employees e ON e.id = b.employee_id " +
+                   "SET b.balance = LEAST(b.balance + :days, :maxBalance), b.accrued_period = :period, b.updated_at = NOW() " +
+                   "WHERE b.employee_id BETWEEN :firstId AND :lastId AND MOD(b.employee_id, :shards) = :shard " +
+                   "AND b.accrued_period < :period AND e.is_active = true AND e.hire_date <= :periodEnd", nativeQuery = true)
+    int accrue(@Param("firstId") Long firstId, @Param("lastId") Long lastId, @Param("shards") int shards, @Param("shard") int shard,
+               @Param("period") int period, @Param("periodEnd") LocalDate periodEnd, @Param("days") BigDecimal days,
+               @Param("maxBalance") BigDecimal maxBalance);
+
+    // Deduct leave only when the balance covers it; 0 rows means insufficient balance
+    @Modifying
+    @Query(value = "UPDATE leave_balances SET balance = balance - :days, updated_at = NOW() " +
+                   "WHERE employee_id = :employeeId AND balance >= :days", nativeQuery = true)
+    int deduct(@Param("employeeId") Long employeeId, @Param("days") BigDecimal days);
+
+    @Modifying
+    @Query(value = "DELETE FROM leave_balances WHERE employee_id IN (:ids)", nativeQuery = true)
+    int deleteByEmployeeIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,90 @@
+package com.employeems.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to observed latency (AIMD)
+ * Each fast, successful call raises the limit by 1/limit (about +1 per limit calls),
+ * each slow or failed call multiplies it by the backoff ratio
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+
+    private volatile double limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder slowOrFailed = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(String name, int minLimit, int initialLimit, int maxLimit, long targetLatencyMs) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.targetLatencyNanos = targetLatencyMs * 1_000_000;
+    }
+
+    // Take a slot if the current limit allows it
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                admitted.increment();
+                return true;
+            }
+        }
+    }
+
+    // Give the slot back and adjust the limit from the call's outcome
+    public void release(long latencyNanos, boolean failed) {
+        inFlight.decrementAndGet();
+        completed.increment();
+        totalLatencyNanos.add(latencyNanos);
+
+        synchronized (this) {
+            if (failed || latencyNanos > targetLatencyNanos) {
+                slowOrFailed.increment();
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public Map<String, Object> getMetrics() {
+        long done = completed.sum();
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("name", name);
+        metrics.put("limit", (int) limit);
+        metrics.put("minLimit", minLimit);
+        metrics.put("maxLimit", maxLimit);
+        metrics.put("inFlight", inFlight.get());
+        metrics.put("admitted", admitted.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("completed", done);
+        metrics.put("slowOrFailed", slowOrFailed.sum());
+        metrics.put("targetLatencyMs", targetLatencyNanos / 1_000_000);
+        metrics.put("avgLatencyMs", done == 0 ? 0.0 : totalLatencyNanos.sum() / 1_000_000.0 / done);
+        return metrics;
+    }
+}
@@ -0,0 +1,124 @@
+package com.employeems.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control in front of the employee endpoints
+ * Every endpoint class has its own adaptive limit. On top of that, a shared
+ * in-flight budget gives cheap reads priority: expensive classes may only use
+ * part of it, so they are shed first when the instance is busy.
+ */
+@Service
+public class AdmissionControlService {
+
+    public enum EndpointClass {
+        // min, initial, max limit, target latency (ms), share of the global budget
+        READ(5, 50, 100, 100, 1.0),
+        WRITE(2, 10, 30, 300, 0.9),
+        LIST(2, 20, 40, 250, 0.75),
+        SEARCH(1, 10, 20, 500, 0.5),
+        EXPORT(1, 2, 4, 30000, 0.25);
+
+        private final int minLimit;
+        private final int initialLimit;
+        private final int maxLimit;
+        private final long targetLatencyMs;
+        private final double globalShare;
+
+        EndpointClass(int minLimit, int initialLimit, int maxLimit, long targetLatencyMs, double globalShare) {
+            this.minLimit = minLimit;
+            this.initialLimit = initialLimit;
+            this.maxLimit = maxLimit;
+            this.targetLatencyMs = targetLatencyMs;
+            this.globalShare = globalShare;
+        }
+    }
+
+    @Value("${ems.admission.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ems.admission.global-limit:60}")
+    private int globalLimit;
+
+    @Value("${ems.admission.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final AtomicInteger globalInFlight = new AtomicInteger();
+    private final LongAdder globalRejected = new LongAdder();
+
+    public AdmissionControlService() {
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            limiters.put(endpointClass, new AdaptiveConcurrencyLimiter(endpointClass.name(),
+                    endpointClass.minLimit, endpointClass.initialLimit, endpointClass.maxLimit, endpointClass.targetLatencyMs));
+        }
+    }
+
+    // Admit a request, or return null when it should be rejected
+    public Permit tryAdmit(EndpointClass endpointClass) {
+        if (!enabled) {
+            return Permit.NOOP;
+        }
+
+        int allowed = (int) Math.ceil(globalLimit * endpointClass.globalShare);
+        if (globalInFlight.incrementAndGet() > allowed) {
+            globalInFlight.decrementAndGet();
+            globalRejected.increment();
+            return null;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpointClass);
+        if (!limiter.tryAcquire()) {
+            globalInFlight.decrementAndGet();
+            return null;
+        }
+        return new Permit(limiter, globalInFlight);
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> classes = new LinkedHashMap<>();
+        limiters.forEach((endpointClass, limiter) -> classes.put(endpointClass.name(), limiter.getMetrics()));
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("globalLimit", globalLimit);
+        metrics.put("globalInFlight", globalInFlight.get());
+        metrics.put("globalRejected", globalRejected.sum());
+        metrics.put("classes", classes);
+        return metrics;
+    }
+
+    /**
+     * Slot held by an admitted request; release exactly once when it completes
+     */
+    public static class Permit {
+        static final Permit NOOP = new Permit(null, null);
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final AtomicInteger globalInFlight;
+        private final long startNanos = System.nanoTime();
+
+        Permit(AdaptiveConcurrencyLimiter limiter, AtomicInteger globalInFlight) {
+            this.limiter = limiter;
+            this.globalInFlight = globalInFlight;
+        }
+
+        public void release(boolean failed) {
+            if (limiter != null) {
+                globalInFlight.decrementAndGet();
+                limiter.release(System.nanoTime() - startNanos, failed);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.employeems.service;
+
+import com.employeems.dto.EmployeeView;
+import com.employeems.entity.Employee;
+import com.employeems.event.EmployeeChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data provider for the /dashboard page
+ * Statistics are computed once per data version and recent hires are kept in an
+ * in-memory ring buffer fed by EmployeeService changes, so repeat views need no queries
+ */
+@Service
+public class DashboardService {
+
+    public static final int RECENT_HIRES = 5;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeDataVersion dataVersion;
+
+    // Newest first; null until seeded from the database
+    private final EmployeeView[] recentHires = new EmployeeView[RECENT_HIRES];
+    private int recentCount;
+    private boolean recentSeeded;
+
+    private volatile Snapshot snapshot;
+
+    // Get the dashboard model for the current data version
+    public Snapshot getSnapshot() {
+        long version = dataVersion.current();
+        Snapshot current = snapshot;
+        if (current != null && current.getVersion() == version) {
+            return current;
+        }
+
+        Map<String, Object> statistics = employeeService.getEmployeeStatistics();
+        current = new Snapshot(version, statistics, getRecentHires());
+        snapshot = current;
+        return current;
+    }
+
+    // Get recent hires, seeding the buffer on first use or after a buffered employee was removed
+    public synchronized List<EmployeeView> getRecentHires() {
+        if (!recentSeeded) {
+            recentCount = 0;
+            for (Employee employee : employeeService.getActiveEmployees(0, RECENT_HIRES, "createdAt", "desc")) {
+                recentHires[recentCount++] = new EmployeeView(employee);
+            }
+            recentSeeded = true;
+        }
+        List<EmployeeView> hires = new ArrayList<>(recentCount);
+        for (int i = 0; i < recentCount; i++) {
+            hires.add(recentHires[i]);
+        }
+        return hires;
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!recentSeeded) {
+            return;
+        }
+        Employee employee = event.getEmployee();
+        switch (event.getType()) {
+            case CREATED -> {
+                // Shift the buffer and put the new hire first
+                System.arraycopy(recentHires, 0, recentHires, 1, RECENT_HIRES - 1);
+                recentHires[0] = new EmployeeView(employee);
+                recentCount = Math.min(recentCount + 1, RECENT_HIRES);
+            }
+            case UPDATED -> {
+                int index = indexOf(event.getEmployeeId());
+                if (index >= 0) {
+                    recentHires[index] = new EmployeeView(employee);
+                }
+            }
+            case DELETED -> {
+                // The replacement for a removed entry is only known to the database
+                if (indexOf(event.getEmployeeId()) >= 0) {
+                    recentSeeded = false;
+                }
+            }
+        }
+    }
+
+    private int indexOf(Long id) {
+        for (int i = 0; i < recentCount; i++) {
+            if (recentHires[i].getId().equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Immutable dashboard model for one data version
+     */
+    public static class Snapshot {
+        private final long version;
+        private final Map<String, Object> statistics;
+        private final List<EmployeeView> recentEmployees;
+
+        Snapshot(long version, Map<String, Object> statistics, List<EmployeeView> recentEmployees) {
+            this.version = version;
+            this.statistics = statistics;
+            this.recentEmployees = List.copyOf(recentEmployees);
+        }
+
+        public long getVersion() { return version; }
+        public Map<String, Object> getStatistics() { return statistics; }
+        public List<EmployeeView> getRecentEmployees() { return recentEmployees; }
+    }
+}
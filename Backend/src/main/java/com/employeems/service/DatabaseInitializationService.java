@@ -5,42 +5,59 @@ import com.employeems.repository.EmployeeRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import javax.sql.DataSource;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
+// Runs before the other command-line runners (e.g. the datagen loader) so the schema exists
+// Serialized across instances with a MySQL named lock, so concurrent starts don't race on ALTERs or sample data
 @Service
+@Order(0)
 public class DatabaseInitializationService implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseInitializationService.class);
 
+    private static final String INIT_LOCK = "ems_database_initialization";
+
     @Autowired
     private DataSource dataSource;
 
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Value("${ems.jobs.init-lock-timeout-seconds:300}")
+    private int initLockTimeoutSeconds;
+
     @Override
-    @Transactional
     public void run(String... args) throws Exception {
         logger.info("Starting database initialization...");
         
-        try {
-            // Check and fix database schema
-            ensureTableStructure();
-            
-            // Initialize sample data if table is empty
-            initializeSampleData();
+        // Instances starting together take turns: the first creates tables and sample data, the others find them
+        try (Connection lockConnection = dataSource.getConnection()) {
+            boolean locked = acquireInitLock(lockConnection);
+            try {
+                // Check and fix database schema
+                ensureTableStructure();
+                
+                // Initialize sample data if table is empty
+                initializeSampleData();
+            } finally {
+                if (locked) {
+                    releaseInitLock(lockConnection);
+                }
+            }
             
             logger.info("Database initialization completed successfully!");
             
@@ -50,6 +67,30 @@ public class DatabaseInitializationService implements CommandLineRunner {
         }
     }
 
+    // MySQL named lock, held by this session until released (or the connection closes); the job lease tables don't exist yet
+    private boolean acquireInitLock(Connection connection) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, INIT_LOCK);
+            statement.setInt(2, initLockTimeoutSeconds);
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next() && result.getInt(1) == 1) {
+                    return true;
+                }
+            }
+        }
+        logger.warn("Another instance held the initialization lock for {} s, initializing without it", initLockTimeoutSeconds);
+        return false;
+    }
+
+    private void releaseInitLock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, INIT_LOCK);
+            statement.executeQuery().close();
+        } catch (Exception e) {
+            logger.warn("Could not release the initialization lock: {}", e.getMessage());
+        }
+    }
+
     private void ensureTableStructure() {
         try (Connection connection = dataSource.getConnection()) {
             DatabaseMetaData metaData = connection.getMetaData();
@@ -65,6 +106,14 @@ public class DatabaseInitializationService implements CommandLineRunner {
                 }
             }
             
+            createHeadcountSnapshotsTable(connection);
+            createEmployeesArchiveTable(connection);
+            createEmployeeChangeLogTable(connection);
+            createReadModelTables(connection);
+            createEmployeeHierarchyTable(connection);
+            createLeaveTables(connection);
+            createJobTables(connection);
+            
         } catch (Exception e) {
             logger.error("Error ensuring table structure: ", e);
         }
@@ -82,12 +131,14 @@ public class DatabaseInitializationService implements CommandLineRunner {
                 hire_date DATE NOT NULL,
                 salary DECIMAL(10,2),
                 is_active BOOLEAN NOT NULL DEFAULT TRUE,
+                manager_id BIGINT NULL,
                 created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                 updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
                 
                 INDEX idx_department (department),
                 INDEX idx_is_active (is_active),
-                INDEX idx_email (email)
+                INDEX idx_email (email),
+                INDEX idx_manager_id (manager_id)
             ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
             """;
 
@@ -97,6 +148,217 @@ public class DatabaseInitializationService implements CommandLineRunner {
         }
     }
 
+    private void createHeadcountSnapshotsTable(Connection connection) throws Exception {
+        String createTableSQL = """
+            CREATE TABLE IF NOT EXISTS headcount_snapshots (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                snapshot_date DATE NOT NULL,
+                department VARCHAR(100) NOT NULL,
+                headcount INT NOT NULL,
+                
+                UNIQUE KEY uk_snapshot_date_department (snapshot_date, department)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(createTableSQL);
+        }
+    }
+
+    private void createEmployeesArchiveTable(Connection connection) throws Exception {
+        String createTableSQL = """
+            CREATE TABLE IF NOT EXISTS employees_archive (
+                id BIGINT PRIMARY KEY,
+                first_name VARCHAR(100) NOT NULL,
+                last_name VARCHAR(100) NOT NULL,
+                email VARCHAR(100) NOT NULL,
+                department VARCHAR(100) NOT NULL,
+                position VARCHAR(100) NOT NULL,
+                hire_date DATE NOT NULL,
+                salary DECIMAL(10,2),
+                is_active BOOLEAN NOT NULL DEFAULT FALSE,
+                created_at TIMESTAMP NULL,
+                updated_at TIMESTAMP NULL,
+                archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                
+                INDEX idx_archive_department (department),
+                INDEX idx_archive_email (email),
+                INDEX idx_archived_at (archived_at)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(createTableSQL);
+        }
+    }
+
+    private void createEmployeeChangeLogTable(Connection connection) throws Exception {
+        String createTableSQL = """
+            CREATE TABLE IF NOT EXISTS employee_change_log (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                employee_id BIGINT NOT NULL,
+                change_type CHAR(1) NOT NULL,
+                origin VARCHAR(64) NOT NULL,
+                changed_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+                
+                INDEX idx_change_log_changed_at (changed_at)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(createTableSQL);
+        }
+    }
+
+    private void createReadModelTables(Connection connection) throws Exception {
+        String createDepartmentsSQL = """
+            CREATE TABLE IF NOT EXISTS read_model_departments (
+                ordinal INT AUTO_INCREMENT PRIMARY KEY,
+                name VARCHAR(100) NOT NULL,
+                
+                UNIQUE KEY uk_read_model_department_name (name)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """;
+        String createReadModelSQL = """
+            CREATE TABLE IF NOT EXISTS employee_read_model (
+                id BIGINT PRIMARY KEY,
+                first_name VARCHAR(50) NOT NULL,
+                last_name VARCHAR(50) NOT NULL,
+                full_name VARCHAR(101) NOT NULL,
+                email VARCHAR(100) NOT NULL,
+                department VARCHAR(100) NOT NULL,
+                department_ordinal INT NOT NULL,
+                position VARCHAR(100) NOT NULL,
+                hire_date DATE NOT NULL,
+                salary DECIMAL(10,2),
+                is_active BOOLEAN NOT NULL,
+                manager_id BIGINT NULL,
+                search_key VARCHAR(410) NOT NULL,
+                created_at TIMESTAMP NULL,
+                updated_at TIMESTAMP NULL,
+                synced_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+                
+                INDEX idx_read_model_active_department (is_active, department_ordinal),
+                INDEX idx_read_model_hire_date (hire_date),
+                INDEX idx_read_model_salary (salary)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(createDepartmentsSQL);
+            statement.execute(createReadModelSQL);
+        }
+        
+        // Tables created before the org hierarchy; the next rebuild fills the column
+        try (ResultSet columns = connection.getMetaData().getColumns(null, null, "employee_read_model", "manager_id");
+             Statement statement = connection.createStatement()) {
+            if (!columns.next()) {
+                statement.execute("ALTER TABLE employee_read_model ADD COLUMN manager_id BIGINT NULL AFTER is_active");
+                statement.execute("TRUNCATE TABLE employee_read_model");
+                logger.info("Added manager_id column to employee_read_model, it will be rebuilt");
+            }
+        }
+        
+        // Compared with employee_change_log.changed_at to measure lag, so it needs the same precision
+        try (Statement statement = connection.createStatement();
+             ResultSet precision = statement.executeQuery("SELECT DATETIME_PRECISION FROM information_schema.COLUMNS "
+                     + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'employee_read_model' AND COLUMN_NAME = 'synced_at'")) {
+            if (precision.next() && precision.getInt(1) < 3) {
+                statement.execute("ALTER TABLE employee_read_model MODIFY synced_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)");
+                logger.info("Changed employee_read_model.synced_at to millisecond precision");
+            }
+        }
+    }
+
+    private void createEmployeeHierarchyTable(Connection connection) throws Exception {
+        String createTableSQL = """
+            CREATE TABLE IF NOT EXISTS employee_hierarchy (
+                ancestor_id BIGINT NOT NULL,
+                descendant_id BIGINT NOT NULL,
+                depth INT NOT NULL,
+                
+                PRIMARY KEY (ancestor_id, descendant_id),
+                INDEX idx_hierarchy_descendant (descendant_id, depth)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(createTableSQL);
+        }
+    }
+
+    private void createLeaveTables(Connection connection) throws Exception {
+        String createBalancesSQL = """
+            CREATE TABLE IF NOT EXISTS leave_balances (
+                employee_id BIGINT PRIMARY KEY,
+                balance DECIMAL(6,2) NOT NULL DEFAULT 0,
+                accrued_period INT NOT NULL DEFAULT 0,
+                updated_at TIMESTAMP NULL
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """;
+
+        String createRunsSQL = """
+            CREATE TABLE IF NOT EXISTS leave_accrual_runs (
+                period INT PRIMARY KEY,
+                status VARCHAR(20) NOT NULL,
+                employees_accrued BIGINT NOT NULL DEFAULT 0,
+                chunks INT NOT NULL DEFAULT 0,
+                attempts INT NOT NULL DEFAULT 0,
+                started_at TIMESTAMP NULL,
+                finished_at TIMESTAMP NULL,
+                duration_ms BIGINT NULL,
+                error VARCHAR(500) NULL
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(createBalancesSQL);
+            statement.execute(createRunsSQL);
+        }
+    }
+
+    private void createJobTables(Connection connection) throws Exception {
+        String createLocksSQL = """
+            CREATE TABLE IF NOT EXISTS scheduled_job_locks (
+                lock_name VARCHAR(100) PRIMARY KEY,
+                owner VARCHAR(100) NULL,
+                lease_until TIMESTAMP(3) NULL,
+                heartbeat_at TIMESTAMP(3) NULL,
+                acquired_at TIMESTAMP(3) NULL,
+                fencing_token BIGINT NOT NULL DEFAULT 0,
+                run_key VARCHAR(50) NULL,
+                checkpoint BIGINT NOT NULL DEFAULT 0,
+                completed_key VARCHAR(50) NULL
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """;
+
+        String createRunsSQL = """
+            CREATE TABLE IF NOT EXISTS scheduled_job_runs (
+                id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                job_name VARCHAR(100) NOT NULL,
+                shard INT NOT NULL DEFAULT 0,
+                shard_count INT NOT NULL DEFAULT 1,
+                run_key VARCHAR(50) NULL,
+                owner VARCHAR(100) NOT NULL,
+                fencing_token BIGINT NOT NULL,
+                status VARCHAR(20) NOT NULL,
+                started_at TIMESTAMP(3) NOT NULL,
+                finished_at TIMESTAMP(3) NULL,
+                duration_ms BIGINT NULL,
+                items BIGINT NOT NULL DEFAULT 0,
+                error VARCHAR(500) NULL,
+                
+                INDEX idx_job_runs_job (job_name, status, shard),
+                INDEX idx_job_runs_started (started_at)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """;
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(createLocksSQL);
+            statement.execute(createRunsSQL);
+        }
+    }
+
     private void ensureColumnsExist(Connection connection, DatabaseMetaData metaData) throws Exception {
         List<String> existingColumns = new ArrayList<>();
         
@@ -155,6 +417,11 @@ public class DatabaseInitializationService implements CommandLineRunner {
                 logger.info("Added is_active column");
             }
             
+            if (!existingColumns.contains("manager_id")) {
+                statement.execute("ALTER TABLE employees ADD COLUMN manager_id BIGINT NULL, ADD INDEX idx_manager_id (manager_id)");
+                logger.info("Added manager_id column");
+            }
+            
             if (!existingColumns.contains("created_at")) {
                 statement.execute("ALTER TABLE employees ADD COLUMN created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP");
                 logger.info("Added created_at column");
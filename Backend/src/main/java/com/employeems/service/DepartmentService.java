@@ -0,0 +1,53 @@
+package com.employeems.service;
+
+import com.employeems.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Department list for forms and filters
+ * Loaded from the database once and reloaded only when the employee data version changes
+ */
+@Service
+public class DepartmentService {
+
+    // Offered when the database has no employees yet
+    private static final List<String> DEFAULT_DEPARTMENTS = List.of(
+        "HR", "Engineering", "Marketing", "Sales", "Finance",
+        "Operations", "IT", "Legal", "Customer Service", "Research & Development"
+    );
+
+    private static final Pattern TRAILING_SPACES = Pattern.compile(" +$");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeDataVersion dataVersion;
+
+    private volatile List<String> departments;
+    private volatile long loadedVersion = -1;
+
+    public List<String> getDepartments() {
+        long version = dataVersion.current();
+        if (departments == null || loadedVersion != version) {
+            List<String> loaded = employeeRepository.findAllDepartments();
+            departments = loaded.isEmpty() ? DEFAULT_DEPARTMENTS : List.copyOf(loaded);
+            loadedVersion = version;
+        }
+        return departments;
+    }
+
+    // Department columns are utf8mb4_unicode_ci: names differing only in case, accents or trailing
+    // spaces are one department in the database, so in-memory maps keyed by name use this key
+    public static String key(String name) {
+        String unaccented = Normalizer.normalize(TRAILING_SPACES.matcher(name).replaceFirst(""), Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(unaccented).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,207 @@
+package com.employeems.service;
+
+import com.employeems.event.EmployeeChangedEvent;
+import com.employeems.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over all normalized employee emails, in front of the uniqueness query
+ * A negative answer is definite, so most creates and email changes skip the
+ * database round trip; a positive answer is confirmed with existsByEmail.
+ * Emails are only ever added: a changed or deleted address stays in the filter
+ * and costs at most one extra query.
+ */
+@Component
+public class EmailUniquenessIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailUniquenessIndex.class);
+
+    private static final int BUILD_CHUNK_SIZE = 5000;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Value("${ems.email-index.expected-emails:1000000}")
+    private long expectedEmails;
+
+    @Value("${ems.email-index.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile boolean ready;
+
+    private final AtomicLong checks = new AtomicLong();
+    private final AtomicLong localNegatives = new AtomicLong();
+    private final AtomicLong databaseChecks = new AtomicLong();
+    private final AtomicLong collisions = new AtomicLong();
+
+    // Lower-cased and trimmed; the form stored in the employees table
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        long count = employeeRepository.count();
+        // Emails added while the build runs are recorded through the listener once filter is set
+        filter = new BloomFilter(Math.max(expectedEmails, count * 2), falsePositiveRate);
+        long lastId = 0;
+        List<Object[]> chunk;
+        do {
+            chunk = employeeRepository.findIdAndEmailAfter(lastId, PageRequest.of(0, BUILD_CHUNK_SIZE));
+            for (Object[] row : chunk) {
+                filter.add(normalize((String) row[1]));
+                lastId = (Long) row[0];
+            }
+        } while (!chunk.isEmpty());
+        ready = true;
+        logger.info("Email index built: {} emails, {} KB in {} ms", filter.size(), filter.sizeInBytes() / 1024,
+                System.currentTimeMillis() - start);
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        BloomFilter current = filter;
+        if (current != null && event.getEmployee() != null) {
+            current.add(normalize(event.getEmployee().getEmail()));
+        }
+    }
+
+    // True if another employee (other than excludeId, when given) already uses the email
+    public boolean isTaken(String email, Long excludeId) {
+        String normalized = normalize(email);
+        checks.incrementAndGet();
+        if (ready && !filter.mightContain(normalized)) {
+            localNegatives.incrementAndGet();
+            return false;
+        }
+        databaseChecks.incrementAndGet();
+        boolean taken = excludeId == null
+                ? employeeRepository.existsByEmail(normalized)
+                : employeeRepository.existsByEmailAndIdNot(normalized, excludeId);
+        if (taken) {
+            collisions.incrementAndGet();
+        }
+        return taken;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        BloomFilter current = filter;
+        metrics.put("ready", ready);
+        metrics.put("emails", current == null ? 0 : current.size());
+        metrics.put("capacity", current == null ? 0 : current.capacity());
+        metrics.put("sizeBytes", current == null ? 0 : current.sizeInBytes());
+        metrics.put("checks", checks.get());
+        metrics.put("localNegatives", localNegatives.get());
+        metrics.put("databaseChecks", databaseChecks.get());
+        metrics.put("collisions", collisions.get());
+        // Database checks that found nothing: false positives (or checks before the filter was ready)
+        metrics.put("falsePositives", databaseChecks.get() - collisions.get());
+        return metrics;
+    }
+
+    /**
+     * Lock-free Bloom filter on an AtomicLongArray, k probes by double hashing of a 64-bit hash
+     */
+    static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private final int hashCount;
+        private final long capacity;
+        private final AtomicLong size = new AtomicLong();
+
+        BloomFilter(long capacity, double falsePositiveRate) {
+            long m = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bits = new AtomicLongArray((int) Math.min((m + 63) / 64, Integer.MAX_VALUE - 8));
+            this.bitCount = bits.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        void add(String value) {
+            if (value == null) {
+                return;
+            }
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                    if ((current & mask) != 0) {
+                        break;
+                    }
+                } while (!bits.compareAndSet(word, current, current | mask));
+            }
+            size.incrementAndGet();
+        }
+
+        boolean mightContain(String value) {
+            if (value == null) {
+                return false;
+            }
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // FNV-1a over the chars, finished with the murmur3 64-bit mix
+        private static long hash(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+
+        long size() {
+            return size.get();
+        }
+
+        long capacity() {
+            return capacity;
+        }
+
+        long sizeInBytes() {
+            return bits.length() * 8L;
+        }
+    }
+}
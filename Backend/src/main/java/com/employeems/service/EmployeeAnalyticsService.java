@@ -0,0 +1,185 @@
+package com.employeems.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Salary and tenure analytics per department
+ * Works on the primitive columns of EmployeeFacetIndex (kept current from change
+ * events), computes departments in parallel and caches the result per index version
+ * and day, since tenure moves with the date
+ */
+@Service
+public class EmployeeAnalyticsService {
+
+    // Tenure buckets in whole years; the last one is open-ended
+    private static final int MAX_TENURE_YEARS = 10;
+
+    // Salaries are DECIMAL(10,2), so a wider bucket holds everyone; in cents this stays far from overflow
+    public static final long MAX_BUCKET_SIZE = 100_000_000L;
+
+    @Autowired
+    private EmployeeFacetIndex facetIndex;
+
+    private volatile CachedReport cached;
+
+    public boolean isReady() {
+        return facetIndex.isReady();
+    }
+
+    // Analytics report for the current data, salary histogram buckets of the given width (1 .. MAX_BUCKET_SIZE)
+    public Map<String, Object> getReport(long bucketSize) {
+        if (bucketSize < 1 || bucketSize > MAX_BUCKET_SIZE) {
+            throw new IllegalArgumentException("bucketSize must be between 1 and " + MAX_BUCKET_SIZE);
+        }
+        long todayEpochDay = LocalDate.now().toEpochDay();
+        CachedReport current = cached;
+        if (current != null && current.version == facetIndex.version() && current.epochDay == todayEpochDay
+                && current.bucketSize == bucketSize) {
+            return current.report;
+        }
+
+        // Cached under the version the columns were copied at, so a change applied meanwhile is not hidden
+        EmployeeFacetIndex.ColumnSnapshot columns = facetIndex.activeColumns();
+        Map<String, Object> report = compute(columns, bucketSize, todayEpochDay);
+        cached = new CachedReport(columns.version(), todayEpochDay, bucketSize, report);
+        return report;
+    }
+
+    static Map<String, Object> compute(EmployeeFacetIndex.ColumnSnapshot columns, long bucketSize, long todayEpochDay) {
+        long bucketCents = bucketSize * 100;
+        int departmentCount = columns.departmentNames().length;
+
+        // Split rows by department into primitive arrays
+        int[] sizes = new int[departmentCount];
+        for (int department : columns.department()) {
+            sizes[department]++;
+        }
+        long[][] salaries = new long[departmentCount][];
+        long[][] hireDays = new long[departmentCount][];
+        int[] salaryCounts = new int[departmentCount];
+        for (int d = 0; d < departmentCount; d++) {
+            salaries[d] = new long[sizes[d]];
+            hireDays[d] = new long[sizes[d]];
+        }
+        int[] fill = new int[departmentCount];
+        for (int i = 0; i < columns.size(); i++) {
+            int d = columns.department()[i];
+            hireDays[d][fill[d]++] = columns.hireEpochDay()[i];
+            if (columns.salaryCents()[i] != EmployeeFacetIndex.ColumnSnapshot.NO_SALARY_CENTS) {
+                salaries[d][salaryCounts[d]++] = columns.salaryCents()[i];
+            }
+        }
+
+        // Departments are independent, compute them in parallel
+        List<Map<String, Object>> perDepartment = IntStream.range(0, departmentCount).parallel()
+                .filter(d -> sizes[d] > 0)
+                .mapToObj(d -> {
+                    Map<String, Object> stats = departmentStats(Arrays.copyOf(salaries[d], salaryCounts[d]),
+                            hireDays[d], bucketCents, todayEpochDay);
+                    stats.put("department", columns.departmentNames()[d]);
+                    stats.put("headcount", sizes[d]);
+                    return stats;
+                })
+                .toList();
+
+        long[] allSalaries = new long[columns.size()];
+        int allCount = 0;
+        for (long salary : columns.salaryCents()) {
+            if (salary != EmployeeFacetIndex.ColumnSnapshot.NO_SALARY_CENTS) {
+                allSalaries[allCount++] = salary;
+            }
+        }
+        Map<String, Object> overall = departmentStats(Arrays.copyOf(allSalaries, allCount),
+                columns.hireEpochDay(), bucketCents, todayEpochDay);
+        overall.put("headcount", columns.size());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("overall", overall);
+        report.put("departments", perDepartment.stream()
+                .sorted(Comparator.comparing(stats -> (String) stats.get("department"),
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList());
+        report.put("salaryBucketSize", bucketCents / 100);
+        return report;
+    }
+
+    private static Map<String, Object> departmentStats(long[] salaryCents, long[] hireDays, long bucketCents, long todayEpochDay) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+
+        Arrays.sort(salaryCents);
+        int n = salaryCents.length;
+        Map<String, Object> salary = new LinkedHashMap<>();
+        salary.put("count", n);
+        if (n > 0) {
+            long sum = 0;
+            for (long cents : salaryCents) {
+                sum += cents;
+            }
+            salary.put("min", salaryCents[0] / 100.0);
+            salary.put("max", salaryCents[n - 1] / 100.0);
+            salary.put("mean", Math.round((double) sum / n) / 100.0);
+            salary.put("median", percentile(salaryCents, 50) / 100.0);
+            salary.put("p90", percentile(salaryCents, 90) / 100.0);
+        }
+        stats.put("salary", salary);
+
+        // Histogram: bucket lower bound -> count (sorted input, so one linear pass)
+        Map<Long, Integer> histogram = new LinkedHashMap<>();
+        int i = 0;
+        while (i < n) {
+            long bucket = Math.floorDiv(salaryCents[i], bucketCents);
+            int runStart = i;
+            while (i < n && Math.floorDiv(salaryCents[i], bucketCents) == bucket) {
+                i++;
+            }
+            histogram.put(bucket * bucketCents / 100, i - runStart);
+        }
+        stats.put("salaryHistogram", histogram);
+
+        // Tenure in whole years since hire date
+        int[] tenure = new int[MAX_TENURE_YEARS + 1];
+        for (long hireDay : hireDays) {
+            if (hireDay == Long.MIN_VALUE) {
+                continue;
+            }
+            int years = (int) Math.min(Math.max((todayEpochDay - hireDay) / 365, 0), MAX_TENURE_YEARS);
+            tenure[years]++;
+        }
+        Map<String, Integer> tenureDistribution = new LinkedHashMap<>();
+        for (int years = 0; years < MAX_TENURE_YEARS; years++) {
+            tenureDistribution.put(years + "-" + (years + 1), tenure[years]);
+        }
+        tenureDistribution.put(MAX_TENURE_YEARS + "+", tenure[MAX_TENURE_YEARS]);
+        stats.put("tenureYears", tenureDistribution);
+        return stats;
+    }
+
+    // Nearest-rank percentile of a sorted array
+    private static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    private static class CachedReport {
+        private final long version;
+        private final long epochDay;
+        private final long bucketSize;
+        private final Map<String, Object> report;
+
+        CachedReport(long version, long epochDay, long bucketSize, Map<String, Object> report) {
+            this.version = version;
+            this.epochDay = epochDay;
+            this.bucketSize = bucketSize;
+            this.report = report;
+        }
+    }
+}
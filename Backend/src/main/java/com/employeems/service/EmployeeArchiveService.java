@@ -0,0 +1,129 @@
+package com.employeems.service;
+
+import com.employeems.jobs.DistributedJobScheduler;
+import com.employeems.jobs.JobContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background job that moves long soft-deleted employees into employees_archive
+ * Works in small id-ordered batches, each its own transaction, with a pause in
+ * between so the hot table is never locked for long. Candidates are picked by
+ * predicate on every run, so a restart simply continues where the table left off.
+ * Runs on one instance at a time under the "archive" job lease.
+ */
+@Service
+public class EmployeeArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeArchiveService.class);
+
+    private static final String JOB_NAME = "archive";
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DistributedJobScheduler jobScheduler;
+
+    @Value("${ems.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ems.archive.retention-days:365}")
+    private int retentionDays;
+
+    @Value("${ems.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ems.archive.pause-ms:200}")
+    private long pauseMs;
+
+    @Value("${ems.archive.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    private final AtomicLong totalArchived = new AtomicLong();
+    private final AtomicLong collisions = new AtomicLong();
+    private volatile List<Long> lastCollisionIds = List.of();
+    private volatile boolean running;
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunArchived;
+    private volatile long lastRunMillis;
+
+    // One instance per tick archives; the others find the lease held and skip
+    @Scheduled(initialDelayString = "${ems.archive.initial-delay-ms:60000}", fixedDelayString = "${ems.archive.interval-ms:3600000}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jobScheduler.runExclusive(JOB_NAME, this::archive);
+        } catch (Exception e) {
+            logger.error("Archival job failed: ", e);
+        }
+    }
+
+    private void archive(JobContext context) {
+        running = true;
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long archived = 0;
+        long lastId = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun && context.isLeaseValid(); batch++) {
+                EmployeeService.ArchiveBatch result = employeeService.archiveInactiveBefore(cutoff, lastId, batchSize);
+                int moved = result.archived().size();
+                archived += moved;
+                totalArchived.addAndGet(moved);
+                context.addItems(moved);
+                if (!result.collisions().isEmpty()) {
+                    collisions.addAndGet(result.collisions().size());
+                    lastCollisionIds = result.collisions();
+                    logger.warn("Not archiving employees {}: the archive already has rows with these ids", result.collisions());
+                }
+                // Past every scanned row, archived or not, so skipped rows don't end the run early
+                lastId = result.lastScannedId();
+                if (result.scanned() < batchSize) {
+                    break;
+                }
+                Thread.sleep(pauseMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("Archival run failed after {} employees: ", archived, e);
+            throw e;
+        } finally {
+            running = false;
+            lastRunAt = LocalDateTime.now();
+            lastRunArchived = archived;
+            lastRunMillis = System.currentTimeMillis() - start;
+        }
+        if (archived > 0) {
+            logger.info("Archived {} employees inactive since before {} in {} ms", archived, cutoff, lastRunMillis);
+        }
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("retentionDays", retentionDays);
+        metrics.put("batchSize", batchSize);
+        metrics.put("running", running);
+        metrics.put("lastRunAt", lastRunAt);
+        metrics.put("lastRunArchived", lastRunArchived);
+        metrics.put("lastRunMillis", lastRunMillis);
+        metrics.put("totalArchived", totalArchived.get());
+        metrics.put("collisions", collisions.get());
+        metrics.put("lastCollisionIds", lastCollisionIds);
+        return metrics;
+    }
+}
@@ -0,0 +1,35 @@
+package com.employeems.service;
+
+import com.employeems.event.EmployeeChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the employee data set
+ * Bumped after every committed change, used as the key for derived views and caches
+ */
+@Component
+public class EmployeeDataVersion {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    // Bump the version for changes that did not go through EmployeeService
+    public long increment() {
+        return version.incrementAndGet();
+    }
+
+    // Indexes and caches listen at @Order(0), so they are updated before the version moves
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,371 @@
+package com.employeems.service;
+
+import com.employeems.dto.FacetQuery;
+import com.employeems.entity.Employee;
+import com.employeems.event.EmployeeChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory column store for faceted employee search
+ * Every employee gets a dense row number. Department, position and status are
+ * kept as one bitset per value, hire date, salary and search text as columns.
+ * A query ANDs the bitsets, range-filters the remaining rows and counts facet
+ * values in the same pass, so results and counts never need GROUP BY queries.
+ */
+@Service
+public class EmployeeFacetIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeFacetIndex.class);
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long NO_SALARY = Long.MIN_VALUE;
+    private static final Set<String> SORT_FIELDS = Set.of("id", "hireDate", "salary");
+
+    @Autowired
+    private EmployeeScanner employeeScanner;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> rowById = new HashMap<>();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] departmentColumn = new int[INITIAL_CAPACITY];
+    private int[] positionColumn = new int[INITIAL_CAPACITY];
+    private long[] hireDateColumn = new long[INITIAL_CAPACITY];
+    private long[] salaryCentsColumn = new long[INITIAL_CAPACITY];
+    private String[] searchTextColumn = new String[INITIAL_CAPACITY];
+    private int rowCount;
+    // False once a row is appended below a higher id (changes applied while build() scans)
+    private boolean appendedInOrder = true;
+
+    private final BitSet liveRows = new BitSet();
+    private final BitSet activeRows = new BitSet();
+    private final Dictionary departments = new Dictionary();
+    private final Dictionary positions = new Dictionary();
+
+    // Moves with every applied change, under the write lock; derived results are cached against it
+    private volatile long version;
+
+    private final Map<Long, Boolean> changedDuringBuild = new java.util.concurrent.ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        employeeScanner.forEach(employee -> {
+            if (!changedDuringBuild.containsKey(employee.getId())) {
+                put(employee);
+            }
+        });
+        ready = true;
+        changedDuringBuild.clear();
+        logger.info("Facet index built: {} rows, {} departments, {} positions in {} ms",
+                rowCount, departments.size(), positions.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!ready) {
+            changedDuringBuild.put(event.getEmployeeId(), Boolean.TRUE);
+        }
+        if (event.getEmployee() != null) {
+            // Soft deletes arrive with isActive=false and just move to the inactive status
+            put(event.getEmployee());
+        } else {
+            remove(event.getEmployeeId());
+        }
+    }
+
+    // Unsupported sortBy values throw IllegalArgumentException
+    public Result search(FacetQuery query) {
+        if (query.getSortBy() != null && !SORT_FIELDS.contains(query.getSortBy())) {
+            throw new IllegalArgumentException("sortBy must be id, hireDate or salary");
+        }
+        lock.readLock().lock();
+        try {
+            BitSet rows = (BitSet) (switch (query.getStatusFilter()) {
+                case ACTIVE -> activeRows;
+                case INACTIVE -> inactiveRows();
+                case ALL -> liveRows;
+            }).clone();
+
+            if (query.getDepartment() != null && !query.getDepartment().isEmpty()) {
+                rows.and(departments.union(query.getDepartment()));
+            }
+            if (query.getPosition() != null && !query.getPosition().isEmpty()) {
+                rows.and(positions.union(query.getPosition()));
+            }
+
+            long hiredFrom = query.getHiredFrom() == null ? Long.MIN_VALUE : query.getHiredFrom().toEpochDay();
+            long hiredTo = query.getHiredTo() == null ? Long.MAX_VALUE : query.getHiredTo().toEpochDay();
+            long minSalary = query.getMinSalary() == null ? Long.MIN_VALUE : toCents(query.getMinSalary());
+            long maxSalary = query.getMaxSalary() == null ? Long.MAX_VALUE : toCents(query.getMaxSalary());
+            boolean salaryFilter = query.getMinSalary() != null || query.getMaxSalary() != null;
+            String text = query.getSearch() == null || query.getSearch().isBlank()
+                    ? null : query.getSearch().trim().toLowerCase(Locale.ROOT);
+
+            // One pass over the candidate rows: range and text filters, then facet counts
+            int[] departmentCounts = new int[departments.size()];
+            int[] positionCounts = new int[positions.size()];
+            int[] matches = new int[rows.cardinality()];
+            int matchCount = 0;
+            for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (hireDateColumn[row] < hiredFrom || hireDateColumn[row] > hiredTo) {
+                    continue;
+                }
+                if (salaryFilter && (salaryCentsColumn[row] == NO_SALARY
+                        || salaryCentsColumn[row] < minSalary || salaryCentsColumn[row] > maxSalary)) {
+                    continue;
+                }
+                if (text != null && !searchTextColumn[row].contains(text)) {
+                    continue;
+                }
+                matches[matchCount++] = row;
+                departmentCounts[departmentColumn[row]]++;
+                positionCounts[positionColumn[row]]++;
+            }
+
+            return new Result(page(matches, matchCount, query), matchCount,
+                    departments.counts(departmentCounts), positions.counts(positionCounts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Sort the matching rows if needed and return the ids of the requested page
+    private List<Long> page(int[] matches, int matchCount, FacetQuery query) {
+        Integer[] order = null;
+        String sortBy = query.getSortBy() == null ? "id" : query.getSortBy();
+        boolean descending = "desc".equalsIgnoreCase(query.getSortDirection());
+
+        // Rows in id order already need no sort for ascending id
+        if (!"id".equals(sortBy) || descending || !appendedInOrder) {
+            long[] key = switch (sortBy) {
+                case "hireDate" -> hireDateColumn;
+                case "salary" -> salaryCentsColumn;
+                default -> ids;
+            };
+            order = new Integer[matchCount];
+            for (int i = 0; i < matchCount; i++) {
+                order[i] = matches[i];
+            }
+            Arrays.sort(order, (a, b) -> {
+                int compare = Long.compare(key[a], key[b]);
+                if (compare == 0) {
+                    compare = Long.compare(ids[a], ids[b]);
+                }
+                return descending ? -compare : compare;
+            });
+        }
+
+        // In long, a large page number times the size overflows int
+        long from = (long) Math.max(query.getPage(), 0) * query.getSize();
+        if (from >= matchCount || query.getSize() <= 0) {
+            return List.of();
+        }
+        int to = (int) Math.min(from + query.getSize(), matchCount);
+        List<Long> pageIds = new ArrayList<>(to - (int) from);
+        for (int i = (int) from; i < to; i++) {
+            pageIds.add(ids[order == null ? matches[i] : order[i]]);
+        }
+        return pageIds;
+    }
+
+    // Copy of the department, salary and hire date columns for active employees
+    public ColumnSnapshot activeColumns() {
+        lock.readLock().lock();
+        try {
+            int count = activeRows.cardinality();
+            int[] department = new int[count];
+            long[] salaryCents = new long[count];
+            long[] hireEpochDay = new long[count];
+            int i = 0;
+            for (int row = activeRows.nextSetBit(0); row >= 0; row = activeRows.nextSetBit(row + 1)) {
+                department[i] = departmentColumn[row];
+                salaryCents[i] = salaryCentsColumn[row];
+                hireEpochDay[i] = hireDateColumn[row];
+                i++;
+            }
+            return new ColumnSnapshot(version, departments.values.toArray(new String[0]), department, salaryCents, hireEpochDay);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet inactiveRows() {
+        BitSet inactive = (BitSet) liveRows.clone();
+        inactive.andNot(activeRows);
+        return inactive;
+    }
+
+    private void put(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = rowById.get(employee.getId());
+            int row;
+            if (existing != null) {
+                row = existing;
+                departments.bits(departmentColumn[row]).clear(row);
+                positions.bits(positionColumn[row]).clear(row);
+            } else {
+                row = rowCount++;
+                ensureCapacity(rowCount);
+                if (row > 0 && employee.getId() < ids[row - 1]) {
+                    appendedInOrder = false;
+                }
+                rowById.put(employee.getId(), row);
+                ids[row] = employee.getId();
+            }
+
+            departmentColumn[row] = departments.ordinal(employee.getDepartment());
+            positionColumn[row] = positions.ordinal(employee.getPosition());
+            departments.bits(departmentColumn[row]).set(row);
+            positions.bits(positionColumn[row]).set(row);
+            hireDateColumn[row] = employee.getHireDate() == null ? Long.MIN_VALUE : employee.getHireDate().toEpochDay();
+            salaryCentsColumn[row] = employee.getSalary() == null ? NO_SALARY : toCents(employee.getSalary());
+            searchTextColumn[row] = (employee.getFirstName() + " " + employee.getLastName() + " " + employee.getEmail()
+                    + " " + employee.getDepartment() + " " + employee.getPosition()).toLowerCase(Locale.ROOT);
+            liveRows.set(row);
+            activeRows.set(row, Boolean.TRUE.equals(employee.getIsActive()));
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Hard delete: the row stays allocated but drops out of every bitset
+    private void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowById.remove(id);
+            if (row != null) {
+                liveRows.clear(row);
+                activeRows.clear(row);
+                departments.bits(departmentColumn[row]).clear(row);
+                positions.bits(positionColumn[row]).clear(row);
+                version++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newLength);
+        departmentColumn = Arrays.copyOf(departmentColumn, newLength);
+        positionColumn = Arrays.copyOf(positionColumn, newLength);
+        hireDateColumn = Arrays.copyOf(hireDateColumn, newLength);
+        salaryCentsColumn = Arrays.copyOf(salaryCentsColumn, newLength);
+        searchTextColumn = Arrays.copyOf(searchTextColumn, newLength);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValue();
+    }
+
+    /**
+     * Distinct values of one facet, each with the bitset of rows holding it
+     * Values are matched like the utf8mb4_unicode_ci columns (see DepartmentService.key) and
+     * reported under the first spelling seen.
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+        private final List<BitSet> bits = new ArrayList<>();
+
+        int ordinal(String value) {
+            String name = value == null ? "" : value;
+            return ordinals.computeIfAbsent(DepartmentService.key(name), k -> {
+                values.add(name);
+                bits.add(new BitSet());
+                return values.size() - 1;
+            });
+        }
+
+        BitSet bits(int ordinal) {
+            return bits.get(ordinal);
+        }
+
+        BitSet union(List<String> selected) {
+            BitSet union = new BitSet();
+            for (String value : selected) {
+                Integer ordinal = value == null ? null : ordinals.get(DepartmentService.key(value));
+                if (ordinal != null) {
+                    union.or(bits.get(ordinal));
+                }
+            }
+            return union;
+        }
+
+        // Non-zero counts, largest first
+        Map<String, Integer> counts(int[] counts) {
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    order.add(i);
+                }
+            }
+            order.sort((a, b) -> counts[b] != counts[a] ? Integer.compare(counts[b], counts[a]) : values.get(a).compareTo(values.get(b)));
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (int i : order) {
+                result.put(values.get(i), counts[i]);
+            }
+            return result;
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+
+    /**
+     * Primitive columns of active employees at an index version; salary is NO_SALARY_CENTS when not set
+     */
+    public record ColumnSnapshot(long version, String[] departmentNames, int[] department, long[] salaryCents, long[] hireEpochDay) {
+        public static final long NO_SALARY_CENTS = NO_SALARY;
+
+        public int size() {
+            return department.length;
+        }
+    }
+
+    /**
+     * One page of matching employee ids plus facet counts over the whole result set
+     */
+    public record Result(List<Long> ids, int totalItems, Map<String, Integer> departmentCounts,
+                         Map<String, Integer> positionCounts) {
+    }
+}
@@ -0,0 +1,298 @@
+package com.employeems.service;
+
+import com.employeems.entity.Employee;
+import com.employeems.event.EmployeeChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Typo-tolerant search over active employees (SymSpell-style deletion index)
+ * Every distinct term is stored with all variants obtained by deleting up to
+ * MAX_EDITS characters from its prefix. A query word looks up its own deletes,
+ * and the candidates are verified with a bounded Damerau-Levenshtein distance.
+ * Results are ranked by relevance and served from memory without database access.
+ */
+@Service
+public class EmployeeFuzzyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeFuzzyIndex.class);
+
+    static final int MAX_EDITS = 2;
+
+    // Deletes are generated on this many leading characters only (bounds index size)
+    static final int PREFIX_LENGTH = 7;
+
+    public enum Field {
+        FIRST_NAME(3), LAST_NAME(3), EMAIL(2), POSITION(1), DEPARTMENT(1);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    @Autowired
+    private EmployeeScanner employeeScanner;
+
+    // term -> (employee id -> best field)
+    private final Map<String, Map<Long, Field>> postings = new ConcurrentHashMap<>();
+    // delete variant -> terms that produce it
+    private final Map<String, Set<String>> deletes = new ConcurrentHashMap<>();
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private final Map<Long, Boolean> changedDuringBuild = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        employeeScanner.forEachActive(employee -> {
+            if (!changedDuringBuild.containsKey(employee.getId())) {
+                index(employee);
+            }
+        });
+        ready = true;
+        changedDuringBuild.clear();
+        logger.info("Fuzzy index built: {} employees, {} terms, {} deletes in {} ms",
+                documents.size(), postings.size(), deletes.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!ready) {
+            changedDuringBuild.put(event.getEmployeeId(), Boolean.TRUE);
+        }
+        Employee employee = event.getEmployee();
+        if (event.getType() == EmployeeChangedEvent.Type.DELETED || employee == null
+                || !Boolean.TRUE.equals(employee.getIsActive())) {
+            remove(event.getEmployeeId());
+        } else {
+            index(employee);
+        }
+    }
+
+    // Search for employees matching the query words within the allowed edit distance
+    public List<Match> search(String query, int limit) {
+        Map<Long, double[]> scores = new HashMap<>();
+        String[] words = tokenize(query);
+
+        for (int w = 0; w < words.length; w++) {
+            String word = words[w];
+            int maxEdits = maxEdits(word);
+            for (Map.Entry<String, Integer> candidate : candidates(word, maxEdits).entrySet()) {
+                Map<Long, Field> termPostings = postings.get(candidate.getKey());
+                if (termPostings == null) {
+                    continue;
+                }
+                double similarity = 1.0 - candidate.getValue() / (double) (Math.max(word.length(), candidate.getKey().length()) + 1);
+                for (Map.Entry<Long, Field> posting : termPostings.entrySet()) {
+                    // Per employee: best match for each query word, summed over words
+                    double[] perWord = scores.computeIfAbsent(posting.getKey(), id -> new double[words.length]);
+                    perWord[w] = Math.max(perWord[w], posting.getValue().weight * similarity);
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(scores.size());
+        scores.forEach((id, perWord) -> {
+            Document document = documents.get(id);
+            if (document != null) {
+                double total = 0;
+                int matchedWords = 0;
+                for (double score : perWord) {
+                    total += score;
+                    if (score > 0) {
+                        matchedWords++;
+                    }
+                }
+                matches.add(new Match(id, document.fullName, document.email, document.department,
+                        document.position, matchedWords, Math.round(total * 1000) / 1000.0));
+            }
+        });
+        matches.sort(Comparator.comparingInt(Match::matchedWords).reversed()
+                .thenComparing(Comparator.comparingDouble(Match::score).reversed())
+                .thenComparing(Match::id));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    // Terms within maxEdits of the word, with their distance
+    private Map<String, Integer> candidates(String word, int maxEdits) {
+        Map<String, Integer> result = new HashMap<>();
+        for (String variant : deleteVariants(word, maxEdits)) {
+            Set<String> terms = deletes.get(variant);
+            if (terms == null) {
+                continue;
+            }
+            for (String term : terms) {
+                if (!result.containsKey(term) && Math.abs(term.length() - word.length()) <= maxEdits) {
+                    int distance = distance(word, term, maxEdits);
+                    if (distance <= maxEdits) {
+                        result.put(term, distance);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public synchronized void index(Employee employee) {
+        remove(employee.getId());
+
+        Map<String, Field> terms = new HashMap<>();
+        addTerms(terms, Field.FIRST_NAME, employee.getFirstName());
+        addTerms(terms, Field.LAST_NAME, employee.getLastName());
+        String email = employee.getEmail();
+        addTerms(terms, Field.EMAIL, email != null && email.contains("@") ? email.substring(0, email.indexOf('@')) : email);
+        addTerms(terms, Field.POSITION, employee.getPosition());
+        addTerms(terms, Field.DEPARTMENT, employee.getDepartment());
+
+        documents.put(employee.getId(), new Document(employee.getFullName(), employee.getEmail(),
+                employee.getDepartment(), employee.getPosition(), terms.keySet()));
+        terms.forEach((term, field) -> {
+            Map<Long, Field> termPostings = postings.computeIfAbsent(term, key -> {
+                for (String variant : deleteVariants(term, MAX_EDITS)) {
+                    deletes.computeIfAbsent(variant, v -> ConcurrentHashMap.newKeySet()).add(term);
+                }
+                return new ConcurrentHashMap<>();
+            });
+            termPostings.put(employee.getId(), field);
+        });
+    }
+
+    private synchronized void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms) {
+            Map<Long, Field> termPostings = postings.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+            termPostings.remove(id);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+                for (String variant : deleteVariants(term, MAX_EDITS)) {
+                    Set<String> terms = deletes.get(variant);
+                    if (terms != null) {
+                        terms.remove(term);
+                        if (terms.isEmpty()) {
+                            deletes.remove(variant);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Field> target, Field field, String value) {
+        for (String term : tokenize(value)) {
+            target.merge(term, field, (a, b) -> a.weight >= b.weight ? a : b);
+        }
+    }
+
+    // Letters only: digits (e.g. in "john.doe2@...") make terms unique without helping typo matching
+    static String[] tokenize(String value) {
+        if (value == null || value.isBlank()) {
+            return new String[0];
+        }
+        return Arrays.stream(value.toLowerCase(Locale.ROOT).split("[^\\p{L}]+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    // Short words tolerate fewer typos
+    static int maxEdits(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : MAX_EDITS;
+    }
+
+    // The word's prefix and every string reachable by deleting up to maxEdits characters from it
+    static Set<String> deleteVariants(String word, int maxEdits) {
+        String prefix = word.length() > PREFIX_LENGTH ? word.substring(0, PREFIX_LENGTH) : word;
+        Set<String> variants = new HashSet<>();
+        variants.add(prefix);
+        addDeletes(prefix, maxEdits, variants);
+        return variants;
+    }
+
+    private static void addDeletes(String word, int remaining, Set<String> variants) {
+        if (remaining == 0 || word.length() <= 1) {
+            return;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            String deleted = word.substring(0, i) + word.substring(i + 1);
+            if (variants.add(deleted)) {
+                addDeletes(deleted, remaining - 1, variants);
+            }
+        }
+    }
+
+    // Optimal string alignment distance, stops early once it exceeds max
+    static int distance(String a, String b, int max) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous2;
+            previous2 = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    public record Match(Long id, String fullName, String email, String department, String position,
+                        int matchedWords, double score) {
+    }
+
+    private record Document(String fullName, String email, String department, String position, Set<String> terms) {
+    }
+}
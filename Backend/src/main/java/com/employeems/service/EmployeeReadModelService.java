@@ -0,0 +1,508 @@
+package com.employeems.service;
+
+import com.employeems.entity.Employee;
+import com.employeems.entity.EmployeeReadModel;
+import com.employeems.event.EmployeeChangedEvent;
+import com.employeems.jobs.DistributedJobScheduler;
+import com.employeems.repository.EmployeeReadModelRepository;
+import com.employeems.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Read side of the employee model: keeps employee_read_model in step with the employees table
+ * Committed changes only enqueue the employee id. A background drain reloads the current
+ * rows in batches and upserts them, so writers never wait on the projection and several
+ * changes to one employee collapse into one upsert. Reads are routed here
+ * (ems.read-model.serve-reads) only while the model is built and no change has been
+ * pending for longer than ems.read-model.max-lag-ms; otherwise EmployeeService reads
+ * the employees table. Pending means queued here or, with the database invalidation
+ * transport, logged in employee_change_log after the row's synced_at: that covers
+ * changes made on other instances and queues lost when an instance stopped, which
+ * are projected here once they are older than the max lag.
+ */
+@Service
+public class EmployeeReadModelService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeReadModelService.class);
+
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private static final String UPSERT_PREFIX = "INSERT INTO employee_read_model (id, first_name, last_name, full_name, "
+            + "email, department, department_ordinal, position, hire_date, salary, is_active, manager_id, search_key, "
+            + "created_at, updated_at, synced_at) VALUES ";
+    // synced_at from the database clock, like employee_change_log.changed_at
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(3))";
+    private static final String UPSERT_SUFFIX = " ON DUPLICATE KEY UPDATE first_name = VALUES(first_name), "
+            + "last_name = VALUES(last_name), full_name = VALUES(full_name), email = VALUES(email), "
+            + "department = VALUES(department), department_ordinal = VALUES(department_ordinal), "
+            + "position = VALUES(position), hire_date = VALUES(hire_date), salary = VALUES(salary), "
+            + "is_active = VALUES(is_active), manager_id = VALUES(manager_id), search_key = VALUES(search_key), created_at = VALUES(created_at), "
+            + "updated_at = VALUES(updated_at), synced_at = VALUES(synced_at)";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeReadModelRepository readModelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DistributedJobScheduler jobScheduler;
+
+    @Value("${ems.read-model.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ems.read-model.serve-reads:false}")
+    private boolean serveReads;
+
+    @Value("${ems.read-model.max-lag-ms:2000}")
+    private long maxLagMs;
+
+    @Value("${ems.read-model.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ems.read-model.lag-check-window-seconds:300}")
+    private int lagCheckWindowSeconds;
+
+    @Value("${ems.invalidation.transport:database}")
+    private String invalidationTransport;
+
+    // Oldest change first; ids already waiting are not queued twice
+    private final ConcurrentLinkedDeque<PendingChange> pending = new ConcurrentLinkedDeque<>();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Integer> departmentOrdinals = new ConcurrentHashMap<>();
+    private final Map<Integer, String> departmentNames = new ConcurrentHashMap<>();
+
+    // Held by the rebuild for its whole run and by each drain, so the two never interleave upserts
+    private final ReentrantLock projectionLock = new ReentrantLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile boolean ready;
+
+    // From the last change-log check; MAX_VALUE until one succeeds, so reads wait for it
+    private volatile long sharedLagMillis = Long.MAX_VALUE;
+    private volatile long lastLagCheckMillis;
+    private final AtomicLong lagCheckFailures = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong applyFailures = new AtomicLong();
+    private final AtomicLong lagSamples = new AtomicLong();
+    private final AtomicLong lagSumMillis = new AtomicLong();
+    private final AtomicLong maxApplyLagMillis = new AtomicLong();
+    private volatile long lastApplyLagMillis;
+    private volatile LocalDateTime lastRebuildAt;
+    private volatile long lastRebuildRows;
+    private volatile long lastRebuildOrphans;
+    private volatile long lastRebuildMillis;
+
+    // Rebuilt at startup when ids differ (first start, bulk loads and reseeds that bypass events); equal
+    // counts are not enough, a truncate and reseed of the same size leaves every id stale
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // One instance at a time, so only the first one to start rebuilds
+            jobScheduler.runSerialized("read-model-verify", context -> {
+                loadDepartmentOrdinals();
+                long missing = readModelRepository.countMissing();
+                long orphans = readModelRepository.countOrphans();
+                if (missing > 0 || orphans > 0) {
+                    logger.info("Read model is missing {} employees and has {} rows of deleted ones, rebuilding", missing, orphans);
+                    runRebuild();
+                    context.addItems(lastRebuildRows);
+                } else {
+                    ready = true;
+                    logger.info("Read model ready: {} rows", readModelRepository.count());
+                }
+            });
+        } catch (Exception e) {
+            logger.error("Read model startup check failed: ", e);
+        }
+    }
+
+    // The writing instance projects its own changes; remote copies would repeat the same upsert
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!enabled || event.isRemote()) {
+            return;
+        }
+        if (queued.add(event.getEmployeeId())) {
+            pending.addLast(new PendingChange(event.getEmployeeId(), System.currentTimeMillis()));
+        }
+    }
+
+    // Drain the queue in batches: reload current rows, upsert them, remove rows of deleted employees
+    @Scheduled(fixedDelayString = "${ems.read-model.apply-interval-ms:200}")
+    public void applyPending() {
+        if (!enabled || !projectionLock.tryLock()) {
+            return;
+        }
+        try {
+            List<PendingChange> batch = new ArrayList<>(batchSize);
+            while (true) {
+                batch.clear();
+                PendingChange change;
+                while (batch.size() < batchSize && (change = pending.pollFirst()) != null) {
+                    // Removed before the reload, so a change committed meanwhile queues the id again
+                    queued.remove(change.employeeId());
+                    batch.add(change);
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                List<Long> ids = batch.stream().map(PendingChange::employeeId).toList();
+                try {
+                    transactionTemplate().executeWithoutResult(status -> project(ids));
+                } catch (Exception e) {
+                    applyFailures.incrementAndGet();
+                    logger.error("Failed to project {} employee changes, will retry: ", ids.size(), e);
+                    // Back at the head with their original times, so the lag keeps growing
+                    for (int i = batch.size() - 1; i >= 0; i--) {
+                        if (queued.add(batch.get(i).employeeId())) {
+                            pending.addFirst(batch.get(i));
+                        }
+                    }
+                    return;
+                }
+                long now = System.currentTimeMillis();
+                for (PendingChange projected : batch) {
+                    long lag = Math.max(0, now - projected.enqueuedAtMillis());
+                    lagSamples.incrementAndGet();
+                    lagSumMillis.addAndGet(lag);
+                    maxApplyLagMillis.accumulateAndGet(lag, Math::max);
+                    lastApplyLagMillis = lag;
+                }
+                applied.addAndGet(batch.size());
+            }
+        } finally {
+            projectionLock.unlock();
+        }
+    }
+
+    // Lag as the whole cluster sees it; changes pending longer than the max lag were lost or are
+    // stuck on their instance and are queued here, an upsert done twice is harmless
+    @Scheduled(fixedDelayString = "${ems.read-model.lag-check-interval-ms:1000}")
+    public void checkSharedLag() {
+        if (!enabled || !isChangeLogShared()) {
+            return;
+        }
+        try {
+            List<Object[]> rows = readModelRepository.findUnprojectedChanges(lagCheckWindowSeconds, batchSize);
+            long now = System.currentTimeMillis();
+            long oldest = 0;
+            for (Object[] row : rows) {
+                long employeeId = ((Number) row[0]).longValue();
+                long ageMillis = ((Number) row[1]).longValue() / 1000;
+                oldest = Math.max(oldest, ageMillis);
+                if (ageMillis > maxLagMs && queued.add(employeeId)) {
+                    pending.addLast(new PendingChange(employeeId, now - ageMillis));
+                    recovered.incrementAndGet();
+                }
+            }
+            sharedLagMillis = oldest;
+            lastLagCheckMillis = now;
+        } catch (Exception e) {
+            lagCheckFailures.incrementAndGet();
+            sharedLagMillis = Long.MAX_VALUE;
+            logger.warn("Read model lag check failed: {}", e.getMessage());
+        }
+    }
+
+    // Only the database transport writes employee_change_log
+    private boolean isChangeLogShared() {
+        return "database".equals(invalidationTransport);
+    }
+
+    // Rebuild the whole read model from the employees table in the background
+    @Async
+    public void rebuild() {
+        if (enabled) {
+            runRebuild();
+        }
+    }
+
+    private void runRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        projectionLock.lock();
+        long start = System.currentTimeMillis();
+        long rows = 0;
+        try {
+            loadDepartmentOrdinals();
+            long lastId = 0;
+            List<Employee> chunk;
+            do {
+                long afterId = lastId;
+                chunk = transactionTemplate().execute(status -> {
+                    List<Employee> employees = employeeRepository.findByIdGreaterThanOrderByIdAsc(afterId,
+                            PageRequest.of(0, REBUILD_CHUNK_SIZE));
+                    upsert(employees);
+                    return employees;
+                });
+                if (!chunk.isEmpty()) {
+                    lastId = chunk.get(chunk.size() - 1).getId();
+                }
+                rows += chunk.size();
+            } while (chunk.size() == REBUILD_CHUNK_SIZE);
+            Integer orphans = transactionTemplate().execute(status -> readModelRepository.deleteOrphans());
+
+            ready = true;
+            lastRebuildAt = LocalDateTime.now();
+            lastRebuildRows = rows;
+            lastRebuildOrphans = orphans == null ? 0 : orphans;
+            lastRebuildMillis = System.currentTimeMillis() - start;
+            logger.info("Read model rebuilt: {} rows, {} orphans removed in {} ms", rows, lastRebuildOrphans, lastRebuildMillis);
+        } catch (Exception e) {
+            logger.error("Read model rebuild failed after {} rows: ", rows, e);
+        } finally {
+            projectionLock.unlock();
+            rebuilding.set(false);
+        }
+    }
+
+    private void project(Collection<Long> ids) {
+        List<Employee> employees = employeeRepository.findAllById(ids);
+        upsert(employees);
+        Set<Long> found = employees.stream().map(Employee::getId).collect(Collectors.toCollection(HashSet::new));
+        List<Long> missing = ids.stream().filter(id -> !found.contains(id)).distinct().toList();
+        if (!missing.isEmpty()) {
+            readModelRepository.deleteByIds(missing);
+        }
+    }
+
+    // One multi-row INSERT ... ON DUPLICATE KEY UPDATE per batch
+    private void upsert(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>(employees.size() * 15);
+        for (Employee employee : employees) {
+            args.add(employee.getId());
+            args.add(employee.getFirstName());
+            args.add(employee.getLastName());
+            args.add(employee.getFullName());
+            args.add(employee.getEmail());
+            args.add(employee.getDepartment());
+            args.add(departmentOrdinal(employee.getDepartment()));
+            args.add(employee.getPosition());
+            args.add(Date.valueOf(employee.getHireDate()));
+            args.add(employee.getSalary());
+            args.add(employee.getIsActive());
+            args.add(employee.getManagerId());
+            args.add(EmployeeReadModel.searchKey(employee));
+            args.add(timestamp(employee.getCreatedAt()));
+            args.add(timestamp(employee.getUpdatedAt()));
+        }
+        StringBuilder sql = new StringBuilder(UPSERT_PREFIX);
+        for (int i = 0; i < employees.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(ROW_PLACEHOLDERS);
+        }
+        jdbcTemplate.update(sql.append(UPSERT_SUFFIX).toString(), args.toArray());
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value == null ? null : Timestamp.valueOf(value);
+    }
+
+    // Ordinals are shared through read_model_departments and never reused; new names are
+    // committed on their own so a rolled-back projection can't leave a cached ordinal behind
+    private int departmentOrdinal(String department) {
+        Integer ordinal = departmentOrdinals.get(DepartmentService.key(department));
+        if (ordinal != null) {
+            return ordinal;
+        }
+        TransactionTemplate requiresNew = transactionTemplate();
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        ordinal = requiresNew.execute(status -> {
+            jdbcTemplate.update("INSERT IGNORE INTO read_model_departments (name) VALUES (?)", department);
+            return jdbcTemplate.queryForObject("SELECT ordinal FROM read_model_departments WHERE name = ?",
+                    Integer.class, department);
+        });
+        departmentOrdinals.put(DepartmentService.key(department), ordinal);
+        departmentNames.putIfAbsent(ordinal, department);
+        return ordinal;
+    }
+
+    private void loadDepartmentOrdinals() {
+        for (Object[] row : readModelRepository.findDepartmentOrdinals()) {
+            int ordinal = ((Number) row[0]).intValue();
+            departmentOrdinals.put(DepartmentService.key((String) row[1]), ordinal);
+            departmentNames.putIfAbsent(ordinal, (String) row[1]);
+        }
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    // Age of the oldest change not yet projected, queued here or seen in the change log
+    public long getLagMillis() {
+        PendingChange oldest = pending.peekFirst();
+        long localLag = oldest == null ? 0 : Math.max(0, System.currentTimeMillis() - oldest.enqueuedAtMillis());
+        return isChangeLogShared() ? Math.max(localLag, sharedLagMillis) : localLag;
+    }
+
+    // Whether EmployeeService should read from here right now
+    public boolean canServeReads() {
+        return serveReads && enabled && ready && !rebuilding.get() && getLagMillis() <= maxLagMs;
+    }
+
+    // Reads, returned as detached Employee objects
+
+    public List<Employee> findAllActive() {
+        return readModelRepository.findByIsActiveTrue().stream().map(EmployeeReadModel::toEmployee).toList();
+    }
+
+    public Page<Employee> findActive(Pageable pageable) {
+        return readModelRepository.findByIsActiveTrue(pageable).map(EmployeeReadModel::toEmployee);
+    }
+
+    public Optional<Employee> findById(Long id) {
+        return readModelRepository.findById(id).map(EmployeeReadModel::toEmployee);
+    }
+
+    public Page<Employee> search(String searchTerm, Pageable pageable) {
+        return readModelRepository.searchActive(searchTerm.toLowerCase(Locale.ROOT), pageable).map(EmployeeReadModel::toEmployee);
+    }
+
+    public Page<Employee> findActiveByDepartment(String department, Pageable pageable) {
+        Integer ordinal = lookupOrdinal(department);
+        if (ordinal == null) {
+            return Page.empty(pageable);
+        }
+        return readModelRepository.findByDepartmentOrdinalAndIsActiveTrue(ordinal, pageable).map(EmployeeReadModel::toEmployee);
+    }
+
+    // In the order of the given ids
+    public List<Employee> findByIds(List<Long> ids) {
+        Map<Long, Employee> byId = readModelRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(EmployeeReadModel::getId, EmployeeReadModel::toEmployee));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    public long countActive() {
+        return readModelRepository.countByIsActiveTrue();
+    }
+
+    // Active headcount per department name
+    public Map<String, Long> countActiveByDepartment() {
+        List<Object[]> rows = readModelRepository.countActiveByDepartmentOrdinal();
+        if (rows.stream().anyMatch(row -> !departmentNames.containsKey(((Number) row[0]).intValue()))) {
+            loadDepartmentOrdinals();
+        }
+        return rows.stream().collect(Collectors.toMap(
+                row -> departmentNames.getOrDefault(((Number) row[0]).intValue(), "#" + row[0]),
+                row -> ((Number) row[1]).longValue(),
+                Long::sum));
+    }
+
+    public List<String> findActiveDepartments() {
+        return countActiveByDepartment().keySet().stream().sorted(String.CASE_INSENSITIVE_ORDER).toList();
+    }
+
+    // Unknown names are looked up once more, another instance may have added them
+    private Integer lookupOrdinal(String department) {
+        String key = DepartmentService.key(department);
+        Integer ordinal = departmentOrdinals.get(key);
+        if (ordinal == null) {
+            loadDepartmentOrdinals();
+            ordinal = departmentOrdinals.get(key);
+        }
+        return ordinal;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("ready", ready);
+        metrics.put("rebuilding", rebuilding.get());
+        metrics.put("serveReads", serveReads);
+        metrics.put("servingReads", canServeReads());
+        metrics.put("pending", queued.size());
+        metrics.put("lagMillis", getLagMillis() == Long.MAX_VALUE ? null : getLagMillis());
+        if (isChangeLogShared()) {
+            Map<String, Object> lagCheck = new LinkedHashMap<>();
+            lagCheck.put("sharedLagMillis", sharedLagMillis == Long.MAX_VALUE ? null : sharedLagMillis);
+            lagCheck.put("lastCheckAgeMillis", lastLagCheckMillis == 0 ? null : System.currentTimeMillis() - lastLagCheckMillis);
+            lagCheck.put("failures", lagCheckFailures.get());
+            lagCheck.put("recovered", recovered.get());
+            metrics.put("lagCheck", lagCheck);
+        }
+        metrics.put("maxLagMillis", maxLagMs);
+        metrics.put("applied", applied.get());
+        metrics.put("applyFailures", applyFailures.get());
+        // Commit of a change to its upsert into the read model
+        Map<String, Object> applyLag = new LinkedHashMap<>();
+        applyLag.put("lastMillis", lastApplyLagMillis);
+        applyLag.put("maxMillis", maxApplyLagMillis.get());
+        applyLag.put("meanMillis", lagSamples.get() == 0 ? 0 : lagSumMillis.get() / lagSamples.get());
+        metrics.put("applyLag", applyLag);
+        metrics.put("departments", departmentNames.size());
+        if (lastRebuildAt != null) {
+            Map<String, Object> lastRebuild = new LinkedHashMap<>();
+            lastRebuild.put("at", lastRebuildAt.toString());
+            lastRebuild.put("rows", lastRebuildRows);
+            lastRebuild.put("orphansRemoved", lastRebuildOrphans);
+            lastRebuild.put("millis", lastRebuildMillis);
+            metrics.put("lastRebuild", lastRebuild);
+        }
+        return metrics;
+    }
+
+    private record PendingChange(Long employeeId, long enqueuedAtMillis) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.employeems.service;
+
+import com.employeems.entity.Employee;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Walks all active employees in id order, one short transaction per chunk
+ * Used to build in-memory indexes without holding a connection or a growing
+ * persistence context for the whole table
+ */
+@Component
+public class EmployeeScanner {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    // Returns the number of employees visited
+    public long forEachActive(Consumer<Employee> consumer) {
+        return scan(false, consumer);
+    }
+
+    // Includes soft-deleted employees
+    public long forEach(Consumer<Employee> consumer) {
+        return scan(true, consumer);
+    }
+
+    private long scan(boolean includeInactive, Consumer<Employee> consumer) {
+        long count = 0;
+        long lastId = 0;
+        List<Employee> chunk;
+        do {
+            chunk = includeInactive
+                    ? employeeService.getEmployeesAfter(lastId, DEFAULT_CHUNK_SIZE)
+                    : employeeService.getActiveEmployeesAfter(lastId, null, DEFAULT_CHUNK_SIZE);
+            for (Employee employee : chunk) {
+                consumer.accept(employee);
+                lastId = employee.getId();
+            }
+            count += chunk.size();
+        } while (!chunk.isEmpty());
+        return count;
+    }
+}
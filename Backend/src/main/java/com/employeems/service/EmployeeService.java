@@ -1,17 +1,27 @@
 package com.employeems.service;
 
+import com.employeems.entity.ArchivedEmployee;
 import com.employeems.entity.Employee;
+import com.employeems.event.EmployeeChangedEvent;
+import com.employeems.repository.ArchivedEmployeeRepository;
 import com.employeems.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,27 +32,72 @@ public class EmployeeService {
     @Autowired
     private EmployeeRepository employeeRepository;
     
+    @Autowired
+    private ArchivedEmployeeRepository archivedEmployeeRepository;
+    
+    @Autowired
+    private EmailUniquenessIndex emailIndex;
+    
+    @Autowired
+    private EmployeeReadModelService readModel;
+    
+    @Autowired
+    private OrgHierarchyService orgHierarchy;
+
+    @Autowired
+    private LeaveService leaveService;
+    
+    @Autowired
+    private ReadCoalescer readCoalescer;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${ems.pagination.max-size:100}")
+    private int maxPageSize;
+    
     // Get all active employees
     public List<Employee> getAllActiveEmployees() {
+        if (readModel.canServeReads()) {
+            return readModel.findAllActive();
+        }
         return employeeRepository.findByIsActiveTrue();
     }
     
     // Get employees with pagination
     public Page<Employee> getActiveEmployees(int page, int size, String sortBy, String sortDirection) {
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
-        return employeeRepository.findByIsActiveTrue(pageable);
+        if (readModel.canServeReads()) {
+            return readModel.findActive(pageRequest(page, size, sortBy, sortDirection));
+        }
+        return employeeRepository.findByIsActiveTrue(pageRequest(page, size, sortBy, sortDirection));
     }
     
     // Get employee by ID
     public Optional<Employee> getEmployeeById(Long id) {
+        if (readModel.canServeReads()) {
+            return readModel.findById(id);
+        }
         return employeeRepository.findById(id);
     }
     
     // Save employee
     public Employee saveEmployee(Employee employee) {
+        employee.setEmail(EmailUniquenessIndex.normalize(employee.getEmail()));
         validateEmployee(employee);
-        return employeeRepository.save(employee);
+        boolean isNew = employee.getId() == null;
+        Long previousManagerId = isNew ? null : employeeRepository.findManagerIdById(employee.getId());
+        boolean managerChanged = !Objects.equals(previousManagerId, employee.getManagerId());
+        if (managerChanged) {
+            orgHierarchy.validateManager(isNew ? List.of() : List.of(employee.getId()), employee.getManagerId());
+        }
+        Employee saved = saveCheckingEmail(employee);
+        if (isNew) {
+            orgHierarchy.addEmployee(saved.getId(), saved.getManagerId());
+        } else if (managerChanged) {
+            orgHierarchy.relink(List.of(saved.getId()), saved.getManagerId());
+        }
+        publishChange(isNew ? EmployeeChangedEvent.Type.CREATED : EmployeeChangedEvent.Type.UPDATED, saved);
+        return saved;
     }
     
     // Update employee
@@ -51,51 +106,198 @@ public class EmployeeService {
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
         
         // Validate email uniqueness for update
-        if (!employee.getEmail().equals(employeeDetails.getEmail()) && 
-            employeeRepository.existsByEmailAndIdNot(employeeDetails.getEmail(), id)) {
+        String email = EmailUniquenessIndex.normalize(employeeDetails.getEmail());
+        if (!email.equalsIgnoreCase(employee.getEmail()) && emailIndex.isTaken(email, id)) {
             throw new RuntimeException("Email already exists");
         }
         
         employee.setFirstName(employeeDetails.getFirstName());
         employee.setLastName(employeeDetails.getLastName());
-        employee.setEmail(employeeDetails.getEmail());
+        employee.setEmail(email);
         employee.setDepartment(employeeDetails.getDepartment());
         employee.setPosition(employeeDetails.getPosition());
         employee.setHireDate(employeeDetails.getHireDate());
         employee.setSalary(employeeDetails.getSalary());
         
-        return employeeRepository.save(employee);
+        Employee saved = saveCheckingEmail(employee);
+        publishChange(EmployeeChangedEvent.Type.UPDATED, saved);
+        return saved;
     }
     
-    // Soft delete employee
+    // Soft delete employee; DELETED is published only when the employee was active, so listeners
+    // counting active employees see each deactivation once however often it is repeated
     public void deleteEmployee(Long id) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id: " + id));
+        if (!Boolean.TRUE.equals(employee.getIsActive())) {
+            return;
+        }
         employee.setIsActive(false);
         employeeRepository.save(employee);
+        publishChange(EmployeeChangedEvent.Type.DELETED, employee);
     }
     
-    // Hard delete employee (for admin use)
+    // Hard delete employee (for admin use); direct reports move up to the next manager
     public void hardDeleteEmployee(Long id) {
+        List<Long> reparented = orgHierarchy.remove(List.of(id));
+        leaveService.remove(List.of(id));
         employeeRepository.deleteById(id);
+        eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.DELETED, id, null));
+        employeeRepository.findAllById(reparented).forEach(employee -> publishChange(EmployeeChangedEvent.Type.UPDATED, employee));
+    }
+    
+    // Move employees, with everyone reporting to them, under a new manager (null: top level)
+    public List<Employee> moveEmployees(List<Long> employeeIds, Long managerId) {
+        List<Long> ids = employeeIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            throw new RuntimeException("No employees to move");
+        }
+        if (employeeRepository.countByIdIn(ids) != ids.size()) {
+            throw new RuntimeException("Employee not found among ids: " + ids);
+        }
+        orgHierarchy.move(ids, managerId);
+        List<Employee> moved = employeeRepository.findAllById(ids);
+        moved.forEach(employee -> publishChange(EmployeeChangedEvent.Type.UPDATED, employee));
+        return moved;
+    }
+    
+    // Reorg: all direct reports of one manager (with their teams) move under another
+    public List<Employee> reassignReports(Long fromManagerId, Long toManagerId) {
+        List<Long> reports = employeeRepository.findIdsByManagerId(fromManagerId);
+        return reports.isEmpty() ? List.of() : moveEmployees(reports, toManagerId);
+    }
+    
+    // Move one batch of soft-deleted employees (inactive since before cutoff) to the archive table
+    // Copy and delete share this transaction, so an interrupted run leaves each row in exactly one table.
+    // The caller continues after lastScannedId, whatever was archived: reactivated and colliding rows are skipped.
+    public ArchiveBatch archiveInactiveBefore(LocalDateTime cutoff, Long afterId, int batchSize) {
+        List<Long> candidates = employeeRepository.findArchivableIds(cutoff, afterId, batchSize);
+        if (candidates.isEmpty()) {
+            return new ArchiveBatch(0, afterId, List.of(), List.of());
+        }
+        long lastScannedId = candidates.get(candidates.size() - 1);
+        // Rows reactivated since the scan are left out
+        List<Long> locked = employeeRepository.lockArchivable(candidates);
+        // An id already archived would fail the copy on every run; those rows stay where they are and are reported
+        List<Long> collisions = locked.isEmpty() ? List.of() : archivedEmployeeRepository.findExistingIds(locked);
+        List<Long> ids = locked.stream().filter(id -> !collisions.contains(id)).toList();
+        if (ids.isEmpty()) {
+            return new ArchiveBatch(candidates.size(), lastScannedId, ids, collisions);
+        }
+        int copied = employeeRepository.copyToArchive(ids);
+        if (copied != ids.size()) {
+            // Rolls the whole batch back: a row is only deleted once its copy is in the archive
+            throw new IllegalStateException("Archived " + copied + " of " + ids.size() + " employees " + ids + ", batch rolled back");
+        }
+        List<Long> reparented = orgHierarchy.remove(ids);
+        leaveService.remove(ids);
+        employeeRepository.deleteArchived(ids);
+        for (Long id : ids) {
+            eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.Type.DELETED, id, null));
+        }
+        employeeRepository.findAllById(reparented).forEach(employee -> publishChange(EmployeeChangedEvent.Type.UPDATED, employee));
+        return new ArchiveBatch(candidates.size(), lastScannedId, ids, collisions);
     }
     
-    // Search employees
+    // Get an archived employee by ID
+    @Transactional(readOnly = true)
+    public Optional<ArchivedEmployee> getArchivedEmployeeById(Long id) {
+        return archivedEmployeeRepository.findById(id);
+    }
+    
+    // Get archived employees with pagination
+    @Transactional(readOnly = true)
+    public Page<ArchivedEmployee> getArchivedEmployees(String department, int page, int size, String sortBy, String sortDirection) {
+        Pageable pageable = pageRequest(page, size, sortBy, sortDirection);
+        if (department != null && !department.trim().isEmpty()) {
+            return archivedEmployeeRepository.findByDepartment(department, pageable);
+        }
+        return archivedEmployeeRepository.findAll(pageable);
+    }
+    
+    // Get the next chunk of archived employees after the given id
+    @Transactional(readOnly = true)
+    public List<ArchivedEmployee> getArchivedEmployeesAfter(Long lastId, String department, int chunkSize) {
+        Pageable limit = PageRequest.of(0, chunkSize);
+        if (department != null && !department.trim().isEmpty()) {
+            return archivedEmployeeRepository.findByDepartmentAndIdGreaterThanOrderByIdAsc(department, lastId, limit);
+        }
+        return archivedEmployeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, limit);
+    }
+    
+    // Search employees; identical concurrent searches share one query
+    // No transaction of its own: callers waiting on a shared query must not hold a connection
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Employee> searchEmployees(String searchTerm, int page, int size, String sortBy, String sortDirection) {
-        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
-        return employeeRepository.searchActiveEmployees(searchTerm, pageable);
+        Pageable pageable = pageRequest(page, size, sortBy, sortDirection);
+        boolean fromReadModel = readModel.canServeReads();
+        return readCoalescer.execute("search", Arrays.asList(searchTerm, pageable, fromReadModel), () -> fromReadModel
+                ? readModel.search(searchTerm, pageable)
+                : employeeRepository.searchActiveEmployees(searchTerm, pageable), EmployeeService::copyPage);
     }
     
-    // Get employees by department
+    // Get employees by department; identical concurrent requests share one query
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Page<Employee> getEmployeesByDepartment(String department, int page, int size, String sortBy, String sortDirection) {
+        Pageable pageable = pageRequest(page, size, sortBy, sortDirection);
+        boolean fromReadModel = readModel.canServeReads();
+        return readCoalescer.execute("department", Arrays.asList(department, pageable, fromReadModel), () -> fromReadModel
+                ? readModel.findActiveByDepartment(department, pageable)
+                : employeeRepository.findByDepartmentAndIsActiveTrue(department, pageable), EmployeeService::copyPage);
+    }
+    
+    private static Page<Employee> copyPage(Page<Employee> page) {
+        return page.map(Employee::copy);
+    }
+    
+    // Get the next chunk of active employees after the given id (keyset order, for streaming)
+    // Keyset scans always read the employees table: in-memory indexes are built from them
+    @Transactional(readOnly = true)
+    public List<Employee> getActiveEmployeesAfter(Long lastId, String department, int chunkSize) {
+        Pageable limit = PageRequest.of(0, chunkSize);
+        if (department != null && !department.trim().isEmpty()) {
+            return employeeRepository.findByDepartmentAndIsActiveTrueAndIdGreaterThanOrderByIdAsc(department, lastId, limit);
+        }
+        return employeeRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(lastId, limit);
+    }
+    
+    // Get the next chunk of employees after the given id, active or not
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesAfter(Long lastId, int chunkSize) {
+        return employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, chunkSize));
+    }
+    
+    // Get employees by id, in the order of the given ids
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesByIds(List<Long> ids) {
+        if (readModel.canServeReads()) {
+            return readModel.findByIds(ids);
+        }
+        Map<Long, Employee> byId = employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, employee -> employee));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+    
+    // Page size is capped so a single request can't load an unbounded page
+    private Pageable pageRequest(int page, int size, String sortBy, String sortDirection) {
         Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
-        Pageable pageable = PageRequest.of(page, size, sort);
-        return employeeRepository.findByDepartmentAndIsActiveTrue(department, pageable);
+        return PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, maxPageSize)), sort);
+    }
+    
+    public int getMaxPageSize() {
+        return maxPageSize;
     }
     
     // Get employee statistics
     public Map<String, Object> getEmployeeStatistics() {
+        if (readModel.canServeReads()) {
+            Map<String, Long> departmentStats = readModel.countActiveByDepartment();
+            return Map.of(
+                "totalEmployees", readModel.countActive(),
+                "departmentStats", departmentStats,
+                "departments", departmentStats.keySet().stream().sorted(String.CASE_INSENSITIVE_ORDER).toList()
+            );
+        }
         long totalEmployees = employeeRepository.countByIsActiveTrue();
         List<Object[]> departmentCounts = employeeRepository.countEmployeesByDepartment();
         
@@ -114,12 +316,34 @@ public class EmployeeService {
     
     // Get all departments
     public List<String> getAllDepartments() {
+        if (readModel.canServeReads()) {
+            return readModel.findActiveDepartments();
+        }
         return employeeRepository.findAllDepartments();
     }
     
+    // Notify listeners keeping derived state; they run after commit
+    private void publishChange(EmployeeChangedEvent.Type type, Employee employee) {
+        eventPublisher.publishEvent(new EmployeeChangedEvent(type, employee.getId(), employee));
+    }
+    
+    // The index check above is only a fast path: another instance, a restore or a bulk load can
+    // add an email it hasn't seen, so the unique key on employees.email has the last word
+    private Employee saveCheckingEmail(Employee employee) {
+        try {
+            return employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            String cause = e.getMostSpecificCause().getMessage();
+            if (cause != null && cause.contains("Duplicate entry")) {
+                throw new RuntimeException("Email already exists");
+            }
+            throw e;
+        }
+    }
+    
     // Validate employee
     private void validateEmployee(Employee employee) {
-        if (employee.getId() == null && employeeRepository.existsByEmail(employee.getEmail())) {
+        if (employee.getId() == null && emailIndex.isTaken(employee.getEmail(), null)) {
             throw new RuntimeException("Email already exists");
         }
     }
@@ -131,6 +355,9 @@ public class EmployeeService {
 
     // Count active employees
     public long countActiveEmployees() {
+        if (readModel.canServeReads()) {
+            return readModel.countActive();
+        }
         return employeeRepository.countByIsActiveTrue();
     }
 
@@ -141,4 +368,9 @@ public class EmployeeService {
         }
         return updateEmployee(employee.getId(), employee);
     }
+
+    // One archival batch: candidates scanned (up to lastScannedId), ids moved, and ids left behind
+    // because the archive already has a row with that id
+    public record ArchiveBatch(int scanned, long lastScannedId, List<Long> archived, List<Long> collisions) {
+    }
 }
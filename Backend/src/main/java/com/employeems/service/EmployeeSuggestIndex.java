@@ -0,0 +1,249 @@
+package com.employeems.service;
+
+import com.employeems.entity.Employee;
+import com.employeems.event.EmployeeChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory prefix index over active employees for typeahead suggestions
+ * Terms (names, email, position and department words) are kept in one sorted map per
+ * field, ordered by length and then alphabetically, so a prefix lookup is one range scan
+ * per term length. Fields are visited by weight and lengths shortest first, which is
+ * score order: the scan stops once the best matches are found, whatever the prefix.
+ * Built once after startup and then kept up to date from EmployeeService changes.
+ */
+@Service
+public class EmployeeSuggestIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSuggestIndex.class);
+
+    // Postings looked at per query, bounds the cost of very short prefixes
+    private static final int MAX_CANDIDATES = 2000;
+
+    // Shorter terms first, so the terms of one length (one score) are a contiguous range
+    private static final Comparator<String> LENGTH_FIRST = Comparator.comparingInt(String::length)
+            .thenComparing(Comparator.naturalOrder());
+
+    public enum Field {
+        NAME(3), EMAIL(2), POSITION(1), DEPARTMENT(1);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    // Fields of equal weight, best first; a whole tier outranks the next (10 points apart, at most 9 within one)
+    private static final List<List<Field>> TIERS = List.of(List.of(Field.NAME), List.of(Field.EMAIL),
+            List.of(Field.POSITION, Field.DEPARTMENT));
+
+    @Autowired
+    private EmployeeScanner employeeScanner;
+
+    // field -> term -> ids of employees whose best field for the term is this one
+    private final Map<Field, ConcurrentSkipListMap<String, Set<Long>>> terms = new EnumMap<>(Field.class);
+    private final Map<Field, AtomicInteger> maxTermLength = new EnumMap<>(Field.class);
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    // Ids changed by events while the initial build runs; their chunk copy may be older
+    private final Map<Long, Boolean> changedDuringBuild = new ConcurrentHashMap<>();
+
+    public EmployeeSuggestIndex() {
+        for (Field field : Field.values()) {
+            terms.put(field, new ConcurrentSkipListMap<>(LENGTH_FIRST));
+            maxTermLength.put(field, new AtomicInteger());
+        }
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        employeeScanner.forEachActive(employee -> {
+            if (!changedDuringBuild.containsKey(employee.getId())) {
+                index(employee);
+            }
+        });
+        ready = true;
+        changedDuringBuild.clear();
+        logger.info("Suggest index built: {} employees, {} terms in {} ms",
+                documents.size(), terms.values().stream().mapToInt(Map::size).sum(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!ready) {
+            changedDuringBuild.put(event.getEmployeeId(), Boolean.TRUE);
+        }
+        Employee employee = event.getEmployee();
+        if (event.getType() == EmployeeChangedEvent.Type.DELETED || employee == null
+                || !Boolean.TRUE.equals(employee.getIsActive())) {
+            remove(event.getEmployeeId());
+        } else {
+            index(employee);
+        }
+    }
+
+    // Top suggestions for a prefix, best match first
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String query = normalize(prefix);
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // Every term of a weight tier and length has the same score, and scores fall with each step, so
+        // once limit employees are found the rest can only rank lower or tie (ties keep the first found)
+        Map<Long, Suggestion> best = new HashMap<>();
+        int scanned = 0;
+        scan:
+        for (List<Field> tier : TIERS) {
+            int maxLength = tier.stream().mapToInt(field -> maxTermLength.get(field).get()).max().orElse(0);
+            for (int length = query.length(); length <= maxLength; length++) {
+                String padding = String.valueOf(Character.MIN_VALUE).repeat(length - query.length());
+                String from = query + padding;
+                String to = query + padding.replace(Character.MIN_VALUE, Character.MAX_VALUE);
+                for (Field field : tier) {
+                    for (Map.Entry<String, Set<Long>> entry : terms.get(field).subMap(from, true, to, true).entrySet()) {
+                        double score = score(query, entry.getKey(), field);
+                        for (Long id : entry.getValue()) {
+                            if (++scanned > MAX_CANDIDATES) {
+                                break scan;
+                            }
+                            Document document = documents.get(id);
+                            if (document == null) {
+                                continue;
+                            }
+                            // Found at a higher score already when present
+                            best.putIfAbsent(id, new Suggestion(id, document.label, field, score));
+                            if (best.size() >= limit) {
+                                break scan;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // Keep the top k in a min-heap
+        Comparator<Suggestion> order = Comparator.comparingDouble(Suggestion::score)
+                .thenComparing(Suggestion::label, Comparator.reverseOrder());
+        PriorityQueue<Suggestion> top = new PriorityQueue<>(limit + 1, order);
+        for (Suggestion suggestion : best.values()) {
+            top.add(suggestion);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Suggestion> result = new ArrayList<>(top);
+        result.sort(order.reversed());
+        return result;
+    }
+
+    // Field weight first, then exact over prefix match, then shorter terms
+    private static double score(String query, String term, Field field) {
+        double score = field.weight * 10;
+        if (term.length() == query.length()) {
+            score += 5;
+        }
+        return score - Math.min(term.length() - query.length(), 40) * 0.1;
+    }
+
+    private synchronized void index(Employee employee) {
+        remove(employee.getId());
+
+        Map<String, Field> employeeTerms = new HashMap<>();
+        addTerms(employeeTerms, Field.NAME, employee.getFirstName(), employee.getLastName(), employee.getFullName());
+        addTerms(employeeTerms, Field.EMAIL, employee.getEmail());
+        if (employee.getEmail() != null && employee.getEmail().contains("@")) {
+            addTerms(employeeTerms, Field.EMAIL, employee.getEmail().substring(0, employee.getEmail().indexOf('@')));
+        }
+        addTerms(employeeTerms, Field.POSITION, employee.getPosition());
+        addTerms(employeeTerms, Field.DEPARTMENT, employee.getDepartment());
+
+        String label = employee.getFullName() + " - " + employee.getPosition() + " (" + employee.getDepartment() + ")";
+        documents.put(employee.getId(), new Document(label, employeeTerms));
+        employeeTerms.forEach((term, field) -> {
+            terms.get(field).computeIfAbsent(term, key -> ConcurrentHashMap.newKeySet()).add(employee.getId());
+            maxTermLength.get(field).accumulateAndGet(term.length(), Math::max);
+        });
+    }
+
+    private synchronized void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        document.terms.forEach((term, field) -> {
+            Map<String, Set<Long>> fieldTerms = terms.get(field);
+            Set<Long> postings = fieldTerms.get(term);
+            if (postings != null) {
+                postings.remove(id);
+                if (postings.isEmpty()) {
+                    fieldTerms.remove(term);
+                }
+            }
+        });
+    }
+
+    // Each value is indexed whole and word by word
+    private static void addTerms(Map<String, Field> target, Field field, String... values) {
+        for (String value : values) {
+            String normalized = normalize(value);
+            if (normalized.isEmpty()) {
+                continue;
+            }
+            target.merge(normalized, field, EmployeeSuggestIndex::stronger);
+            for (String word : normalized.split("[\\s&,/-]+")) {
+                if (!word.isEmpty()) {
+                    target.merge(word, field, EmployeeSuggestIndex::stronger);
+                }
+            }
+        }
+    }
+
+    private static Field stronger(Field a, Field b) {
+        return a.weight >= b.weight ? a : b;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public record Suggestion(Long id, String label, Field field, double score) {
+    }
+
+    private record Document(String label, Map<String, Field> terms) {
+    }
+}
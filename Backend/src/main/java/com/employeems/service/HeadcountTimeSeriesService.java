@@ -0,0 +1,267 @@
+package com.employeems.service;
+
+import com.employeems.entity.Employee;
+import com.employeems.entity.HeadcountSnapshot;
+import com.employeems.jobs.DistributedJobScheduler;
+import com.employeems.repository.EmployeeRepository;
+import com.employeems.repository.HeadcountSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Active headcount per department over time, served from daily snapshot rows
+ * A scheduled job records each day from live counts; days before the first run
+ * (or while the application was down) are reconstructed once from hire dates and
+ * soft-delete timestamps. Week and month series read only the period-end rows.
+ */
+@Service
+public class HeadcountTimeSeriesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeadcountTimeSeriesService.class);
+
+    // Backfilled days are written in chunks of this many days, one transaction each
+    private static final int BACKFILL_CHUNK_DAYS = 31;
+
+    // Backfill and the daily snapshot share one lease, so two instances never write the same days
+    private static final String JOB_NAME = "headcount";
+
+    public enum Granularity { DAY, WEEK, MONTH }
+
+    @Autowired
+    private HeadcountSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployeeScanner employeeScanner;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DistributedJobScheduler jobScheduler;
+
+    @Value("${ems.headcount.backfill-max-days:1830}")
+    private int backfillMaxDays;
+
+    @Value("${ems.headcount.max-points:1000}")
+    private int maxPoints;
+
+    @Value("${ems.jobs.startup-retry-ms:60000}")
+    private long retryMillis;
+
+    private volatile boolean ready;
+    private volatile boolean started;
+
+    // Fill missing days up to yesterday, then record today so the series always ends now
+    // Instances take turns under the job lease; later ones find the days already filled
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        started = true;
+        try {
+            if (jobScheduler.runSerialized(JOB_NAME, context -> backfillMissingDays())) {
+                ready = true;
+            } else {
+                logger.warn("Headcount backfill did not run, retrying in {} ms", retryMillis);
+            }
+        } catch (Exception e) {
+            logger.error("Headcount backfill failed, retrying in {} ms: ", retryMillis, e);
+        }
+    }
+
+    // A failed or timed-out startup backfill is retried until it succeeds, instead of answering 503 until a restart;
+    // skipped while another instance holds the lease (its backfill fills the same days)
+    @Scheduled(fixedDelayString = "${ems.jobs.startup-retry-ms:60000}")
+    public void retryBackfill() {
+        if (!started || ready) {
+            return;
+        }
+        try {
+            if (jobScheduler.runExclusive(JOB_NAME, context -> backfillMissingDays())) {
+                ready = true;
+                logger.info("Headcount backfill completed on retry");
+            }
+        } catch (Exception e) {
+            logger.error("Headcount backfill failed, retrying in {} ms: ", retryMillis, e);
+        }
+    }
+
+    private void backfillMissingDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        LocalDate latest = snapshotRepository.findLatestSnapshotDate();
+        LocalDate from = latest == null ? yesterday.minusDays(backfillMaxDays - 1L) : latest.plusDays(1);
+        if (!from.isAfter(yesterday)) {
+            long start = System.currentTimeMillis();
+            int rows = reconstruct(from, yesterday);
+            logger.info("Headcount backfill {} .. {}: {} rows in {} ms", from, yesterday, rows, System.currentTimeMillis() - start);
+        }
+        recordDailySnapshot();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Also fills the days since the latest snapshot, so a day whose run failed is reconstructed by the next one
+    @Scheduled(cron = "${ems.headcount.snapshot-cron:0 55 23 * * *}")
+    public void recordScheduledSnapshot() {
+        try {
+            if (jobScheduler.runExclusive(JOB_NAME, context -> backfillMissingDays())) {
+                ready = true;
+            }
+        } catch (Exception e) {
+            logger.error("Headcount snapshot failed: ", e);
+        }
+    }
+
+    // Today's headcount from live counts; re-running on the same day replaces the rows
+    public synchronized void recordDailySnapshot() {
+        LocalDate today = LocalDate.now();
+        List<HeadcountSnapshot> rows = new ArrayList<>();
+        for (Object[] result : employeeRepository.countEmployeesByDepartment()) {
+            rows.add(new HeadcountSnapshot(today, (String) result[0], ((Long) result[1]).intValue()));
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            snapshotRepository.deleteBySnapshotDate(today);
+            snapshotRepository.saveAll(rows);
+        });
+        logger.debug("Recorded headcount snapshot for {} ({} departments)", today, rows.size());
+    }
+
+    // Rebuilds [from, to] from current rows: active from hire date until deactivation (updatedAt)
+    // Departments are grouped by DepartmentService.key, as the unique (snapshot_date, department) key does
+    private synchronized int reconstruct(LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        Map<String, int[]> deltas = new HashMap<>();
+        Map<String, String> names = new HashMap<>();
+        employeeScanner.forEach(employee -> addInterval(deltas, names, employee, from, to, days));
+
+        int written = 0;
+        List<String> departments = new ArrayList<>(deltas.keySet());
+        int[] running = new int[departments.size()];
+        for (int chunkStart = 0; chunkStart < days; chunkStart += BACKFILL_CHUNK_DAYS) {
+            List<HeadcountSnapshot> rows = new ArrayList<>();
+            for (int day = chunkStart; day < Math.min(chunkStart + BACKFILL_CHUNK_DAYS, days); day++) {
+                for (int d = 0; d < departments.size(); d++) {
+                    running[d] += deltas.get(departments.get(d))[day];
+                    if (running[d] > 0) {
+                        rows.add(new HeadcountSnapshot(from.plusDays(day), names.get(departments.get(d)), running[d]));
+                    }
+                }
+            }
+            snapshotRepository.saveAll(rows);
+            written += rows.size();
+        }
+        return written;
+    }
+
+    private static void addInterval(Map<String, int[]> deltas, Map<String, String> names, Employee employee,
+                                    LocalDate from, LocalDate to, int days) {
+        LocalDate hired = employee.getHireDate();
+        if (hired == null || hired.isAfter(to) || employee.getDepartment() == null) {
+            return;
+        }
+        LocalDate left = null;
+        if (!Boolean.TRUE.equals(employee.getIsActive())) {
+            left = employee.getUpdatedAt() != null ? employee.getUpdatedAt().toLocalDate() : hired;
+            if (!left.isAfter(hired) || left.isBefore(from)) {
+                return;
+            }
+        }
+        String key = DepartmentService.key(employee.getDepartment());
+        names.putIfAbsent(key, employee.getDepartment());
+        int[] delta = deltas.computeIfAbsent(key, department -> new int[days]);
+        delta[(int) Math.max(ChronoUnit.DAYS.between(from, hired), 0)]++;
+        if (left != null && !left.isAfter(to)) {
+            delta[(int) ChronoUnit.DAYS.between(from, left)]--;
+        }
+    }
+
+    // Headcount series at the end of each period in [from, to]; the current period ends at the latest snapshot
+    public Map<String, Object> getSeries(LocalDate from, LocalDate to, Granularity granularity, String department) {
+        LocalDate latest = snapshotRepository.findLatestSnapshotDate();
+        Map<LocalDate, LocalDate> periodEnds = new LinkedHashMap<>();
+        if (latest != null) {
+            LocalDate last = to.isAfter(latest) ? latest : to;
+            for (LocalDate periodStart = periodStart(from, granularity); !periodStart.isAfter(last);
+                 periodStart = nextPeriod(periodStart, granularity)) {
+                LocalDate end = nextPeriod(periodStart, granularity).minusDays(1);
+                periodEnds.put(end.isAfter(last) ? last : end, periodStart);
+                if (periodEnds.size() > maxPoints) {
+                    throw new IllegalArgumentException("Range has more than " + maxPoints + " points, use a coarser granularity");
+                }
+            }
+        }
+
+        List<HeadcountSnapshot> snapshots = periodEnds.isEmpty() ? List.of()
+                : department == null || department.isBlank()
+                ? snapshotRepository.findBySnapshotDateIn(periodEnds.keySet())
+                : snapshotRepository.findBySnapshotDateInAndDepartment(periodEnds.keySet(), department);
+
+        Map<LocalDate, Map<String, Integer>> byDate = new TreeMap<>();
+        TreeSet<String> departments = new TreeSet<>();
+        for (HeadcountSnapshot snapshot : snapshots) {
+            byDate.computeIfAbsent(snapshot.getSnapshotDate(), date -> new TreeMap<>())
+                    .put(snapshot.getDepartment(), snapshot.getHeadcount());
+            departments.add(snapshot.getDepartment());
+        }
+
+        List<Map<String, Object>> points = new ArrayList<>(periodEnds.size());
+        periodEnds.forEach((date, periodStart) -> {
+            Map<String, Integer> headcount = byDate.getOrDefault(date, Map.of());
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("periodStart", periodStart);
+            point.put("date", date);
+            point.put("headcount", headcount);
+            point.put("total", headcount.values().stream().mapToInt(Integer::intValue).sum());
+            points.add(point);
+        });
+
+        Map<String, Object> series = new LinkedHashMap<>();
+        series.put("granularity", granularity.name().toLowerCase());
+        series.put("from", from);
+        series.put("to", to);
+        series.put("departments", departments);
+        series.put("points", points);
+        return series;
+    }
+
+    private static LocalDate periodStart(LocalDate date, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate nextPeriod(LocalDate periodStart, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> periodStart.plusDays(1);
+            case WEEK -> periodStart.plusWeeks(1);
+            case MONTH -> periodStart.plusMonths(1);
+        };
+    }
+}
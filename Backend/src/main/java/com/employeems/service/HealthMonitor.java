@@ -0,0 +1,210 @@
+package com.employeems.service;
+
+import com.employeems.event.EmployeeChangedEvent;
+import com.employeems.repository.EmployeeRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background health checks for liveness and readiness probes
+ * The database is validated on a schedule through the pool, and the active employee
+ * count is maintained from change events, so probes only read the last snapshot
+ */
+@Component
+public class HealthMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealthMonitor.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Value("${ems.health.validation-timeout-seconds:2}")
+    private int validationTimeoutSeconds;
+
+    // Readiness fails when the last successful check is older than this
+    @Value("${ems.health.stale-after-ms:30000}")
+    private long staleAfterMs;
+
+    private final long startedAt = System.currentTimeMillis();
+    private final AtomicLong employeeCount = new AtomicLong(-1);
+    private volatile boolean countDirty = true;
+    private volatile Snapshot snapshot = Snapshot.starting();
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${ems.health.check-interval-ms:5000}")
+    public void checkDatabase() {
+        long start = System.nanoTime();
+        boolean valid;
+        String error = null;
+
+        try (Connection connection = dataSource.getConnection()) {
+            valid = connection.isValid(validationTimeoutSeconds);
+            if (!valid) {
+                error = "Connection validation failed";
+            }
+        } catch (Exception e) {
+            valid = false;
+            error = e.getMessage();
+            logger.warn("Database health check failed: {}", e.getMessage());
+        }
+        long latencyMs = (System.nanoTime() - start) / 1_000_000;
+
+        if (valid && countDirty) {
+            refreshEmployeeCount();
+        }
+
+        snapshot = new Snapshot(valid, error, latencyMs, poolStats(), employeeCount.get(), startedAt);
+    }
+
+    // Full recount to correct any drift from the incremental updates
+    @Scheduled(initialDelayString = "${ems.health.count-refresh-ms:300000}", fixedDelayString = "${ems.health.count-refresh-ms:300000}")
+    public void reconcileEmployeeCount() {
+        countDirty = true;
+    }
+
+    private void refreshEmployeeCount() {
+        try {
+            employeeCount.set(employeeRepository.countByIsActiveTrue());
+            countDirty = false;
+        } catch (Exception e) {
+            logger.warn("Could not refresh employee count: {}", e.getMessage());
+        }
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (employeeCount.get() < 0) {
+            return;
+        }
+        switch (event.getType()) {
+            case CREATED -> employeeCount.incrementAndGet();
+            // Soft delete, published only when the employee was active; anything else (a hard delete may
+            // hit an inactive row) is not a known transition, so recount
+            case DELETED -> {
+                if (event.getEmployee() != null && !Boolean.TRUE.equals(event.getEmployee().getIsActive())) {
+                    employeeCount.decrementAndGet();
+                } else {
+                    countDirty = true;
+                }
+            }
+            case UPDATED -> { }
+        }
+    }
+
+    private PoolStats poolStats() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                if (pool != null) {
+                    return new PoolStats(pool.getActiveConnections(), pool.getIdleConnections(),
+                            hikari.getMaximumPoolSize(), pool.getThreadsAwaitingConnection());
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Pool statistics unavailable: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public boolean isReady() {
+        Snapshot current = snapshot;
+        return current.isReady() && System.currentTimeMillis() - current.getCheckedAt() <= staleAfterMs;
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount.get();
+    }
+
+    /**
+     * Connection pool usage at the time of a check
+     */
+    public record PoolStats(int active, int idle, int max, int awaiting) {
+
+        // All connections in use and requests queuing for one
+        public boolean isExhausted() {
+            return active >= max && awaiting > 0;
+        }
+    }
+
+    /**
+     * Result of the last background check, with the probe responses prebuilt
+     */
+    public static class Snapshot {
+        private final boolean databaseUp;
+        private final boolean ready;
+        private final long checkedAt;
+        private final Map<String, Object> liveness;
+        private final Map<String, Object> readiness;
+
+        Snapshot(boolean databaseUp, String error, long latencyMs, PoolStats pool, long employeeCount, long startedAt) {
+            this.databaseUp = databaseUp;
+            this.ready = databaseUp && (pool == null || !pool.isExhausted());
+            this.checkedAt = System.currentTimeMillis();
+
+            Map<String, Object> live = new HashMap<>();
+            live.put("status", "UP");
+            live.put("uptimeMs", checkedAt - startedAt);
+            this.liveness = Map.copyOf(live);
+
+            Map<String, Object> ready = new HashMap<>();
+            ready.put("status", this.ready ? "UP" : "DOWN");
+            ready.put("database", databaseUp ? "UP" : "DOWN");
+            ready.put("checkedAt", checkedAt);
+            ready.put("checkLatencyMs", latencyMs);
+            ready.put("employeeCount", employeeCount);
+            if (error != null) {
+                ready.put("error", error);
+            }
+            if (pool != null) {
+                ready.put("pool", Map.of(
+                    "active", pool.active(),
+                    "idle", pool.idle(),
+                    "max", pool.max(),
+                    "awaiting", pool.awaiting(),
+                    "exhausted", pool.isExhausted()
+                ));
+            }
+            this.readiness = Map.copyOf(ready);
+        }
+
+        private Snapshot() {
+            this.databaseUp = false;
+            this.ready = false;
+            this.checkedAt = System.currentTimeMillis();
+            this.liveness = Map.of("status", "UP");
+            this.readiness = Map.of("status", "DOWN", "message", "Health check has not run yet");
+        }
+
+        static Snapshot starting() {
+            return new Snapshot();
+        }
+
+        public boolean isDatabaseUp() { return databaseUp; }
+        public boolean isReady() { return ready; }
+        public long getCheckedAt() { return checkedAt; }
+        public Map<String, Object> getLiveness() { return liveness; }
+        public Map<String, Object> getReadiness() { return readiness; }
+    }
+}
@@ -0,0 +1,381 @@
+package com.employeems.service;
+
+import com.employeems.entity.LeaveAccrualRun;
+import com.employeems.jobs.DistributedJobScheduler;
+import com.employeems.jobs.JobContext;
+import com.employeems.repository.EmployeeRepository;
+import com.employeems.repository.LeaveAccrualRunRepository;
+import com.employeems.repository.LeaveBalanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Monthly paid leave accrual over all active employees
+ * Employee ids are read in keyset order and cut into chunks; each chunk is one bulk UPDATE over
+ * its id range in its own transaction, run on a fixed pool with a bounded number of chunks queued.
+ * The id space is split into shards (id modulo ems.leave.accrual.shards), each a job lease that
+ * any instance may claim, so several instances accrue one month in parallel. Rows record the
+ * last accrued month, so a chunk that runs twice changes nothing, and each shard keeps a
+ * checkpoint below which every chunk is committed: after a crash the instance taking the shard
+ * over resumes there instead of starting over. Because rows only know their last month, months
+ * are accrued strictly in order: a month is not started while an earlier one is unfinished.
+ */
+@Service
+public class LeaveAccrualService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaveAccrualService.class);
+
+    private static final String JOB_NAME = "leave-accrual";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    @Autowired
+    private LeaveAccrualRunRepository runRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DistributedJobScheduler jobScheduler;
+
+    @Value("${ems.leave.accrual.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ems.leave.accrual.days-per-month:2.00}")
+    private BigDecimal daysPerMonth;
+
+    @Value("${ems.leave.max-balance-days:60}")
+    private BigDecimal maxBalance;
+
+    @Value("${ems.leave.accrual.chunk-size:2000}")
+    private int chunkSize;
+
+    @Value("${ems.leave.accrual.threads:4}")
+    private int threads;
+
+    @Value("${ems.leave.accrual.shards:4}")
+    private int shards;
+
+    @Value("${ems.leave.accrual.catch-up-on-start:true}")
+    private boolean catchUpOnStart;
+
+    private final AtomicReference<YearMonth> runningPeriod = new AtomicReference<>();
+    private final AtomicLong runEmployees = new AtomicLong();
+    private final AtomicInteger runChunks = new AtomicInteger();
+    private volatile long runStartNanos;
+    private volatile Map<String, Object> lastRun;
+
+    // On the 1st of the month: accrue the month that just ended, after any earlier month still unfinished
+    @Scheduled(cron = "${ems.leave.accrual.cron:0 30 1 1 * *}")
+    public void accruePreviousMonth() {
+        if (enabled) {
+            accrueThrough(YearMonth.now().minusMonths(1));
+        }
+    }
+
+    // Catch up when the instance was down on one or more 1sts, or a run did not finish
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        if (enabled && catchUpOnStart) {
+            accrueThrough(YearMonth.now().minusMonths(1));
+        }
+    }
+
+    // Manual (re)run up to a month in the background; already accrued employees are skipped
+    @Async
+    public void accrueInBackground(YearMonth period) {
+        accrueThrough(period);
+    }
+
+    // True when a later month has been started: rows credited for it would be skipped by a run of this one
+    public boolean isLaterPeriodStarted(YearMonth period) {
+        return runRepository.existsByPeriodGreaterThan(toPeriod(period));
+    }
+
+    // Every month up to and including the given one that has not completed, oldest first; stops at the first
+    // month left unfinished (a failure, or shards still held by other instances), so none is accrued out of order
+    public void accrueThrough(YearMonth last) {
+        for (YearMonth period : pendingPeriods(last)) {
+            int periodKey = toPeriod(period);
+            boolean completed = accrue(period) && runRepository.findById(periodKey)
+                    .map(run -> run.getStatus() == LeaveAccrualRun.Status.COMPLETED)
+                    .orElse(false);
+            if (!completed) {
+                logger.info("Leave accrual for {} has not completed, later months wait for it", formatPeriod(periodKey));
+                return;
+            }
+        }
+    }
+
+    // Unfinished runs after the last completed month, then the months after the newest run; with no runs yet, only the given month
+    private List<YearMonth> pendingPeriods(YearMonth last) {
+        int lastKey = toPeriod(last);
+        int completedKey = runRepository.findTopByStatusOrderByPeriodDesc(LeaveAccrualRun.Status.COMPLETED)
+                .map(LeaveAccrualRun::getPeriod)
+                .orElse(0);
+        long stranded = runRepository.countByStatusNotAndPeriodLessThan(LeaveAccrualRun.Status.COMPLETED, completedKey);
+        if (stranded > 0) {
+            logger.warn("{} leave accrual runs before {} never completed and can't be resumed: later months were already accrued",
+                    stranded, formatPeriod(completedKey));
+        }
+        List<YearMonth> periods = new ArrayList<>();
+        runRepository.findByStatusNotAndPeriodBetweenOrderByPeriodAsc(LeaveAccrualRun.Status.COMPLETED, completedKey + 1, lastKey)
+                .forEach(run -> periods.add(fromPeriod(run.getPeriod())));
+        YearMonth next = runRepository.findTopByOrderByPeriodDesc()
+                .map(run -> fromPeriod(run.getPeriod()).plusMonths(1))
+                .orElse(last);
+        for (YearMonth period = next; !period.isAfter(last); period = period.plusMonths(1)) {
+            periods.add(period);
+        }
+        return periods;
+    }
+
+    public boolean isRunning() {
+        return runningPeriod.get() != null;
+    }
+
+    // Runs (or resumes) this instance's share of one month on the calling thread; false when a run is already active here
+    public boolean accrue(YearMonth period) {
+        if (!runningPeriod.compareAndSet(null, period)) {
+            return false;
+        }
+        int periodKey = toPeriod(period);
+        runEmployees.set(0);
+        runChunks.set(0);
+        runStartNanos = System.nanoTime();
+        String error = null;
+        boolean claimed = false;
+        boolean completed = false;
+        ExecutorService pool = null;
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> runRepository.claim(periodKey));
+            LeaveAccrualRun run = runRepository.findById(periodKey).orElseThrow();
+            if (run.getStatus() == LeaveAccrualRun.Status.COMPLETED) {
+                logger.info("Leave accrual for {} already completed", formatPeriod(periodKey));
+                return true;
+            }
+            claimed = true;
+            pool = newChunkPool();
+            ExecutorService chunkPool = pool;
+            // Instances take unclaimed shards until none is left; the month is done once every shard is
+            completed = jobScheduler.runSharded(JOB_NAME, shards, formatPeriod(periodKey),
+                    context -> accrueShard(period, context, chunkPool));
+        } catch (Exception e) {
+            logger.error("Leave accrual for {} failed: ", formatPeriod(periodKey), e);
+            error = String.valueOf(e.getMessage());
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            if (claimed) {
+                finishRun(periodKey, completed, error);
+            }
+            runningPeriod.set(null);
+        }
+        return true;
+    }
+
+    private ExecutorService newChunkPool() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "leave-accrual-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // One shard (ids with id % shards == shard), from the shard's checkpoint; returns once all its chunks committed
+    private void accrueShard(YearMonth period, JobContext context, ExecutorService pool) throws InterruptedException {
+        int periodKey = toPeriod(period);
+        if (context.getResumeFrom() > 0) {
+            logger.info("Resuming leave accrual for {} shard {}/{} after employee {}", formatPeriod(periodKey),
+                    context.getShard(), context.getShardCount(), context.getResumeFrom());
+        }
+        ChunkTracker tracker = new ChunkTracker(context);
+        AtomicReference<String> failure = new AtomicReference<>();
+        int maxQueued = threads * 2;
+        Semaphore queued = new Semaphore(maxQueued);
+        long lastId = context.getResumeFrom();
+        while (failure.get() == null && context.isLeaseValid()) {
+            List<Long> ids = employeeRepository.findActiveIdsAfter(lastId, context.getShardCount(), context.getShard(), chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            long firstId = lastId + 1;
+            lastId = ids.get(ids.size() - 1);
+            long chunkLastId = lastId;
+            tracker.submitted(chunkLastId);
+            queued.acquire();
+            pool.execute(() -> {
+                try {
+                    context.addItems(runChunk(periodKey, period, context, firstId, chunkLastId));
+                    tracker.completed(chunkLastId);
+                } catch (Exception e) {
+                    logger.error("Leave accrual chunk {}-{} failed: ", firstId, chunkLastId, e);
+                    failure.compareAndSet(null, "Chunk " + firstId + "-" + chunkLastId + ": " + e.getMessage());
+                } finally {
+                    queued.release();
+                }
+            });
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        // All permits back means every chunk of this shard has finished
+        queued.acquire(maxQueued);
+        queued.release(maxQueued);
+        if (failure.get() != null) {
+            throw new IllegalStateException(failure.get());
+        }
+    }
+
+    // One id range of a shard, one transaction: create missing balance rows, accrue, count progress
+    private int runChunk(int periodKey, YearMonth period, JobContext context, long firstId, long lastId) {
+        int shardCount = context.getShardCount();
+        int shard = context.getShard();
+        Integer accrued = new TransactionTemplate(transactionManager).execute(status -> {
+            leaveBalanceRepository.insertMissing(firstId, lastId, shardCount, shard);
+            int rows = leaveBalanceRepository.accrue(firstId, lastId, shardCount, shard, periodKey, period.atEndOfMonth(),
+                    daysPerMonth, maxBalance);
+            runRepository.addProgress(periodKey, rows);
+            return rows;
+        });
+        int rows = accrued == null ? 0 : accrued;
+        runEmployees.addAndGet(rows);
+        runChunks.incrementAndGet();
+        return rows;
+    }
+
+    // The period's row is closed by whichever instance sees the last shard complete, or by a failure
+    private void finishRun(int periodKey, boolean completed, String error) {
+        long millis = (System.nanoTime() - runStartNanos) / 1_000_000;
+        String status = error != null ? LeaveAccrualRun.Status.FAILED.name()
+                : completed ? LeaveAccrualRun.Status.COMPLETED.name() : null;
+        if (status != null) {
+            try {
+                new TransactionTemplate(transactionManager).executeWithoutResult(tx -> runRepository.finish(periodKey, status,
+                        millis, error == null ? null : error.substring(0, Math.min(error.length(), 500))));
+            } catch (Exception e) {
+                logger.error("Could not record the end of the leave accrual run: ", e);
+            }
+        }
+        long employees = runEmployees.get();
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("period", formatPeriod(periodKey));
+        // SHARDS_PENDING: this instance is done, other instances still hold shards
+        run.put("status", status == null ? "SHARDS_PENDING" : status);
+        run.put("employeesAccrued", employees);
+        run.put("chunks", runChunks.get());
+        run.put("durationMs", millis);
+        run.put("employeesPerSecond", millis == 0 ? employees : employees * 1000 / millis);
+        run.put("finishedAt", LocalDateTime.now());
+        lastRun = run;
+        if (error == null) {
+            logger.info("Leave accrual for {} on this instance: {} employees in {} chunks, {} ms ({} employees/s){}",
+                    formatPeriod(periodKey), employees, runChunks.get(), millis, run.get("employeesPerSecond"),
+                    completed ? ", all shards done" : "");
+        }
+    }
+
+    public List<LeaveAccrualRun> getRunHistory() {
+        return runRepository.findTop24ByOrderByPeriodDesc();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("daysPerMonth", daysPerMonth);
+        metrics.put("maxBalance", maxBalance);
+        metrics.put("chunkSize", chunkSize);
+        metrics.put("threads", threads);
+        metrics.put("shards", shards);
+        YearMonth period = runningPeriod.get();
+        metrics.put("running", period != null);
+        if (period != null) {
+            long millis = (System.nanoTime() - runStartNanos) / 1_000_000;
+            metrics.put("runningPeriod", period.toString());
+            metrics.put("employeesAccrued", runEmployees.get());
+            metrics.put("chunks", runChunks.get());
+            metrics.put("employeesPerSecond", millis == 0 ? 0 : runEmployees.get() * 1000 / millis);
+        }
+        metrics.put("lastRun", lastRun);
+        return metrics;
+    }
+
+    static int toPeriod(YearMonth period) {
+        return period.getYear() * 100 + period.getMonthValue();
+    }
+
+    static YearMonth fromPeriod(int period) {
+        return YearMonth.of(period / 100, period % 100);
+    }
+
+    static String formatPeriod(int period) {
+        return fromPeriod(period).toString();
+    }
+
+    /**
+     * Chunks of one shard in submission order; the shard checkpoint moves up to the last chunk
+     * with no pending chunk before it
+     */
+    private static class ChunkTracker {
+        private final JobContext context;
+        private final Deque<long[]> pending = new ArrayDeque<>();
+
+        ChunkTracker(JobContext context) {
+            this.context = context;
+        }
+
+        synchronized void submitted(long lastId) {
+            pending.addLast(new long[] {lastId, 0});
+        }
+
+        void completed(long lastId) {
+            long checkpoint = -1;
+            synchronized (this) {
+                for (long[] chunk : pending) {
+                    if (chunk[0] == lastId) {
+                        chunk[1] = 1;
+                    }
+                }
+                while (!pending.isEmpty() && pending.peekFirst()[1] == 1) {
+                    checkpoint = pending.pollFirst()[0];
+                }
+            }
+            if (checkpoint > 0) {
+                // Saved with the shard's lease; chunks commit out of order, so only a contiguous prefix counts
+                context.saveCheckpoint(checkpoint);
+            }
+        }
+    }
+}
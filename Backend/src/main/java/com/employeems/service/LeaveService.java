@@ -0,0 +1,64 @@
+package com.employeems.service;
+
+import com.employeems.entity.LeaveBalance;
+import com.employeems.repository.EmployeeRepository;
+import com.employeems.repository.LeaveBalanceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Leave balances: reads, deductions and cleanup when employees leave the table
+ * Balances grow through the monthly LeaveAccrualService job.
+ */
+@Service
+@Transactional
+public class LeaveService {
+
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    // Employees without a balance row yet (hired since the last accrual) have 0 days
+    @Transactional(readOnly = true)
+    public Map<String, Object> getBalance(Long employeeId) {
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new RuntimeException("Employee not found with id: " + employeeId);
+        }
+        Optional<LeaveBalance> balance = leaveBalanceRepository.findById(employeeId);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("employeeId", employeeId);
+        result.put("balance", balance.map(LeaveBalance::getBalance).orElse(BigDecimal.ZERO));
+        result.put("accruedThrough", balance.map(LeaveBalance::getAccruedPeriod)
+                .filter(period -> period > 0)
+                .map(LeaveAccrualService::formatPeriod)
+                .orElse(null));
+        return result;
+    }
+
+    // Returns false when the balance doesn't cover the requested days
+    public boolean deduct(Long employeeId, BigDecimal days) {
+        if (days == null || days.signum() <= 0) {
+            throw new RuntimeException("Leave days must be positive");
+        }
+        if (!employeeRepository.existsById(employeeId)) {
+            throw new RuntimeException("Employee not found with id: " + employeeId);
+        }
+        return leaveBalanceRepository.deduct(employeeId, days) > 0;
+    }
+
+    // Called in the same transaction as a hard delete or archival
+    public void remove(Collection<Long> employeeIds) {
+        if (!employeeIds.isEmpty()) {
+            leaveBalanceRepository.deleteByEmployeeIds(employeeIds);
+        }
+    }
+}
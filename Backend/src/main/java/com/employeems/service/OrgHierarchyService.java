@@ -0,0 +1,242 @@
+package com.employeems.service;
+
+import com.employeems.entity.Employee;
+import com.employeems.jobs.DistributedJobScheduler;
+import com.employeems.repository.EmployeeHierarchyRepository;
+import com.employeems.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reporting lines (employees.manager_id) backed by the employee_hierarchy closure table
+ * Subtree headcount and salary totals, chain of command and subtree listings are each one
+ * indexed query, whatever the depth. A move rewrites the links of the whole moved subtree
+ * with two set-based statements instead of walking it node by node.
+ */
+@Service
+@Transactional
+public class OrgHierarchyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrgHierarchyService.class);
+
+    // Guards the rebuild against manager_id cycles in imported data
+    private static final int MAX_DEPTH = 64;
+
+    @Autowired
+    private EmployeeHierarchyRepository hierarchyRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DistributedJobScheduler jobScheduler;
+
+    @Value("${ems.pagination.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${ems.jobs.startup-retry-ms:60000}")
+    private long retryMillis;
+
+    @Value("${ems.jobs.serialized-wait-ms:600000}")
+    private long serializedWaitMs;
+
+    private volatile boolean ready;
+    private volatile boolean started;
+    private final AtomicBoolean verifying = new AtomicBoolean();
+
+    // Rebuilt from manager_id when employees are missing their self link or links point at deleted
+    // employees (first start, bulk loads, reseeds). Instances check one at a time under the job lease,
+    // so only the first one rebuilds; outside a transaction, so the rebuild commits before the lease is released
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void verify() {
+        started = true;
+        verify(serializedWaitMs);
+    }
+
+    // A failed or timed-out startup check is retried until it succeeds, instead of refusing moves until a restart;
+    // without waiting for the lease, so a scheduler thread is never parked behind another instance's rebuild
+    @Scheduled(fixedDelayString = "${ems.jobs.startup-retry-ms:60000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void retryVerify() {
+        if (started && !ready) {
+            verify(0);
+        }
+    }
+
+    private void verify(long maxWaitMs) {
+        if (!verifying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            ready = jobScheduler.runSerialized("org-hierarchy-verify", maxWaitMs, context -> {
+                long missing = hierarchyRepository.countMissingSelfLinks();
+                long orphans = hierarchyRepository.countOrphanLinks();
+                if (missing > 0 || orphans > 0) {
+                    logger.info("Org hierarchy is missing {} employees and has {} links of deleted ones, rebuilding", missing, orphans);
+                    rebuild();
+                    context.addItems(employeeRepository.count());
+                }
+            });
+            if (!ready) {
+                logger.warn("Org hierarchy check did not run, retrying in {} ms", retryMillis);
+            }
+        } catch (Exception e) {
+            logger.error("Org hierarchy check failed, retrying in {} ms: ", retryMillis, e);
+        } finally {
+            verifying.set(false);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Recompute all links from manager_id in one transaction, one statement per level
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        Integer levels = new TransactionTemplate(transactionManager).execute(status -> {
+            hierarchyRepository.deleteAllLinks();
+            hierarchyRepository.insertAllSelfLinks();
+            int depth = 0;
+            while (depth < MAX_DEPTH && hierarchyRepository.extendPaths(depth) > 0) {
+                depth++;
+            }
+            return depth;
+        });
+        logger.info("Org hierarchy rebuilt: {} levels in {} ms", levels, System.currentTimeMillis() - start);
+        return levels == null ? 0 : levels;
+    }
+
+    // New employee: own link, plus links from its manager's chain
+    public void addEmployee(Long id, Long managerId) {
+        hierarchyRepository.insertSelfLink(id);
+        if (managerId != null) {
+            hierarchyRepository.attachSubtrees(List.of(id), managerId);
+        }
+    }
+
+    // The manager must exist and must not be one of the moved employees or below them
+    public void validateManager(Collection<Long> ids, Long managerId) {
+        if (managerId == null) {
+            return;
+        }
+        if (!employeeRepository.existsById(managerId)) {
+            throw new RuntimeException("Manager not found with id: " + managerId);
+        }
+        if (!ids.isEmpty() && hierarchyRepository.countSubtreeMembership(ids, managerId) > 0) {
+            throw new RuntimeException("Employee " + managerId + " reports to the moved employees, the move would create a cycle");
+        }
+    }
+
+    // Move employees with everyone below them under managerId (null: top level) and update manager_id
+    public void move(Collection<Long> ids, Long managerId) {
+        if (!ready) {
+            throw new RuntimeException("Org hierarchy is still loading, retry shortly");
+        }
+        validateManager(ids, managerId);
+        relink(ids, managerId);
+        employeeRepository.updateManager(ids, managerId, LocalDateTime.now());
+    }
+
+    // Links only; manager_id is written by the caller
+    public void relink(Collection<Long> ids, Long managerId) {
+        // Nested roots are moved one at a time, each keeps its own subtree
+        List<List<Long>> groups = hierarchyRepository.countNestedPairs(ids) == 0
+                ? List.of(List.copyOf(ids))
+                : ids.stream().map(List::of).toList();
+        for (List<Long> roots : groups) {
+            hierarchyRepository.detachSubtrees(roots);
+            if (managerId != null) {
+                hierarchyRepository.attachSubtrees(roots, managerId);
+            }
+        }
+    }
+
+    // Before employees leave the table (hard delete, archival): their direct reports move up to
+    // the nearest manager that stays, then their own links are removed. Returns the moved ids.
+    public List<Long> remove(Collection<Long> ids) {
+        Set<Long> leaving = new HashSet<>(ids);
+        List<Long> moved = new ArrayList<>();
+        for (Long managerId : employeeRepository.findManagersWithReports(ids)) {
+            List<Long> reports = employeeRepository.findIdsByManagerId(managerId).stream()
+                    .filter(id -> !leaving.contains(id))
+                    .toList();
+            if (reports.isEmpty()) {
+                continue;
+            }
+            Long newManagerId = hierarchyRepository.findAncestorIds(managerId).stream()
+                    .filter(id -> !leaving.contains(id))
+                    .findFirst()
+                    .orElse(null);
+            relink(reports, newManagerId);
+            employeeRepository.updateManager(reports, newManagerId, LocalDateTime.now());
+            moved.addAll(reports);
+        }
+        hierarchyRepository.deleteLinks(ids);
+        return moved;
+    }
+
+    // Reads
+
+    // Active headcount, salary total, direct reports and levels below the employee
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSubtreeSummary(Long id) {
+        Object[] row = hierarchyRepository.summarizeSubtree(id).get(0);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("employeeId", id);
+        summary.put("headcount", ((Number) row[0]).longValue());
+        summary.put("directReports", ((Number) row[2]).longValue());
+        summary.put("totalSalary", row[1] instanceof BigDecimal salary ? salary : new BigDecimal(row[1].toString()));
+        summary.put("levels", ((Number) row[3]).intValue());
+        return summary;
+    }
+
+    // Managers above the employee, nearest first
+    @Transactional(readOnly = true)
+    public List<Employee> getChainOfCommand(Long id) {
+        return employeeRepository.findChainOfCommand(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> getDirectReports(Long id) {
+        return employeeRepository.findByManagerIdAndIsActiveTrueOrderByIdAsc(id);
+    }
+
+    // Everyone below the employee, at most maxDepth levels down
+    @Transactional(readOnly = true)
+    public Page<Employee> getSubtree(Long id, int maxDepth, int page, int size, String sortBy, String sortDirection) {
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+        return employeeRepository.findSubtree(id, Math.max(1, Math.min(maxDepth, MAX_DEPTH)),
+                PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, maxPageSize)), sort));
+    }
+}
@@ -0,0 +1,131 @@
+package com.employeems.service;
+
+import com.employeems.jdbc.QueryAccounting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statement budgets per endpoint (controller method) and the requests that went over them
+ * Budgets come from ems.query-budget.endpoints.<Controller>.<method>, falling back to
+ * ems.query-budget.default. Over-budget requests are logged with the statements they issued.
+ */
+@Service
+public class QueryBudgetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetService.class);
+
+    private static final int RECENT_VIOLATIONS = 50;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${ems.query-budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ems.query-budget.default:20}")
+    private int defaultBudget;
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final Deque<Map<String, Object>> recentViolations = new ConcurrentLinkedDeque<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(String endpoint, String pattern, QueryAccounting.Scope scope) {
+        EndpointStats stats = endpoints.computeIfAbsent(endpoint, key -> new EndpointStats(pattern,
+                environment.getProperty("ems.query-budget.endpoints." + key, Integer.class, defaultBudget)));
+        int statements = scope.getStatements();
+        stats.requests.increment();
+        stats.statements.add(statements);
+        stats.rowsRead.add(scope.getRowsRead());
+        stats.timeMicros.add(scope.getTimeMicros());
+        stats.maxStatements.accumulateAndGet(statements, Math::max);
+        if (statements <= stats.budget) {
+            return;
+        }
+
+        stats.violations.increment();
+        Map<String, Object> violation = new LinkedHashMap<>();
+        violation.put("endpoint", endpoint);
+        violation.put("pattern", pattern);
+        violation.put("statements", statements);
+        violation.put("budget", stats.budget);
+        violation.put("rowsRead", scope.getRowsRead());
+        violation.put("timeMicros", scope.getTimeMicros());
+        violation.put("at", LocalDateTime.now());
+        violation.put("sql", new ArrayList<>(scope.getSql()));
+        recentViolations.addFirst(violation);
+        while (recentViolations.size() > RECENT_VIOLATIONS) {
+            recentViolations.pollLast();
+        }
+        logger.warn("{} issued {} statements, budget {}: {}", endpoint, statements, stats.budget, scope.getSql());
+    }
+
+    public void reset() {
+        endpoints.clear();
+        recentViolations.clear();
+    }
+
+    // Per endpoint: budget, requests, statements (avg/max), rows, database time and violations
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> byEndpoint = new LinkedHashMap<>();
+        endpoints.entrySet().stream()
+                .sorted(Comparator.comparing(Map.Entry::getKey))
+                .forEach(entry -> byEndpoint.put(entry.getKey(), entry.getValue().toMap()));
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("defaultBudget", defaultBudget);
+        metrics.put("totals", QueryAccounting.getTotals());
+        metrics.put("endpoints", byEndpoint);
+        metrics.put("recentViolations", List.copyOf(recentViolations));
+        return metrics;
+    }
+
+    private static class EndpointStats {
+        private final String pattern;
+        private final int budget;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rowsRead = new LongAdder();
+        private final LongAdder timeMicros = new LongAdder();
+        private final LongAdder violations = new LongAdder();
+        private final AtomicInteger maxStatements = new AtomicInteger();
+
+        EndpointStats(String pattern, int budget) {
+            this.pattern = pattern;
+            this.budget = budget;
+        }
+
+        Map<String, Object> toMap() {
+            long count = requests.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("pattern", pattern);
+            map.put("budget", budget);
+            map.put("requests", count);
+            map.put("avgStatements", count == 0 ? 0.0 : Math.round(100.0 * statements.sum() / count) / 100.0);
+            map.put("maxStatements", maxStatements.get());
+            map.put("avgRowsRead", count == 0 ? 0 : rowsRead.sum() / count);
+            map.put("avgDbTimeMicros", count == 0 ? 0 : timeMicros.sum() / count);
+            map.put("violations", violations.sum());
+            return map;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.employeems.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single-flight for identical concurrent reads
+ * The first caller for a key runs the query; callers arriving while it is in flight wait for
+ * its result instead of sending the same query to MySQL. Keys include the employee data
+ * version, so a read that starts after a committed change never joins an older query.
+ * Every caller gets its own copy of the result, never an entity another request holds.
+ * Followers wait at most the operation's timeout (ems.coalescing.timeout-ms, or
+ * ems.coalescing.timeout-ms.<operation>), then run the query themselves.
+ */
+@Component
+public class ReadCoalescer {
+
+    @Autowired
+    private EmployeeDataVersion dataVersion;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${ems.coalescing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ems.coalescing.timeout-ms:2000}")
+    private long defaultTimeoutMs;
+
+    private final Map<String, Flight<?>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    public <T> T execute(String operation, List<?> parameters, Supplier<T> query, UnaryOperator<T> copy) {
+        if (!enabled) {
+            return query.get();
+        }
+        Stats operationStats = stats.computeIfAbsent(operation, this::newStats);
+        String key = operation + '@' + dataVersion.current() + parameters;
+        Flight<T> flight = new Flight<>(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(operationStats.timeoutMs));
+        Flight<?> existing = inFlight.putIfAbsent(key, flight);
+        if (existing == null) {
+            return lead(key, flight, query, copy, operationStats);
+        }
+        return follow(existing, query, copy, operationStats);
+    }
+
+    private <T> T lead(String key, Flight<T> flight, Supplier<T> query, UnaryOperator<T> copy, Stats operationStats) {
+        operationStats.executed.increment();
+        try {
+            T result = query.get();
+            // Followers copy from a private snapshot, the caller may still change its own result
+            flight.result.complete(result == null ? null : copy.apply(result));
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+            operationStats.recordWaiters(flight.waiters.get());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T follow(Flight<?> flight, Supplier<T> query, UnaryOperator<T> copy, Stats operationStats) {
+        long remainingNanos = flight.deadlineNanos - System.nanoTime();
+        if (remainingNanos <= 0) {
+            // The leader is already past the timeout, don't queue behind it
+            operationStats.timedOut.increment();
+            operationStats.executed.increment();
+            return query.get();
+        }
+        flight.waiters.incrementAndGet();
+        try {
+            T shared = (T) flight.result.get(remainingNanos, TimeUnit.NANOSECONDS);
+            operationStats.collapsed.increment();
+            return shared == null ? null : copy.apply(shared);
+        } catch (TimeoutException e) {
+            operationStats.timedOut.increment();
+            operationStats.executed.increment();
+            return query.get();
+        } catch (ExecutionException e) {
+            operationStats.failedShared.increment();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Shared query failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a shared query", e);
+        }
+    }
+
+    private Stats newStats(String operation) {
+        return new Stats(environment.getProperty("ems.coalescing.timeout-ms." + operation, Long.class, defaultTimeoutMs));
+    }
+
+    // Queries run vs. calls answered from another caller's query, per operation
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> operations = new LinkedHashMap<>();
+        long totalExecuted = 0;
+        long totalCollapsed = 0;
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats operationStats = entry.getValue();
+            long executed = operationStats.executed.sum();
+            long collapsed = operationStats.collapsed.sum();
+            totalExecuted += executed;
+            totalCollapsed += collapsed;
+
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("timeoutMs", operationStats.timeoutMs);
+            metrics.put("executed", executed);
+            metrics.put("collapsed", collapsed);
+            metrics.put("timedOut", operationStats.timedOut.sum());
+            metrics.put("failedShared", operationStats.failedShared.sum());
+            metrics.put("maxWaiters", operationStats.maxWaiters.get());
+            metrics.put("collapseRatio", ratio(collapsed, executed + collapsed));
+            operations.put(entry.getKey(), metrics);
+        }
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("enabled", enabled);
+        metrics.put("inFlight", inFlight.size());
+        metrics.put("executed", totalExecuted);
+        metrics.put("collapsed", totalCollapsed);
+        metrics.put("collapseRatio", ratio(totalCollapsed, totalExecuted + totalCollapsed));
+        metrics.put("operations", operations);
+        return metrics;
+    }
+
+    private static double ratio(long part, long total) {
+        return total == 0 ? 0.0 : Math.round(10_000.0 * part / total) / 10_000.0;
+    }
+
+    private static class Flight<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+        private final long deadlineNanos;
+
+        Flight(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+
+    private static class Stats {
+        private final long timeoutMs;
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder collapsed = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+        private final LongAdder failedShared = new LongAdder();
+        private final AtomicInteger maxWaiters = new AtomicInteger();
+
+        Stats(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        void recordWaiters(int waiters) {
+            maxWaiters.accumulateAndGet(waiters, Math::max);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.employeems.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches rendered HTML fragments keyed by the employee data version
+ * The model supplier is only called when the data changed since the last render.
+ * Cached fragments must not contain request-specific content such as @{...} links.
+ * Caching follows spring.thymeleaf.cache so templates stay editable in development.
+ */
+@Component
+public class ViewFragmentCache {
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Autowired
+    private EmployeeDataVersion dataVersion;
+
+    @Value("${spring.thymeleaf.cache:true}")
+    private boolean cacheEnabled;
+
+    private final Map<String, CachedFragment> fragments = new ConcurrentHashMap<>();
+
+    public String render(String template, String fragment, Supplier<Map<String, Object>> model) {
+        String key = template + "::" + fragment;
+        long version = dataVersion.current();
+
+        CachedFragment cached = fragments.get(key);
+        if (cacheEnabled && cached != null && cached.version == version) {
+            return cached.html;
+        }
+
+        Context context = new Context(LocaleContextHolder.getLocale());
+        context.setVariables(model.get());
+        String html = templateEngine.process(template, Set.of(fragment), context);
+
+        // Stored under the version read before rendering, so a concurrent change forces a re-render
+        fragments.put(key, new CachedFragment(version, html));
+        return html;
+    }
+
+    public void clear() {
+        fragments.clear();
+    }
+
+    private static class CachedFragment {
+        private final long version;
+        private final String html;
+
+        CachedFragment(long version, String html) {
+            this.version = version;
+            this.html = html;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.employeems.snapshot;
+
+import com.employeems.snapshot.SnapshotFormat.Type;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Values of one column for one block of rows
+ * Every type except STRING is held as a long: integers, booleans (0/1), epoch days,
+ * epoch microseconds (wall-clock time read as UTC) and decimals unscaled at the column scale.
+ */
+final class ColumnVector {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    final String name;
+    final Type type;
+    final int scale;
+
+    private final boolean[] nulls;
+    private final long[] longs;
+    private final String[] strings;
+    private int size;
+
+    ColumnVector(String name, Type type, int scale, int capacity) {
+        this.name = name;
+        this.type = type;
+        this.scale = scale;
+        this.nulls = new boolean[capacity];
+        this.longs = type == Type.STRING ? null : new long[capacity];
+        this.strings = type == Type.STRING ? new String[capacity] : null;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    // Append the value of column index of the current row
+    void read(ResultSet resultSet, int index) throws SQLException {
+        int row = size++;
+        if (type == Type.STRING) {
+            strings[row] = resultSet.getString(index);
+            nulls[row] = strings[row] == null;
+            return;
+        }
+        long value = switch (type) {
+            case INT64 -> resultSet.getLong(index);
+            case INT32 -> resultSet.getInt(index);
+            case BOOL -> resultSet.getBoolean(index) ? 1 : 0;
+            case DECIMAL -> {
+                BigDecimal decimal = resultSet.getBigDecimal(index);
+                yield decimal == null ? 0 : decimal.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+            }
+            case DATE -> {
+                LocalDate date = resultSet.getObject(index, LocalDate.class);
+                yield date == null ? 0 : date.toEpochDay();
+            }
+            case DATETIME -> {
+                LocalDateTime time = resultSet.getObject(index, LocalDateTime.class);
+                yield time == null ? 0 : ChronoUnit.MICROS.between(EPOCH, time);
+            }
+            default -> throw new IllegalStateException(type.name());
+        };
+        nulls[row] = resultSet.wasNull();
+        longs[row] = value;
+    }
+
+    void bind(PreparedStatement statement, int index, int row) throws SQLException {
+        if (nulls[row]) {
+            statement.setNull(index, type.sqlType);
+            return;
+        }
+        switch (type) {
+            case INT64 -> statement.setLong(index, longs[row]);
+            case INT32 -> statement.setInt(index, (int) longs[row]);
+            case BOOL -> statement.setBoolean(index, longs[row] != 0);
+            case DECIMAL -> statement.setBigDecimal(index, BigDecimal.valueOf(longs[row], scale));
+            case DATE -> statement.setDate(index, Date.valueOf(LocalDate.ofEpochDay(longs[row])));
+            case DATETIME -> statement.setTimestamp(index, Timestamp.valueOf(EPOCH.plus(longs[row], ChronoUnit.MICROS)));
+            case STRING -> statement.setString(index, strings[row]);
+        }
+    }
+
+    void encode(SnapshotBuffer out) {
+        byte[] bitmap = new byte[(size + 7) / 8];
+        for (int row = 0; row < size; row++) {
+            if (nulls[row]) {
+                bitmap[row >> 3] |= (byte) (1 << (row & 7));
+            }
+        }
+        out.putBytes(bitmap, bitmap.length);
+
+        switch (type) {
+            case STRING -> encodeStrings(out);
+            case BOOL -> {
+                byte[] bits = new byte[(size + 7) / 8];
+                for (int row = 0; row < size; row++) {
+                    if (longs[row] != 0) {
+                        bits[row >> 3] |= (byte) (1 << (row & 7));
+                    }
+                }
+                out.putBytes(bits, bits.length);
+            }
+            case INT64, DATETIME -> {
+                // Ids and timestamps are mostly increasing: small deltas
+                long previous = 0;
+                for (int row = 0; row < size; row++) {
+                    if (!nulls[row]) {
+                        out.putZigZag(longs[row] - previous);
+                        previous = longs[row];
+                    }
+                }
+            }
+            default -> {
+                for (int row = 0; row < size; row++) {
+                    if (!nulls[row]) {
+                        out.putZigZag(longs[row]);
+                    }
+                }
+            }
+        }
+    }
+
+    private void encodeStrings(SnapshotBuffer out) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        int nonNull = 0;
+        for (int row = 0; row < size; row++) {
+            if (!nulls[row]) {
+                nonNull++;
+                dictionary.putIfAbsent(strings[row], dictionary.size());
+            }
+        }
+        if (dictionary.size() * 4 > nonNull) {
+            out.putByte(SnapshotFormat.PLAIN);
+            for (int row = 0; row < size; row++) {
+                if (!nulls[row]) {
+                    out.putString(strings[row]);
+                }
+            }
+            return;
+        }
+        out.putByte(SnapshotFormat.DICTIONARY);
+        out.putVarLong(dictionary.size());
+        String[] entries = new String[dictionary.size()];
+        dictionary.forEach((value, code) -> entries[code] = value);
+        for (String entry : entries) {
+            out.putString(entry);
+        }
+        for (int row = 0; row < size; row++) {
+            if (!nulls[row]) {
+                out.putVarLong(dictionary.get(strings[row]));
+            }
+        }
+    }
+
+    void decode(ByteBuffer in, int rows) {
+        size = rows;
+        byte[] bitmap = new byte[(rows + 7) / 8];
+        in.get(bitmap);
+        for (int row = 0; row < rows; row++) {
+            nulls[row] = (bitmap[row >> 3] & (1 << (row & 7))) != 0;
+        }
+
+        switch (type) {
+            case STRING -> decodeStrings(in);
+            case BOOL -> {
+                byte[] bits = new byte[(rows + 7) / 8];
+                in.get(bits);
+                for (int row = 0; row < rows; row++) {
+                    longs[row] = (bits[row >> 3] >> (row & 7)) & 1;
+                }
+            }
+            case INT64, DATETIME -> {
+                long previous = 0;
+                for (int row = 0; row < rows; row++) {
+                    if (!nulls[row]) {
+                        previous += SnapshotBuffer.getZigZag(in);
+                        longs[row] = previous;
+                    }
+                }
+            }
+            default -> {
+                for (int row = 0; row < rows; row++) {
+                    longs[row] = nulls[row] ? 0 : SnapshotBuffer.getZigZag(in);
+                }
+            }
+        }
+    }
+
+    private void decodeStrings(ByteBuffer in) {
+        byte encoding = in.get();
+        if (encoding == SnapshotFormat.PLAIN) {
+            for (int row = 0; row < size; row++) {
+                strings[row] = nulls[row] ? null : SnapshotBuffer.getString(in);
+            }
+            return;
+        }
+        if (encoding != SnapshotFormat.DICTIONARY) {
+            throw new IllegalArgumentException("Unknown string encoding " + encoding + " in column " + name);
+        }
+        int entries = SnapshotBuffer.getLength(in);
+        List<String> dictionary = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            dictionary.add(SnapshotBuffer.getString(in));
+        }
+        for (int row = 0; row < size; row++) {
+            strings[row] = nulls[row] ? null : dictionary.get((int) SnapshotBuffer.getVarLong(in));
+        }
+    }
+
+    int capacity() {
+        return nulls.length;
+    }
+}
@@ -0,0 +1,95 @@
+package com.employeems.snapshot;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Growable heap buffer for encoding frame payloads, plus the matching decode helpers
+ */
+final class SnapshotBuffer {
+
+    private ByteBuffer buffer;
+
+    SnapshotBuffer(int initialCapacity) {
+        buffer = ByteBuffer.allocate(initialCapacity);
+    }
+
+    void clear() {
+        buffer.clear();
+    }
+
+    // Encoded bytes, ready to be written
+    ByteBuffer flip() {
+        return buffer.flip();
+    }
+
+    void putByte(int value) {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    void putBytes(byte[] bytes, int length) {
+        ensure(length);
+        buffer.put(bytes, 0, length);
+    }
+
+    void putVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    void putZigZag(long value) {
+        putVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void putString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarLong(bytes.length);
+        putBytes(bytes, bytes.length);
+    }
+
+    private void ensure(int extra) {
+        if (buffer.remaining() < extra) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + extra));
+            grown.put(buffer.flip());
+            buffer = grown;
+        }
+    }
+
+    static long getVarLong(ByteBuffer in) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new BufferUnderflowException();
+    }
+
+    static long getZigZag(ByteBuffer in) {
+        long value = getVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static int getLength(ByteBuffer in) {
+        long length = getVarLong(in);
+        if (length < 0 || length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return (int) length;
+    }
+
+    static String getString(ByteBuffer in) {
+        int length = getLength(in);
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+}
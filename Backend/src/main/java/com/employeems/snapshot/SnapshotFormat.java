@@ -0,0 +1,78 @@
+package com.employeems.snapshot;
+
+import java.sql.Types;
+
+/**
+ * Layout of an employee dataset snapshot file (.emss)
+ * <pre>
+ * file     := MAGIC version:int32 frame*
+ * frame    := length:int32 crc32c:int32 payload      (crc32c of payload)
+ * payload  := TABLE name columns:varint (name type:byte scale:varint)*
+ *           | BLOCK rows:varint column*               (columns in TABLE order)
+ *           | END_TABLE rows:varint
+ *           | END_FILE tables:varint
+ * column   := nulls:bitmap values                     (values of the non-null rows only)
+ * </pre>
+ * Values are stored per column: integers, dates and decimals (unscaled, at the column scale) as
+ * zig-zag varints, ids and timestamps as deltas to the previous row, booleans as bits, strings
+ * plain or through a per-block dictionary when they repeat (departments, positions).
+ * Strings are UTF-8 with a varint length; all fixed-width numbers are big-endian.
+ */
+final class SnapshotFormat {
+
+    static final byte[] MAGIC = {'E', 'M', 'S', 'S', 'N', 'A', 'P', 0};
+    static final int VERSION = 1;
+
+    static final byte TABLE = 1;
+    static final byte BLOCK = 2;
+    static final byte END_TABLE = 3;
+    static final byte END_FILE = 4;
+
+    static final byte PLAIN = 0;
+    static final byte DICTIONARY = 1;
+
+    private SnapshotFormat() {
+    }
+
+    enum Type {
+        INT64(1, Types.BIGINT),
+        INT32(2, Types.INTEGER),
+        BOOL(3, Types.BOOLEAN),
+        DECIMAL(4, Types.DECIMAL),
+        DATE(5, Types.DATE),
+        DATETIME(6, Types.TIMESTAMP),
+        STRING(7, Types.VARCHAR);
+
+        final byte code;
+        final int sqlType;
+
+        Type(int code, int sqlType) {
+            this.code = (byte) code;
+            this.sqlType = sqlType;
+        }
+
+        static Type of(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown column type " + code);
+        }
+
+        // Column type for a JDBC type; binary columns are not supported
+        static Type forJdbcType(int jdbcType, String column) {
+            return switch (jdbcType) {
+                case Types.BIGINT -> INT64;
+                case Types.INTEGER, Types.SMALLINT, Types.TINYINT -> INT32;
+                case Types.BIT, Types.BOOLEAN -> BOOL;
+                case Types.DECIMAL, Types.NUMERIC -> DECIMAL;
+                case Types.DATE -> DATE;
+                case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> DATETIME;
+                case Types.CHAR, Types.VARCHAR, Types.LONGVARCHAR, Types.NCHAR, Types.NVARCHAR, Types.LONGNVARCHAR,
+                     Types.CLOB -> STRING;
+                default -> throw new IllegalArgumentException("Column " + column + " has unsupported JDBC type " + jdbcType);
+            };
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package com.employeems.snapshot;
+
+import com.employeems.snapshot.SnapshotFormat.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+/**
+ * Loads a snapshot file back into its tables with multi-row INSERTs over plain JDBC
+ * Each table is emptied first. Its secondary indexes are dropped for the load and added back
+ * in one ALTER TABLE at the end, with unique and foreign key checks off for the session, so
+ * InnoDB builds every index once from sorted data instead of updating it row by row.
+ * The whole file (every frame checksum, the frame sequence and row counts) is verified in a first
+ * pass before any table is touched, so a corrupt or truncated file fails with an IOException and
+ * leaves the database as it was. Indexes that can't be added back (duplicates loaded while unique
+ * checks were off) fail the restore.
+ * Snapshot columns missing from the target table are skipped; extra target columns get their defaults.
+ */
+public class SnapshotRestorer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotRestorer.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private static final int MAX_FRAME_BYTES = 256 * 1024 * 1024;
+    private static final int MAX_PLACEHOLDERS = 65_535;
+
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final ByteBuffer frameHeader = ByteBuffer.allocate(8);
+    private ByteBuffer frame = ByteBuffer.allocate(1 << 20);
+
+    public SnapshotRestorer(DataSource dataSource) {
+        this(dataSource, DEFAULT_BATCH_SIZE);
+    }
+
+    public SnapshotRestorer(DataSource dataSource, int batchSize) {
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+    }
+
+    public SnapshotResult restore(Path file) throws SQLException, IOException {
+        long start = System.nanoTime();
+        Map<String, Long> rows = new LinkedHashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             Connection connection = dataSource.getConnection()) {
+            Map<String, Long> expectedRows = verify(channel);
+            logger.info("Verified {}: {}", file, expectedRows);
+            channel.position(0);
+            readHeader(channel);
+            boolean autoCommit = connection.getAutoCommit();
+            execute(connection, "SET unique_checks = 0, foreign_key_checks = 0");
+            TableLoad load = null;
+            Exception failure = null;
+            try {
+                connection.setAutoCommit(false);
+                while (true) {
+                    ByteBuffer payload = readFrame(channel);
+                    byte kind = payload.get();
+                    if (kind == SnapshotFormat.TABLE) {
+                        load = new TableLoad(connection, payload);
+                    } else if (kind == SnapshotFormat.BLOCK && load != null) {
+                        load.insertBlock(payload);
+                        connection.commit();
+                    } else if (kind == SnapshotFormat.END_TABLE && load != null) {
+                        long expected = SnapshotBuffer.getVarLong(payload);
+                        if (expected != load.rows) {
+                            throw new IOException("Table " + load.table + " has " + load.rows + " rows, snapshot says " + expected);
+                        }
+                        load.finish();
+                        rows.put(load.table, load.rows);
+                        load = null;
+                    } else if (kind == SnapshotFormat.END_FILE && load == null) {
+                        if (SnapshotBuffer.getVarLong(payload) != rows.size()) {
+                            throw new IOException("Snapshot is missing tables");
+                        }
+                        break;
+                    } else {
+                        throw new IOException("Unexpected frame type " + kind);
+                    }
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                connection.rollback();
+                failure = new IOException("Corrupt snapshot " + file + ": " + e, e);
+                throw (IOException) failure;
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                failure = e;
+                throw e;
+            } finally {
+                if (load != null) {
+                    try {
+                        load.restoreIndexes();
+                    } catch (SQLException e) {
+                        // Reported with the original failure, which is what the caller sees
+                        if (failure != null) {
+                            failure.addSuppressed(e);
+                        }
+                    }
+                }
+                connection.setAutoCommit(autoCommit);
+                execute(connection, "SET unique_checks = 1, foreign_key_checks = 1");
+            }
+        }
+        return new SnapshotResult(rows, Files.size(file), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // First pass: checksums, frame order and row counts of the whole file, before any table is touched
+    private Map<String, Long> verify(FileChannel channel) throws IOException {
+        readHeader(channel);
+        Map<String, Long> tables = new LinkedHashMap<>();
+        String table = null;
+        long rows = 0;
+        try {
+            while (true) {
+                ByteBuffer payload = readFrame(channel);
+                byte kind = payload.get();
+                if (kind == SnapshotFormat.TABLE && table == null) {
+                    table = SnapshotBuffer.getString(payload);
+                    if (!SnapshotWriter.TABLE_NAME.matcher(table).matches() || tables.containsKey(table)) {
+                        throw new IOException("Corrupt snapshot: invalid or repeated table " + table);
+                    }
+                    rows = 0;
+                } else if (kind == SnapshotFormat.BLOCK && table != null) {
+                    rows += SnapshotBuffer.getLength(payload);
+                } else if (kind == SnapshotFormat.END_TABLE && table != null) {
+                    long expected = SnapshotBuffer.getVarLong(payload);
+                    if (expected != rows) {
+                        throw new IOException("Corrupt snapshot: table " + table + " has " + rows + " rows, snapshot says " + expected);
+                    }
+                    tables.put(table, rows);
+                    table = null;
+                } else if (kind == SnapshotFormat.END_FILE && table == null) {
+                    if (SnapshotBuffer.getVarLong(payload) != tables.size()) {
+                        throw new IOException("Corrupt snapshot: missing tables");
+                    }
+                    if (channel.position() != channel.size()) {
+                        throw new IOException("Corrupt snapshot: data after the end of the snapshot");
+                    }
+                    return tables;
+                } else {
+                    throw new IOException("Corrupt snapshot: unexpected frame type " + kind);
+                }
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupt snapshot: " + e, e);
+        }
+    }
+
+    private static void readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.MAGIC.length + 4);
+        readFully(channel, header);
+        byte[] magic = new byte[SnapshotFormat.MAGIC.length];
+        header.flip().get(magic);
+        if (!Arrays.equals(magic, SnapshotFormat.MAGIC)) {
+            throw new IOException("Not a snapshot file");
+        }
+        int version = header.getInt();
+        if (version != SnapshotFormat.VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+    }
+
+    // Next frame payload, checksum verified
+    private ByteBuffer readFrame(FileChannel channel) throws IOException {
+        readFully(channel, frameHeader.clear());
+        int length = frameHeader.flip().getInt();
+        int checksum = frameHeader.getInt();
+        if (length <= 0 || length > MAX_FRAME_BYTES) {
+            throw new IOException("Corrupt snapshot: frame length " + length);
+        }
+        if (frame.capacity() < length) {
+            frame = ByteBuffer.allocate(Math.max(length, frame.capacity() * 2));
+        }
+        frame.clear().limit(length);
+        readFully(channel, frame);
+        frame.flip();
+        CRC32C crc = new CRC32C();
+        crc.update(frame.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Corrupt snapshot: checksum mismatch at offset " + (channel.position() - length));
+        }
+        return frame;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Snapshot file is truncated");
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * One table being restored: column vectors, insert statement and its deferred indexes
+     */
+    private class TableLoad {
+        private final Connection connection;
+        private final String table;
+        private final ColumnVector[] columns;
+        private final int[] insertedColumns;
+        private final int rowsPerStatement;
+        private final PreparedStatement fullBatch;
+        private final long start = System.nanoTime();
+        private List<String> deferredIndexes = List.of();
+        private long rows;
+
+        TableLoad(Connection connection, ByteBuffer payload) throws SQLException {
+            this.connection = connection;
+            this.table = SnapshotBuffer.getString(payload);
+            if (!SnapshotWriter.TABLE_NAME.matcher(table).matches()) {
+                throw new IllegalArgumentException("Invalid table name: " + table);
+            }
+            int columnCount = SnapshotBuffer.getLength(payload);
+            this.columns = new ColumnVector[columnCount];
+            int capacity = 0;
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < columnCount; i++) {
+                String name = SnapshotBuffer.getString(payload);
+                Type type = Type.of(payload.get());
+                names.add(name);
+                columns[i] = new ColumnVector(name, type, (int) SnapshotBuffer.getVarLong(payload), 0);
+            }
+
+            Set<String> targetColumns = targetColumns();
+            List<Integer> inserted = new ArrayList<>();
+            for (int i = 0; i < columnCount; i++) {
+                if (targetColumns.contains(names.get(i).toLowerCase(Locale.ROOT))) {
+                    inserted.add(i);
+                } else {
+                    logger.warn("Column {}.{} no longer exists, skipped", table, names.get(i));
+                }
+            }
+            this.insertedColumns = inserted.stream().mapToInt(Integer::intValue).toArray();
+            this.rowsPerStatement = Math.max(1, Math.min(batchSize, MAX_PLACEHOLDERS / Math.max(1, insertedColumns.length)));
+
+            execute(connection, "TRUNCATE TABLE `" + table + "`");
+            deferIndexes();
+            this.fullBatch = connection.prepareStatement(insertSql(rowsPerStatement));
+        }
+
+        private Set<String> targetColumns() throws SQLException {
+            Set<String> names = new HashSet<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SELECT * FROM `" + table + "` WHERE 1 = 0")) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    names.add(metaData.getColumnName(i).toLowerCase(Locale.ROOT));
+                }
+            }
+            return names;
+        }
+
+        // Drop secondary indexes, remembering how to add them back
+        private void deferIndexes() throws SQLException {
+            Map<String, List<String>> indexColumns = new LinkedHashMap<>();
+            Map<String, String> indexKinds = new LinkedHashMap<>();
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("SHOW INDEX FROM `" + table + "`")) {
+                while (resultSet.next()) {
+                    String name = resultSet.getString("Key_name");
+                    String column = resultSet.getString("Column_name");
+                    if ("PRIMARY".equals(name)) {
+                        continue;
+                    }
+                    if (column == null) {
+                        // Functional index: leave all indexes in place rather than guess its definition
+                        logger.info("{} has a functional index, loading with indexes in place", table);
+                        return;
+                    }
+                    String subPart = resultSet.getString("Sub_part");
+                    indexColumns.computeIfAbsent(name, key -> new ArrayList<>())
+                            .add("`" + column + "`" + (subPart == null ? "" : "(" + subPart + ")"));
+                    indexKinds.put(name, "FULLTEXT".equals(resultSet.getString("Index_type")) ? "FULLTEXT INDEX"
+                            : resultSet.getInt("Non_unique") == 0 ? "UNIQUE INDEX" : "INDEX");
+                }
+            }
+            if (indexColumns.isEmpty()) {
+                return;
+            }
+            List<String> definitions = new ArrayList<>();
+            List<String> drops = new ArrayList<>();
+            indexColumns.forEach((name, indexed) -> {
+                definitions.add("ADD " + indexKinds.get(name) + " `" + name + "` (" + String.join(", ", indexed) + ")");
+                drops.add("DROP INDEX `" + name + "`");
+            });
+            try {
+                execute(connection, "ALTER TABLE `" + table + "` " + String.join(", ", drops));
+                deferredIndexes = definitions;
+            } catch (SQLException e) {
+                logger.warn("Could not drop the indexes of {}, loading with indexes in place: {}", table, e.getMessage());
+            }
+        }
+
+        void insertBlock(ByteBuffer payload) throws SQLException {
+            int blockRows = SnapshotBuffer.getLength(payload);
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i].capacity() < blockRows) {
+                    columns[i] = new ColumnVector(columns[i].name, columns[i].type, columns[i].scale, blockRows);
+                }
+                columns[i].decode(payload, blockRows);
+            }
+            for (int first = 0; first < blockRows; first += rowsPerStatement) {
+                int count = Math.min(rowsPerStatement, blockRows - first);
+                if (count == rowsPerStatement) {
+                    bindAndExecute(fullBatch, first, count);
+                } else {
+                    try (PreparedStatement lastBatch = connection.prepareStatement(insertSql(count))) {
+                        bindAndExecute(lastBatch, first, count);
+                    }
+                }
+            }
+            rows += blockRows;
+        }
+
+        private void bindAndExecute(PreparedStatement statement, int first, int count) throws SQLException {
+            int p = 1;
+            for (int row = first; row < first + count; row++) {
+                for (int column : insertedColumns) {
+                    columns[column].bind(statement, p++, row);
+                }
+            }
+            statement.executeUpdate();
+        }
+
+        private String insertSql(int rowCount) {
+            StringBuilder sql = new StringBuilder("INSERT INTO `").append(table).append("` (");
+            StringBuilder placeholders = new StringBuilder("(");
+            for (int i = 0; i < insertedColumns.length; i++) {
+                sql.append(i > 0 ? ", `" : "`").append(columns[insertedColumns[i]].name).append('`');
+                placeholders.append(i > 0 ? ", ?" : "?");
+            }
+            placeholders.append(')');
+            sql.append(") VALUES ");
+            for (int i = 0; i < rowCount; i++) {
+                sql.append(i > 0 ? ", " : "").append(placeholders);
+            }
+            return sql.toString();
+        }
+
+        void finish() throws SQLException {
+            fullBatch.close();
+            long loadedMs = (System.nanoTime() - start) / 1_000_000;
+            restoreIndexes();
+            logger.info("Restored {}: {} rows in {} ms, indexes rebuilt in {} ms", table, rows, loadedMs,
+                    (System.nanoTime() - start) / 1_000_000 - loadedMs);
+        }
+
+        // All deferred indexes in one ALTER TABLE: one pass over the table
+        void restoreIndexes() throws SQLException {
+            if (!deferredIndexes.isEmpty()) {
+                List<String> definitions = deferredIndexes;
+                deferredIndexes = List.of();
+                try {
+                    execute(connection, "ALTER TABLE `" + table + "` " + String.join(", ", definitions));
+                } catch (SQLException e) {
+                    // e.g. duplicate emails loaded with unique_checks off: the table must not stay without its unique index
+                    logger.error("{} is loaded but has none of its secondary indexes ({}), restore failed", table, definitions);
+                    throw new SQLException("Could not add back the indexes of " + table + " " + definitions + ": "
+                            + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+                }
+            }
+        }
+    }
+}
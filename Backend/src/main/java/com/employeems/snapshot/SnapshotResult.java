@@ -0,0 +1,25 @@
+package com.employeems.snapshot;
+
+import java.util.Map;
+
+/**
+ * Rows per table, file size and elapsed time of a snapshot or restore
+ */
+public record SnapshotResult(Map<String, Long> rows, long bytes, long millis) {
+
+    public long totalRows() {
+        return rows.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public double megabytes() {
+        return bytes / (1024.0 * 1024.0);
+    }
+
+    public double megabytesPerSecond() {
+        return millis == 0 ? megabytes() : megabytes() * 1000 / millis;
+    }
+
+    public long rowsPerSecond() {
+        return millis == 0 ? totalRows() : totalRows() * 1000 / millis;
+    }
+}
@@ -0,0 +1,104 @@
+package com.employeems.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Command-line snapshot and restore, active with the "snapshot" profile:
+ *   java -jar target/employee-management-system-1.0.0.jar --spring.profiles.active=snapshot \
+ *        --ems.snapshot.mode=create --ems.snapshot.file=/backups/employees.emss
+ *   java -jar target/employee-management-system-1.0.0.jar --spring.profiles.active=snapshot \
+ *        --ems.snapshot.mode=restore --ems.snapshot.file=/backups/employees.emss
+ * Runs after the schema check, reports rows and MB/s, and exits.
+ */
+@Component
+@Profile("snapshot")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class SnapshotRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotRunner.class);
+
+    // Derived from employees; emptied after a restore so they are rebuilt on the next start
+    private static final List<String> DERIVED_TABLES = List.of("employee_read_model", "employee_hierarchy");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    // create or restore
+    @Value("${ems.snapshot.mode:create}")
+    private String mode;
+
+    @Value("${ems.snapshot.file:employees.emss}")
+    private String file;
+
+    // Source-of-truth tables; add new ones (payroll...) here
+    @Value("${ems.snapshot.tables:employees,employees_archive,headcount_snapshots,leave_balances,leave_accrual_runs}")
+    private List<String> tables;
+
+    @Value("${ems.snapshot.block-rows:8192}")
+    private int blockRows;
+
+    @Value("${ems.snapshot.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${ems.snapshot.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    @Override
+    public void run(String... args) throws Exception {
+        Path path = Path.of(file);
+        switch (mode) {
+            case "create" -> {
+                logger.info("Writing snapshot of {} to {}", tables, path);
+                SnapshotResult result = new SnapshotWriter(dataSource, blockRows).write(tables, path);
+                report("Wrote", result);
+            }
+            case "restore" -> {
+                logger.info("Restoring snapshot {}", path);
+                SnapshotResult result = new SnapshotRestorer(dataSource, batchSize).restore(path);
+                if (result.rows().containsKey("employees")) {
+                    clearDerivedTables();
+                }
+                report("Restored", result);
+            }
+            default -> throw new IllegalArgumentException("Unknown ems.snapshot.mode: " + mode + " (create or restore)");
+        }
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private void clearDerivedTables() throws Exception {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String table : DERIVED_TABLES) {
+                statement.execute("DELETE FROM " + table);
+            }
+        }
+        logger.info("Emptied {}, rebuilt on the next start", DERIVED_TABLES);
+    }
+
+    private static void report(String action, SnapshotResult result) {
+        logger.info("{} {} rows {} ({} MB) in {} ms: {} MB/s, {} rows/s", action, result.totalRows(), result.rows(),
+                String.format("%.1f", result.megabytes()), result.millis(),
+                String.format("%.1f", result.megabytesPerSecond()), result.rowsPerSecond());
+    }
+}
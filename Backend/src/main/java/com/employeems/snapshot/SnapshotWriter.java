@@ -0,0 +1,171 @@
+package com.employeems.snapshot;
+
+import com.employeems.snapshot.SnapshotFormat.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+
+/**
+ * Writes tables to a snapshot file (see SnapshotFormat) through a FileChannel
+ * All tables are read in one REPEATABLE READ transaction, so the file is consistent across
+ * tables while the application keeps writing. Rows are streamed from MySQL and encoded one
+ * block at a time; the file is written under a temporary name and moved into place when complete.
+ */
+public class SnapshotWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotWriter.class);
+
+    public static final int DEFAULT_BLOCK_ROWS = 8192;
+
+    static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z0-9_]+");
+
+    private final DataSource dataSource;
+    private final int blockRows;
+    private final SnapshotBuffer payload = new SnapshotBuffer(1 << 20);
+    private final ByteBuffer frameHeader = ByteBuffer.allocate(8);
+
+    public SnapshotWriter(DataSource dataSource) {
+        this(dataSource, DEFAULT_BLOCK_ROWS);
+    }
+
+    public SnapshotWriter(DataSource dataSource, int blockRows) {
+        this.dataSource = dataSource;
+        this.blockRows = blockRows;
+    }
+
+    public SnapshotResult write(List<String> tables, Path file) throws SQLException, IOException {
+        long start = System.nanoTime();
+        Map<String, Long> rows = new LinkedHashMap<>();
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Connection connection = dataSource.getConnection();
+             FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, ByteBuffer.allocate(SnapshotFormat.MAGIC.length + 4)
+                    .put(SnapshotFormat.MAGIC).putInt(SnapshotFormat.VERSION).flip());
+
+            boolean autoCommit = connection.getAutoCommit();
+            int isolation = connection.getTransactionIsolation();
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            connection.setAutoCommit(false);
+            try {
+                for (String table : tables) {
+                    rows.put(table, writeTable(connection, table, channel));
+                }
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(autoCommit);
+                connection.setTransactionIsolation(isolation);
+            }
+
+            payload.clear();
+            payload.putByte(SnapshotFormat.END_FILE);
+            payload.putVarLong(tables.size());
+            writeFrame(channel);
+            channel.force(true);
+        } catch (SQLException | IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new SnapshotResult(rows, Files.size(file), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private long writeTable(Connection connection, String table, FileChannel channel) throws SQLException, IOException {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid table name: " + table);
+        }
+        long start = System.nanoTime();
+        long rows = 0;
+        try (Statement statement = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // MySQL streams the rows instead of buffering the whole table in memory
+            statement.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet resultSet = statement.executeQuery("SELECT * FROM `" + table + "`")) {
+                ResultSetMetaData metaData = resultSet.getMetaData();
+                ColumnVector[] columns = new ColumnVector[metaData.getColumnCount()];
+                payload.clear();
+                payload.putByte(SnapshotFormat.TABLE);
+                payload.putString(table);
+                payload.putVarLong(columns.length);
+                for (int i = 0; i < columns.length; i++) {
+                    String name = metaData.getColumnName(i + 1);
+                    Type type = Type.forJdbcType(metaData.getColumnType(i + 1), table + "." + name);
+                    int scale = type == Type.DECIMAL ? Math.max(0, metaData.getScale(i + 1)) : 0;
+                    columns[i] = new ColumnVector(name, type, scale, blockRows);
+                    payload.putString(name);
+                    payload.putByte(type.code);
+                    payload.putVarLong(scale);
+                }
+                writeFrame(channel);
+
+                int blockSize = 0;
+                while (resultSet.next()) {
+                    for (int i = 0; i < columns.length; i++) {
+                        columns[i].read(resultSet, i + 1);
+                    }
+                    if (++blockSize == blockRows) {
+                        writeBlock(channel, columns, blockSize);
+                        rows += blockSize;
+                        blockSize = 0;
+                    }
+                }
+                if (blockSize > 0) {
+                    writeBlock(channel, columns, blockSize);
+                    rows += blockSize;
+                }
+            }
+        }
+        payload.clear();
+        payload.putByte(SnapshotFormat.END_TABLE);
+        payload.putVarLong(rows);
+        writeFrame(channel);
+        logger.info("Snapshot of {}: {} rows in {} ms", table, rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    private void writeBlock(FileChannel channel, ColumnVector[] columns, int rows) throws IOException {
+        payload.clear();
+        payload.putByte(SnapshotFormat.BLOCK);
+        payload.putVarLong(rows);
+        for (ColumnVector column : columns) {
+            column.encode(payload);
+            column.clear();
+        }
+        writeFrame(channel);
+    }
+
+    // length, CRC32C of the payload, payload
+    private void writeFrame(FileChannel channel) throws IOException {
+        ByteBuffer body = payload.flip();
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        frameHeader.clear().putInt(body.remaining()).putInt((int) crc.getValue()).flip();
+        ByteBuffer[] buffers = {frameHeader, body};
+        while (body.hasRemaining()) {
+            channel.write(buffers);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
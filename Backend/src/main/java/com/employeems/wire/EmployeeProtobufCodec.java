@@ -0,0 +1,265 @@
+package com.employeems.wire;
+
+import com.employeems.entity.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Protocol Buffers encoding of Employee and of the response envelopes built by the REST controllers
+ * Field ids follow static/schema/employee.proto and must never be renumbered or reused.
+ * Envelope keys with a schema field are encoded natively; any other key (facets, counts...)
+ * travels in the extra map as JSON text, so no response content is lost.
+ */
+public final class EmployeeProtobufCodec {
+
+    public static final String SCHEMA_PATH = "/schema/employee.proto";
+    public static final String EMPLOYEE_MESSAGE = "employeems.v1.Employee";
+    public static final String ENVELOPE_MESSAGE = "employeems.v1.EmployeeEnvelope";
+
+    // Employee
+    private static final int ID = 1;
+    private static final int FIRST_NAME = 2;
+    private static final int LAST_NAME = 3;
+    private static final int EMAIL = 4;
+    private static final int DEPARTMENT = 5;
+    private static final int POSITION = 6;
+    private static final int HIRE_DATE = 7;
+    private static final int SALARY_CENTS = 8;
+    private static final int ACTIVE = 9;
+    private static final int MANAGER_ID = 10;
+    private static final int CREATED_AT = 11;
+    private static final int UPDATED_AT = 12;
+
+    // EmployeeEnvelope
+    private static final int EMPLOYEES = 1;
+    private static final int EMPLOYEE = 2;
+    private static final int CURRENT_PAGE = 3;
+    private static final int TOTAL_ITEMS = 4;
+    private static final int TOTAL_PAGES = 5;
+    private static final int HAS_NEXT = 6;
+    private static final int HAS_PREVIOUS = 7;
+    private static final int PAGE_SIZE = 8;
+    private static final int MESSAGE = 9;
+    private static final int ERROR = 10;
+    private static final int EXTRA = 15;
+
+    private EmployeeProtobufCodec() {
+    }
+
+    public static byte[] encodeEmployee(Employee employee) {
+        ProtoWriter out = new ProtoWriter();
+        writeEmployee(out, employee);
+        return out.toByteArray();
+    }
+
+    public static Employee decodeEmployee(byte[] bytes) {
+        return readEmployee(new ProtoReader(bytes));
+    }
+
+    public static byte[] encodeEnvelope(Map<String, ?> envelope, ObjectMapper objectMapper) throws JsonProcessingException {
+        ProtoWriter out = new ProtoWriter(4096);
+        writeEnvelope(out, envelope, objectMapper);
+        return out.toByteArray();
+    }
+
+    public static Map<String, Object> decodeEnvelope(byte[] bytes, ObjectMapper objectMapper) throws JsonProcessingException {
+        return readEnvelope(new ProtoReader(bytes), objectMapper);
+    }
+
+    // Null fields are left out; salary as cents, dates as epoch days, timestamps as epoch millis (UTC)
+    public static void writeEmployee(ProtoWriter out, Employee employee) {
+        if (employee.getId() != null) {
+            out.writeInt64(ID, employee.getId());
+        }
+        writeString(out, FIRST_NAME, employee.getFirstName());
+        writeString(out, LAST_NAME, employee.getLastName());
+        writeString(out, EMAIL, employee.getEmail());
+        writeString(out, DEPARTMENT, employee.getDepartment());
+        writeString(out, POSITION, employee.getPosition());
+        if (employee.getHireDate() != null) {
+            out.writeSInt64(HIRE_DATE, employee.getHireDate().toEpochDay());
+        }
+        if (employee.getSalary() != null) {
+            out.writeSInt64(SALARY_CENTS, employee.getSalary().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        }
+        if (employee.getIsActive() != null) {
+            out.writeBool(ACTIVE, employee.getIsActive());
+        }
+        if (employee.getManagerId() != null) {
+            out.writeInt64(MANAGER_ID, employee.getManagerId());
+        }
+        if (employee.getCreatedAt() != null) {
+            out.writeInt64(CREATED_AT, epochMillis(employee.getCreatedAt()));
+        }
+        if (employee.getUpdatedAt() != null) {
+            out.writeInt64(UPDATED_AT, epochMillis(employee.getUpdatedAt()));
+        }
+    }
+
+    public static Employee readEmployee(ProtoReader in) {
+        Employee employee = new Employee();
+        while (in.hasMore()) {
+            int tag = in.readTag();
+            switch (ProtoReader.fieldOf(tag)) {
+                case ID -> employee.setId(in.readInt64());
+                case FIRST_NAME -> employee.setFirstName(in.readString());
+                case LAST_NAME -> employee.setLastName(in.readString());
+                case EMAIL -> employee.setEmail(in.readString());
+                case DEPARTMENT -> employee.setDepartment(in.readString());
+                case POSITION -> employee.setPosition(in.readString());
+                case HIRE_DATE -> employee.setHireDate(fromEpochDay(in.readSInt64()));
+                case SALARY_CENTS -> employee.setSalary(BigDecimal.valueOf(in.readSInt64(), 2));
+                case ACTIVE -> employee.setIsActive(in.readBool());
+                case MANAGER_ID -> employee.setManagerId(in.readInt64());
+                case CREATED_AT -> employee.setCreatedAt(fromEpochMillis(in.readInt64()));
+                case UPDATED_AT -> employee.setUpdatedAt(fromEpochMillis(in.readInt64()));
+                default -> in.skip(tag);
+            }
+        }
+        return employee;
+    }
+
+    public static void writeEnvelope(ProtoWriter out, Map<String, ?> envelope, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        ProtoWriter nested = new ProtoWriter();
+        for (Map.Entry<String, ?> entry : envelope.entrySet()) {
+            Object value = entry.getValue();
+            if (value != null && !writeKnownField(out, nested, entry.getKey(), value)) {
+                nested.reset();
+                nested.writeString(1, entry.getKey());
+                nested.writeString(2, objectMapper.writeValueAsString(value));
+                out.writeMessage(EXTRA, nested);
+            }
+        }
+    }
+
+    // Only when the value has the schema's type; anything else goes to extra
+    private static boolean writeKnownField(ProtoWriter out, ProtoWriter nested, String key, Object value) {
+        switch (key) {
+            case "employees" -> {
+                if (!(value instanceof List<?> list) || !list.stream().allMatch(Employee.class::isInstance)) {
+                    return false;
+                }
+                for (Object employee : list) {
+                    nested.reset();
+                    writeEmployee(nested, (Employee) employee);
+                    out.writeMessage(EMPLOYEES, nested);
+                }
+            }
+            case "employee" -> {
+                if (!(value instanceof Employee employee)) {
+                    return false;
+                }
+                nested.reset();
+                writeEmployee(nested, employee);
+                out.writeMessage(EMPLOYEE, nested);
+            }
+            case "currentPage", "totalPages", "pageSize" -> {
+                if (!(value instanceof Integer number)) {
+                    return false;
+                }
+                out.writeInt32(key.equals("currentPage") ? CURRENT_PAGE : key.equals("totalPages") ? TOTAL_PAGES : PAGE_SIZE, number);
+            }
+            case "totalItems" -> {
+                if (!(value instanceof Long || value instanceof Integer)) {
+                    return false;
+                }
+                out.writeInt64(TOTAL_ITEMS, ((Number) value).longValue());
+            }
+            case "hasNext", "hasPrevious" -> {
+                if (!(value instanceof Boolean flag)) {
+                    return false;
+                }
+                out.writeBool(key.equals("hasNext") ? HAS_NEXT : HAS_PREVIOUS, flag);
+            }
+            case "message", "error" -> {
+                if (!(value instanceof String text)) {
+                    return false;
+                }
+                out.writeString(key.equals("message") ? MESSAGE : ERROR, text);
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static Map<String, Object> readEnvelope(ProtoReader in, ObjectMapper objectMapper) throws JsonProcessingException {
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        List<Employee> employees = null;
+        while (in.hasMore()) {
+            int tag = in.readTag();
+            switch (ProtoReader.fieldOf(tag)) {
+                case EMPLOYEES -> {
+                    if (employees == null) {
+                        employees = new ArrayList<>();
+                        envelope.put("employees", employees);
+                    }
+                    employees.add(readEmployee(in.readMessage()));
+                }
+                case EMPLOYEE -> envelope.put("employee", readEmployee(in.readMessage()));
+                case CURRENT_PAGE -> envelope.put("currentPage", in.readInt32());
+                case TOTAL_ITEMS -> envelope.put("totalItems", in.readInt64());
+                case TOTAL_PAGES -> envelope.put("totalPages", in.readInt32());
+                case HAS_NEXT -> envelope.put("hasNext", in.readBool());
+                case HAS_PREVIOUS -> envelope.put("hasPrevious", in.readBool());
+                case PAGE_SIZE -> envelope.put("pageSize", in.readInt32());
+                case MESSAGE -> envelope.put("message", in.readString());
+                case ERROR -> envelope.put("error", in.readString());
+                case EXTRA -> {
+                    ProtoReader entry = in.readMessage();
+                    String key = null;
+                    String json = null;
+                    while (entry.hasMore()) {
+                        int entryTag = entry.readTag();
+                        switch (ProtoReader.fieldOf(entryTag)) {
+                            case 1 -> key = entry.readString();
+                            case 2 -> json = entry.readString();
+                            default -> entry.skip(entryTag);
+                        }
+                    }
+                    if (key != null) {
+                        envelope.put(key, json == null ? null : objectMapper.readValue(json, Object.class));
+                    }
+                }
+                default -> in.skip(tag);
+            }
+        }
+        return envelope;
+    }
+
+    private static void writeString(ProtoWriter out, int field, String value) {
+        if (value != null) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static long epochMillis(LocalDateTime value) {
+        return value.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // An out-of-range day is malformed input (IllegalArgumentException, a 400), not a server error
+    private static LocalDate fromEpochDay(long days) {
+        try {
+            return LocalDate.ofEpochDay(days);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Date out of range: " + days + " days", e);
+        }
+    }
+
+    private static LocalDateTime fromEpochMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000), Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,109 @@
+package com.employeems.wire;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal Protocol Buffers wire-format decoder over a byte array
+ * Fields are read in a loop of readTag() and a typed read; unknown fields are
+ * skipped with skip(tag), so newer senders can add fields without breaking readers.
+ */
+public final class ProtoReader {
+
+    private final byte[] buffer;
+    private int position;
+    private final int limit;
+
+    public ProtoReader(byte[] buffer) {
+        this(buffer, 0, buffer.length);
+    }
+
+    private ProtoReader(byte[] buffer, int offset, int limit) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    public boolean hasMore() {
+        return position < limit;
+    }
+
+    public int readTag() {
+        return (int) readVarint();
+    }
+
+    public static int fieldOf(int tag) {
+        return tag >>> 3;
+    }
+
+    public long readInt64() {
+        return readVarint();
+    }
+
+    public int readInt32() {
+        return (int) readVarint();
+    }
+
+    public long readSInt64() {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public boolean readBool() {
+        return readVarint() != 0;
+    }
+
+    public String readString() {
+        int length = readLength();
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    // Reader over a nested length-delimited message
+    public ProtoReader readMessage() {
+        int length = readLength();
+        ProtoReader nested = new ProtoReader(buffer, position, position + length);
+        position += length;
+        return nested;
+    }
+
+    public void skip(int tag) {
+        switch (tag & 7) {
+            case ProtoWriter.VARINT -> readVarint();
+            case 1 -> advance(8);
+            case ProtoWriter.LENGTH_DELIMITED -> advance(readLength());
+            case 5 -> advance(4);
+            default -> throw new IllegalArgumentException("Unsupported wire type " + (tag & 7) + " for field " + fieldOf(tag));
+        }
+    }
+
+    private long readVarint() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= limit) {
+                throw new IllegalArgumentException("Truncated varint");
+            }
+            byte b = buffer[position++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private int readLength() {
+        long length = readVarint();
+        if (length < 0 || length > limit - position) {
+            throw new IllegalArgumentException("Length " + length + " exceeds the message");
+        }
+        return (int) length;
+    }
+
+    private void advance(int bytes) {
+        if (bytes > limit - position) {
+            throw new IllegalArgumentException("Truncated message");
+        }
+        position += bytes;
+    }
+}
@@ -0,0 +1,123 @@
+package com.employeems.wire;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal Protocol Buffers wire-format encoder into a growable byte array
+ * Covers the wire types the employee schema uses: varint (0) and length-delimited (2).
+ * Nested messages are encoded into a second writer and appended with writeMessage.
+ */
+public final class ProtoWriter {
+
+    static final int VARINT = 0;
+    static final int LENGTH_DELIMITED = 2;
+
+    private byte[] buffer;
+    private int size;
+
+    public ProtoWriter() {
+        this(256);
+    }
+
+    public ProtoWriter(int initialCapacity) {
+        buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void reset() {
+        size = 0;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    public void writeInt64(int field, long value) {
+        writeTag(field, VARINT);
+        writeVarint(value);
+    }
+
+    public void writeInt32(int field, int value) {
+        // Negative int32 values are sign-extended to ten bytes, as protobuf does
+        writeInt64(field, value);
+    }
+
+    public void writeSInt64(int field, long value) {
+        writeTag(field, VARINT);
+        writeVarint((value << 1) ^ (value >> 63));
+    }
+
+    public void writeBool(int field, boolean value) {
+        writeTag(field, VARINT);
+        ensure(1);
+        buffer[size++] = (byte) (value ? 1 : 0);
+    }
+
+    public void writeString(int field, String value) {
+        writeTag(field, LENGTH_DELIMITED);
+        int length = value.length();
+        if (isAscii(value)) {
+            // Common case: one byte per char, no intermediate byte[]
+            writeVarint(length);
+            ensure(length);
+            for (int i = 0; i < length; i++) {
+                buffer[size++] = (byte) value.charAt(i);
+            }
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            writeRaw(bytes, 0, bytes.length);
+        }
+    }
+
+    // Appends an already encoded message as a length-delimited field
+    public void writeMessage(int field, ProtoWriter message) {
+        writeTag(field, LENGTH_DELIMITED);
+        writeVarint(message.size);
+        writeRaw(message.buffer, 0, message.size);
+    }
+
+    private void writeTag(int field, int wireType) {
+        writeVarint(((long) field << 3) | wireType);
+    }
+
+    private void writeVarint(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    private void writeRaw(byte[] bytes, int offset, int length) {
+        ensure(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,74 @@
+package com.employeems.wire;
+
+import com.employeems.entity.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * application/x-protobuf bodies for Employee and for the Map envelopes returned by the REST controllers
+ * Selected only when the client asks for it (Accept or Content-Type); JSON stays the default.
+ * Responses carry X-Protobuf-Schema and X-Protobuf-Message so clients can find the .proto file.
+ */
+public class ProtobufEmployeeHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private final ObjectMapper objectMapper;
+
+    public ProtobufEmployeeHttpMessageConverter(ObjectMapper objectMapper) {
+        super(APPLICATION_PROTOBUF);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Employee.class == clazz || Map.class.isAssignableFrom(clazz);
+    }
+
+    // Request bodies: only Employee (create/update)
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return Employee.class == clazz && canRead(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return EmployeeProtobufCodec.decodeEmployee(inputMessage.getBody().readAllBytes());
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf Employee: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void addDefaultHeaders(HttpHeaders headers, Object object, MediaType contentType) throws IOException {
+        super.addDefaultHeaders(headers, object, contentType);
+        headers.set("X-Protobuf-Schema", EmployeeProtobufCodec.SCHEMA_PATH);
+        headers.set("X-Protobuf-Message", object instanceof Employee
+                ? EmployeeProtobufCodec.EMPLOYEE_MESSAGE : EmployeeProtobufCodec.ENVELOPE_MESSAGE);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+        ProtoWriter out = new ProtoWriter(4096);
+        if (object instanceof Employee employee) {
+            EmployeeProtobufCodec.writeEmployee(out, employee);
+        } else if (object instanceof Map<?, ?> envelope) {
+            EmployeeProtobufCodec.writeEnvelope(out, (Map<String, ?>) envelope, objectMapper);
+        } else {
+            throw new HttpMessageNotWritableException("Cannot encode " + object.getClass().getName() + " as protobuf");
+        }
+        outputMessage.getHeaders().setContentLength(out.size());
+        out.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,48 @@
+package com.employeems;
+
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * The MySQL database the "test" profile points at (application-test.properties)
+ * Tests that need it call isAvailable() from @BeforeAll and are skipped without it,
+ * before any application context is started.
+ */
+public final class TestDatabase {
+
+    private static Boolean available;
+
+    private TestDatabase() {
+    }
+
+    public static synchronized boolean isAvailable() {
+        if (available == null) {
+            available = connect();
+        }
+        return available;
+    }
+
+    private static boolean connect() {
+        try {
+            Properties properties = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application-test.properties"));
+            StandardEnvironment environment = new StandardEnvironment();
+            DriverManager.setLoginTimeout(5);
+            try (Connection connection = DriverManager.getConnection(
+                    environment.resolvePlaceholders(properties.getProperty("spring.datasource.url")),
+                    environment.resolvePlaceholders(properties.getProperty("spring.datasource.username")),
+                    environment.resolvePlaceholders(properties.getProperty("spring.datasource.password")))) {
+                return connection.isValid(5);
+            }
+        } catch (IOException | SQLException e) {
+            System.err.println("Test database not available, skipping: " + e.getMessage());
+            return false;
+        }
+    }
+}
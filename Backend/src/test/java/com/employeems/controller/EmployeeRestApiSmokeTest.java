@@ -0,0 +1,235 @@
+package com.employeems.controller;
+
+import com.employeems.TestDatabase;
+import com.employeems.service.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Smoke tests of the REST API over HTTP
+ * Plain JUnit and TestRestTemplate only, so they also run inside the native image (mvn -PnativeTest test).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class EmployeeRestApiSmokeTest {
+
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT = new ParameterizedTypeReference<>() {
+    };
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @BeforeAll
+    static void requireDatabase() {
+        assumeTrue(TestDatabase.isAvailable(), "MySQL test database not reachable");
+    }
+
+    @AfterEach
+    void deleteCreatedEmployees() {
+        created.forEach(employeeService::hardDeleteEmployee);
+        created.clear();
+    }
+
+    @Test
+    void healthEndpointsAnswer() throws InterruptedException {
+        // The first background database check runs as the scheduler starts
+        ResponseEntity<Map<String, Object>> health = get("/api/employees/health");
+        for (int attempt = 0; attempt < 50 && health.getStatusCode() != HttpStatus.OK; attempt++) {
+            Thread.sleep(200);
+            health = get("/api/employees/health");
+        }
+        assertEquals(HttpStatus.OK, health.getStatusCode());
+        assertEquals("UP", health.getBody().get("status"));
+
+        assertEquals(HttpStatus.OK, get("/api/health/live").getStatusCode());
+    }
+
+    @Test
+    void createReadUpdateSearchAndDelete() {
+        String email = "smoke-" + System.nanoTime() + "@example.com";
+        ResponseEntity<Map<String, Object>> create = exchange(HttpMethod.POST, "/api/employees", employee(email, "Smoke Tester"));
+        assertEquals(HttpStatus.CREATED, create.getStatusCode());
+        Long id = employeeId(create);
+        created.add(id);
+
+        ResponseEntity<Map<String, Object>> read = get("/api/employees/" + id);
+        assertEquals(HttpStatus.OK, read.getStatusCode());
+        assertEquals(email, employeeField(read, "email"));
+
+        ResponseEntity<Map<String, Object>> update = exchange(HttpMethod.PUT, "/api/employees/" + id, employee(email, "Senior Smoke Tester"));
+        assertEquals(HttpStatus.OK, update.getStatusCode());
+        assertEquals("Senior Smoke Tester", employeeField(update, "position"));
+
+        ResponseEntity<Map<String, Object>> search = get("/api/employees?search=" + email);
+        assertEquals(HttpStatus.OK, search.getStatusCode());
+        assertEquals(1, ((Number) search.getBody().get("totalItems")).intValue());
+
+        ResponseEntity<Map<String, Object>> delete = exchange(HttpMethod.DELETE, "/api/employees/" + id, null);
+        assertEquals(HttpStatus.OK, delete.getStatusCode());
+        assertEquals(Boolean.FALSE, employeeService.getEmployeeById(id).orElseThrow().getIsActive());
+    }
+
+    @Test
+    void repeatedDeleteCountsOnce() throws InterruptedException {
+        ResponseEntity<Map<String, Object>> create = exchange(HttpMethod.POST, "/api/employees",
+                employee("smoke-" + System.nanoTime() + "@example.com", "Smoke Tester"));
+        Long id = employeeId(create);
+        created.add(id);
+        long before = activeEmployeeCount();
+
+        assertEquals(HttpStatus.OK, exchange(HttpMethod.DELETE, "/api/employees/" + id, null).getStatusCode());
+        assertEquals(HttpStatus.OK, exchange(HttpMethod.DELETE, "/api/employees/" + id, null).getStatusCode());
+        assertEquals(before - 1, activeEmployeeCount());
+    }
+
+    @Test
+    void duplicateEmailIsRejected() {
+        String email = "smoke-" + System.nanoTime() + "@example.com";
+        ResponseEntity<Map<String, Object>> first = exchange(HttpMethod.POST, "/api/employees", employee(email, "Smoke Tester"));
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        created.add(employeeId(first));
+
+        ResponseEntity<Map<String, Object>> second = exchange(HttpMethod.POST, "/api/employees", employee(email, "Smoke Tester"));
+        assertEquals(HttpStatus.BAD_REQUEST, second.getStatusCode());
+        assertEquals("Email already exists", second.getBody().get("message"));
+    }
+
+    @Test
+    void invalidEmployeeIsRejected() {
+        Map<String, Object> invalid = new HashMap<>();
+        invalid.put("firstName", "X");
+        ResponseEntity<Map<String, Object>> response = exchange(HttpMethod.POST, "/api/employees", invalid);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Validation failed", response.getBody().get("error"));
+    }
+
+    @Test
+    void unknownEmployeeIsNotFound() {
+        assertEquals(HttpStatus.NOT_FOUND, get("/api/employees/" + Long.MAX_VALUE).getStatusCode());
+    }
+
+    @Test
+    void listsAndStatisticsAnswer() {
+        ResponseEntity<Map<String, Object>> page = get("/api/employees?page=0&size=5");
+        assertEquals(HttpStatus.OK, page.getStatusCode());
+        assertNotNull(page.getBody().get("employees"));
+
+        assertEquals(HttpStatus.OK, get("/api/employees/statistics").getStatusCode());
+        ResponseEntity<List<String>> departments = restTemplate.exchange("/api/employees/departments", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<String>>() {
+                });
+        assertEquals(HttpStatus.OK, departments.getStatusCode());
+        assertNotNull(departments.getBody());
+    }
+
+    @Test
+    void analyticsRejectsBucketSizesOutOfRange() throws InterruptedException {
+        // 2^62 cents overflowed to a zero bucket width before the range check
+        String overflow = "/api/employees/analytics?bucketSize=4611686018427387904";
+        ResponseEntity<Map<String, Object>> response = get(overflow);
+        for (int attempt = 0; attempt < 50 && response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE; attempt++) {
+            Thread.sleep(200);
+            response = get(overflow);
+        }
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, get("/api/employees/analytics?bucketSize=0").getStatusCode());
+        assertEquals(HttpStatus.OK, get("/api/employees/analytics?bucketSize=5000").getStatusCode());
+    }
+
+    @Test
+    void facetsMatchValuesLikeTheDatabaseCollation() throws InterruptedException {
+        String suffix = Long.toString(System.nanoTime(), 36);
+        Map<String, Object> employee = employee("smoke-" + suffix + "@example.com", "Smoke Tester");
+        employee.put("department", "Réseau " + suffix.toUpperCase());
+        ResponseEntity<Map<String, Object>> create = exchange(HttpMethod.POST, "/api/employees", employee);
+        assertEquals(HttpStatus.CREATED, create.getStatusCode());
+        created.add(employeeId(create));
+
+        String path = "/api/employees/facets?department=reseau " + suffix + "&position=SMOKE TESTER";
+        ResponseEntity<Map<String, Object>> facets = get(path);
+        for (int attempt = 0; attempt < 50 && facets.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE; attempt++) {
+            Thread.sleep(200);
+            facets = get(path);
+        }
+        assertEquals(HttpStatus.OK, facets.getStatusCode());
+        assertEquals(1, ((Number) facets.getBody().get("totalItems")).intValue());
+
+        assertEquals(HttpStatus.BAD_REQUEST, get("/api/employees/facets?sortBy=lastName").getStatusCode());
+    }
+
+    @Test
+    void leaveAccrualRejectsTheCurrentMonth() {
+        ResponseEntity<Map<String, Object>> accrual = exchange(HttpMethod.POST, "/api/leave/accruals?period=" + YearMonth.now(), null);
+        assertEquals(HttpStatus.BAD_REQUEST, accrual.getStatusCode());
+    }
+
+    private static Map<String, Object> employee(String email, String position) {
+        Map<String, Object> employee = new HashMap<>();
+        employee.put("firstName", "Smoke");
+        employee.put("lastName", "Test");
+        employee.put("email", email);
+        employee.put("department", "QA");
+        employee.put("position", position);
+        employee.put("hireDate", "2024-01-15");
+        employee.put("salary", 50000);
+        return employee;
+    }
+
+    // The health monitor's incrementally maintained count; -1 until its first recount
+    private long activeEmployeeCount() throws InterruptedException {
+        for (int attempt = 0; attempt < 50; attempt++) {
+            ResponseEntity<Map<String, Object>> health = get("/api/employees/health");
+            Object count = health.getBody() == null ? null : health.getBody().get("employeeCount");
+            if (count instanceof Number number && number.longValue() >= 0) {
+                return number.longValue();
+            }
+            Thread.sleep(200);
+        }
+        throw new AssertionError("Employee count not available");
+    }
+
+    private ResponseEntity<Map<String, Object>> get(String path) {
+        return exchange(HttpMethod.GET, path, null);
+    }
+
+    private ResponseEntity<Map<String, Object>> exchange(HttpMethod method, String path, Object body) {
+        return restTemplate.exchange(path, method, body == null ? null : new HttpEntity<>(body), JSON_OBJECT);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object employeeField(ResponseEntity<Map<String, Object>> response, String field) {
+        Map<String, Object> employee = (Map<String, Object>) response.getBody().get("employee");
+        assertTrue(employee != null, "response has no employee: " + response.getBody());
+        return employee.get(field);
+    }
+
+    private static Long employeeId(ResponseEntity<Map<String, Object>> response) {
+        return ((Number) employeeField(response, "id")).longValue();
+    }
+}
@@ -0,0 +1,162 @@
+package com.employeems.invalidation;
+
+import com.employeems.entity.Employee;
+import com.employeems.event.EmployeeChangedEvent;
+import com.employeems.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Broker transport over the in-memory broker, and how the bus replays a received batch (no Spring context or database)
+ */
+class BrokerInvalidationTransportTest {
+
+    private final InMemoryMessageBroker broker = new InMemoryMessageBroker();
+
+    @Test
+    void deliversOtherInstancesMessagesOnly() throws InterruptedException {
+        BrokerInvalidationTransport sender = transport("a");
+        BrokerInvalidationTransport receiver = transport("b");
+        BlockingQueue<InvalidationMessage> senderInbox = new LinkedBlockingQueue<>();
+        BlockingQueue<InvalidationMessage> receiverInbox = new LinkedBlockingQueue<>();
+        sender.subscribe(senderInbox::addAll);
+        receiver.subscribe(receiverInbox::addAll);
+
+        sender.publish(new InvalidationMessage("a", 0, 7L, EmployeeChangedEvent.Type.CREATED, 1000L));
+        broker.publish("employee-invalidation", "not a message");
+        sender.publish(new InvalidationMessage("a", 0, 7L, EmployeeChangedEvent.Type.UPDATED, 2000L));
+
+        InvalidationMessage created = receiverInbox.poll(5, TimeUnit.SECONDS);
+        InvalidationMessage updated = receiverInbox.poll(5, TimeUnit.SECONDS);
+        assertNotNull(created);
+        assertNotNull(updated);
+        assertEquals(1L, created.sequence());
+        assertEquals(EmployeeChangedEvent.Type.CREATED, created.type());
+        assertEquals(2L, updated.sequence());
+        assertEquals(EmployeeChangedEvent.Type.UPDATED, updated.type());
+        assertTrue(senderInbox.isEmpty());
+        assertEquals(2L, receiver.getMetrics().get("received"));
+        assertEquals(1L, receiver.getMetrics().get("malformed"));
+    }
+
+    @Test
+    void keepsFailedBatchesAndRetriesThemFirst() throws InterruptedException {
+        BrokerInvalidationTransport sender = transport("a");
+        BrokerInvalidationTransport receiver = transport("b");
+        AtomicBoolean failing = new AtomicBoolean(true);
+        BlockingQueue<List<InvalidationMessage>> batches = new LinkedBlockingQueue<>();
+        receiver.subscribe(batch -> {
+            if (failing.get()) {
+                throw new IllegalStateException("database unavailable");
+            }
+            batches.add(batch);
+        });
+
+        sender.publish(new InvalidationMessage("a", 0, 7L, EmployeeChangedEvent.Type.CREATED, 1000L));
+        awaitUnapplied(receiver, 1);
+
+        failing.set(false);
+        sender.publish(new InvalidationMessage("a", 0, 7L, EmployeeChangedEvent.Type.DELETED, 2000L));
+        List<InvalidationMessage> batch = batches.poll(5, TimeUnit.SECONDS);
+        assertNotNull(batch);
+        assertEquals(List.of(EmployeeChangedEvent.Type.CREATED, EmployeeChangedEvent.Type.DELETED),
+                batch.stream().map(InvalidationMessage::type).toList());
+        assertEquals(0, receiver.getMetrics().get("unapplied"));
+    }
+
+    @Test
+    void createdThenSoftDeletedInOneBatchReplaysBoth() {
+        Employee employee = employee(7L);
+        employee.setIsActive(false);
+        List<EmployeeChangedEvent> events = new ArrayList<>();
+        InvalidationBus bus = bus(List.of(employee), events);
+
+        bus.apply(List.of(
+                new InvalidationMessage("a", 1, 7L, EmployeeChangedEvent.Type.CREATED, 1000L),
+                new InvalidationMessage("a", 2, 7L, EmployeeChangedEvent.Type.UPDATED, 1000L),
+                new InvalidationMessage("a", 3, 7L, EmployeeChangedEvent.Type.DELETED, 1000L)));
+
+        assertEquals(List.of(EmployeeChangedEvent.Type.CREATED, EmployeeChangedEvent.Type.DELETED),
+                events.stream().map(EmployeeChangedEvent::getType).toList());
+        assertTrue(events.stream().allMatch(event -> event.isRemote() && event.getEmployee() == employee));
+    }
+
+    @Test
+    void createdThenUpdatedStaysACreation() {
+        List<EmployeeChangedEvent> events = new ArrayList<>();
+        InvalidationBus bus = bus(List.of(employee(7L)), events);
+
+        bus.apply(List.of(
+                new InvalidationMessage("a", 1, 7L, EmployeeChangedEvent.Type.CREATED, 1000L),
+                new InvalidationMessage("a", 2, 7L, EmployeeChangedEvent.Type.UPDATED, 1000L)));
+
+        assertEquals(List.of(EmployeeChangedEvent.Type.CREATED), events.stream().map(EmployeeChangedEvent::getType).toList());
+    }
+
+    @Test
+    void goneEmployeesAreDeletedUnlessCreatedInTheSameBatch() {
+        List<EmployeeChangedEvent> events = new ArrayList<>();
+        InvalidationBus bus = bus(List.of(), events);
+
+        bus.apply(List.of(
+                new InvalidationMessage("a", 1, 7L, EmployeeChangedEvent.Type.CREATED, 1000L),
+                new InvalidationMessage("a", 2, 8L, EmployeeChangedEvent.Type.UPDATED, 1000L),
+                new InvalidationMessage("a", 3, 7L, EmployeeChangedEvent.Type.DELETED, 1000L)));
+
+        assertEquals(1, events.size());
+        assertEquals(8L, events.get(0).getEmployeeId());
+        assertEquals(EmployeeChangedEvent.Type.DELETED, events.get(0).getType());
+        assertNull(events.get(0).getEmployee());
+    }
+
+    private BrokerInvalidationTransport transport(String instanceId) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("broker", broker));
+        return new BrokerInvalidationTransport(beans.getBeanProvider(MessageBroker.class), new InstanceIdentity(instanceId),
+                "employee-invalidation");
+    }
+
+    private static void awaitUnapplied(BrokerInvalidationTransport transport, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!Integer.valueOf(expected).equals(transport.getMetrics().get("unapplied"))) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for unapplied messages");
+            Thread.sleep(10);
+        }
+    }
+
+    private static InvalidationBus bus(List<Employee> stored, List<EmployeeChangedEvent> events) {
+        EmployeeRepository repository = mock(EmployeeRepository.class);
+        when(repository.findAllById(any())).thenReturn(stored);
+        InvalidationBus bus = new InvalidationBus();
+        ReflectionTestUtils.setField(bus, "instanceIdentity", new InstanceIdentity("b"));
+        ReflectionTestUtils.setField(bus, "employeeRepository", repository);
+        ReflectionTestUtils.setField(bus, "eventPublisher", (ApplicationEventPublisher) event -> events.add((EmployeeChangedEvent) event));
+        return bus;
+    }
+
+    private static Employee employee(Long id) {
+        Employee employee = new Employee("Ann", "Lee", "ann.lee@example.com", "Finance", "Analyst",
+                LocalDate.of(2024, 1, 1), new BigDecimal("50000.00"));
+        employee.setId(id);
+        return employee;
+    }
+}
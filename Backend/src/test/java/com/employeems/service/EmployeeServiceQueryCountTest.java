@@ -0,0 +1,137 @@
+package com.employeems.service;
+
+import com.employeems.TestDatabase;
+import com.employeems.entity.Employee;
+import com.employeems.jdbc.QueryAccounting;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Statement budgets of the EmployeeService read paths (served from the employees table)
+ * Each read must stay within the statements it needs: the row query, plus the COUNT of a page.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EmployeeServiceQueryCountTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    private final List<Long> created = new ArrayList<>();
+    private String department;
+
+    @BeforeAll
+    static void requireDatabase() {
+        assumeTrue(TestDatabase.isAvailable(), "MySQL test database not reachable");
+    }
+
+    @BeforeEach
+    void createEmployees() {
+        department = "QueryCount" + System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            Employee employee = new Employee("Query", "Count", department.toLowerCase() + "-" + i + "@example.com",
+                    department, "Analyst", LocalDate.of(2023, 1, 1 + i), new BigDecimal("50000.00"));
+            created.add(employeeService.saveEmployee(employee).getId());
+        }
+    }
+
+    @AfterEach
+    void deleteEmployees() {
+        created.forEach(employeeService::hardDeleteEmployee);
+        created.clear();
+    }
+
+    @Test
+    void statementsAreCounted() {
+        try (QueryAccounting.Scope scope = QueryAccounting.begin("getEmployeeById")) {
+            employeeService.getEmployeeById(created.get(0));
+            assertEquals(1, scope.getStatements());
+        }
+        assertThrows(AssertionError.class, () -> QueryAccounting.assertMaxStatements("two lookups", 1, () -> {
+            employeeService.getEmployeeById(created.get(0));
+            employeeService.getEmployeeById(created.get(1));
+        }));
+    }
+
+    @Test
+    void getEmployeeByIdIssuesOneStatement() {
+        Employee employee = QueryAccounting.assertMaxStatements("getEmployeeById", 1,
+                () -> employeeService.getEmployeeById(created.get(0)).orElseThrow());
+        assertEquals(department, employee.getDepartment());
+    }
+
+    @Test
+    void getActiveEmployeesIssuesRowsAndCountQueries() {
+        Page<Employee> page = QueryAccounting.assertMaxStatements("getActiveEmployees", 2,
+                () -> employeeService.getActiveEmployees(0, 2, "id", "asc"));
+        assertEquals(2, page.getContent().size());
+    }
+
+    @Test
+    void getAllActiveEmployeesIssuesOneStatement() {
+        List<Employee> employees = QueryAccounting.assertMaxStatements("getAllActiveEmployees", 1,
+                () -> employeeService.getAllActiveEmployees());
+        assertTrue(employees.stream().map(Employee::getId).toList().containsAll(created));
+    }
+
+    @Test
+    void searchEmployeesIssuesRowsAndCountQueries() {
+        Page<Employee> page = QueryAccounting.assertMaxStatements("searchEmployees", 2,
+                () -> employeeService.searchEmployees(department.toLowerCase(), 0, 2, "id", "asc"));
+        assertEquals(3, page.getTotalElements());
+    }
+
+    @Test
+    void getEmployeesByDepartmentIssuesRowsAndCountQueries() {
+        Page<Employee> page = QueryAccounting.assertMaxStatements("getEmployeesByDepartment", 2,
+                () -> employeeService.getEmployeesByDepartment(department, 0, 2, "id", "asc"));
+        assertEquals(3, page.getTotalElements());
+        assertEquals(created.subList(0, 2), page.getContent().stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    void getEmployeesByIdsIssuesOneStatement() {
+        List<Long> ids = List.of(created.get(2), created.get(0));
+        List<Employee> employees = QueryAccounting.assertMaxStatements("getEmployeesByIds", 1,
+                () -> employeeService.getEmployeesByIds(ids));
+        assertEquals(ids, employees.stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    void getEmployeeStatisticsIssuesThreeStatements() {
+        Map<String, Object> statistics = QueryAccounting.assertMaxStatements("getEmployeeStatistics", 3,
+                () -> employeeService.getEmployeeStatistics());
+        assertEquals(3L, ((Map<?, ?>) statistics.get("departmentStats")).get(department));
+    }
+
+    @Test
+    void getAllDepartmentsIssuesOneStatement() {
+        List<String> departments = QueryAccounting.assertMaxStatements("getAllDepartments", 1,
+                () -> employeeService.getAllDepartments());
+        assertTrue(departments.contains(department));
+    }
+
+    @Test
+    void countActiveEmployeesIssuesOneStatement() {
+        long count = QueryAccounting.assertMaxStatements("countActiveEmployees", 1,
+                () -> employeeService.countActiveEmployees());
+        assertTrue(count >= created.size());
+    }
+}
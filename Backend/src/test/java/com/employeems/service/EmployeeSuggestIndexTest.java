@@ -0,0 +1,103 @@
+package com.employeems.service;
+
+import com.employeems.entity.Employee;
+import com.employeems.event.EmployeeChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ranking and incremental updates of the in-memory suggest index (no Spring context or database)
+ */
+class EmployeeSuggestIndexTest {
+
+    private final EmployeeSuggestIndex index = new EmployeeSuggestIndex();
+
+    @Test
+    void nameMatchesOutrankPositionAndDepartmentMatches() {
+        // Many department and position terms starting with "s" come before the name in term order
+        for (long id = 1; id <= 3000; id++) {
+            change(EmployeeChangedEvent.Type.CREATED, employee(id, "Zed", "Quinn" + id, "Sales", "Support Specialist"));
+        }
+        change(EmployeeChangedEvent.Type.CREATED, employee(5000L, "Sam", "Young", "Engineering", "Developer"));
+
+        List<EmployeeSuggestIndex.Suggestion> suggestions = index.suggest("s", 5);
+        assertEquals(5, suggestions.size());
+        assertEquals(5000L, suggestions.get(0).id());
+        assertEquals(EmployeeSuggestIndex.Field.NAME, suggestions.get(0).field());
+    }
+
+    @Test
+    void exactAndShorterTermsRankFirst() {
+        change(EmployeeChangedEvent.Type.CREATED, employee(1L, "Johnathan", "Miller", "Finance", "Analyst"));
+        change(EmployeeChangedEvent.Type.CREATED, employee(2L, "Johnny", "Baker", "Finance", "Analyst"));
+        change(EmployeeChangedEvent.Type.CREATED, employee(3L, "John", "Clark", "Finance", "Analyst"));
+
+        List<Long> ids = index.suggest("john", 3).stream().map(EmployeeSuggestIndex.Suggestion::id).toList();
+        assertEquals(List.of(3L, 2L, 1L), ids);
+    }
+
+    @Test
+    void emailMatchesRankBetweenNamesAndPositions() {
+        change(EmployeeChangedEvent.Type.CREATED, employee(1L, "Ann", "Lee", "Marketing", "Marketer"));
+        Employee bob = employee(2L, "Bob", "Stone", "Finance", "Manager");
+        bob.setEmail("marbles@example.com");
+        change(EmployeeChangedEvent.Type.CREATED, bob);
+        change(EmployeeChangedEvent.Type.CREATED, employee(3L, "Mark", "Hill", "Finance", "Analyst"));
+
+        List<EmployeeSuggestIndex.Suggestion> suggestions = index.suggest("mar", 3);
+        assertEquals(List.of(3L, 2L, 1L), suggestions.stream().map(EmployeeSuggestIndex.Suggestion::id).toList());
+        assertEquals(List.of(EmployeeSuggestIndex.Field.NAME, EmployeeSuggestIndex.Field.EMAIL, EmployeeSuggestIndex.Field.POSITION),
+                suggestions.stream().map(EmployeeSuggestIndex.Suggestion::field).toList());
+    }
+
+    @Test
+    void updatesReplaceOldTerms() {
+        change(EmployeeChangedEvent.Type.CREATED, employee(1L, "Alice", "Wong", "Legal", "Counsel"));
+        assertEquals(1, index.suggest("alice", 5).size());
+
+        change(EmployeeChangedEvent.Type.UPDATED, employee(1L, "Alicia", "Wong", "Legal", "Counsel"));
+        assertEquals(1L, index.suggest("alicia", 5).get(0).id());
+        assertTrue(index.suggest("alice", 5).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void deletesAndDeactivationsRemoveEmployees() {
+        change(EmployeeChangedEvent.Type.CREATED, employee(1L, "Carl", "Berg", "IT", "Engineer"));
+        change(EmployeeChangedEvent.Type.CREATED, employee(2L, "Cara", "Berg", "IT", "Engineer"));
+
+        Employee inactive = employee(1L, "Carl", "Berg", "IT", "Engineer");
+        inactive.setIsActive(false);
+        change(EmployeeChangedEvent.Type.DELETED, inactive);
+        assertEquals(List.of(2L), index.suggest("berg", 5).stream().map(EmployeeSuggestIndex.Suggestion::id).toList());
+
+        index.onEmployeeChanged(new EmployeeChangedEvent(EmployeeChangedEvent.Type.DELETED, 2L, null));
+        assertTrue(index.suggest("berg", 5).isEmpty());
+        assertTrue(index.suggest("it", 5).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void emptyPrefixOrLimitReturnsNothing() {
+        change(EmployeeChangedEvent.Type.CREATED, employee(1L, "Dana", "Fox", "HR", "Recruiter"));
+        assertTrue(index.suggest("  ", 5).isEmpty());
+        assertTrue(index.suggest("dana", 0).isEmpty());
+    }
+
+    private void change(EmployeeChangedEvent.Type type, Employee employee) {
+        index.onEmployeeChanged(new EmployeeChangedEvent(type, employee.getId(), employee));
+    }
+
+    private static Employee employee(Long id, String firstName, String lastName, String department, String position) {
+        Employee employee = new Employee(firstName, lastName, (firstName + "." + lastName + "@example.com").toLowerCase(),
+                department, position, LocalDate.of(2024, 1, 1), new BigDecimal("50000.00"));
+        employee.setId(id);
+        return employee;
+    }
+}
@@ -0,0 +1,159 @@
+package com.employeems.snapshot;
+
+import com.employeems.snapshot.SnapshotFormat.Type;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.Invocation;
+
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Column encodings of the snapshot format: every type with nulls, string dictionaries and
+ * integer deltas, encoded and decoded without a database
+ */
+class ColumnVectorTest {
+
+    @Test
+    void everyTypeRoundTripsWithNulls() throws SQLException {
+        assertRoundTrip(Type.INT64, 0, Function.identity(), 5L, null, -3L, Long.MAX_VALUE, Long.MIN_VALUE, 0L, null, 42L, 7L, null);
+        assertRoundTrip(Type.INT32, 0, Function.identity(), null, 1, Integer.MIN_VALUE, -1, Integer.MAX_VALUE, 0, null, 9, 300, 12);
+        assertRoundTrip(Type.BOOL, 0, Function.identity(), true, false, null, true, true, false, false, null, true, false);
+        assertRoundTrip(Type.DECIMAL, 2, Function.identity(), new BigDecimal("50000.00"), null, new BigDecimal("-0.01"),
+                new BigDecimal("0.00"), new BigDecimal("99999999.99"), null, new BigDecimal("12.50"), new BigDecimal("1.00"),
+                new BigDecimal("-7.25"));
+        assertRoundTrip(Type.DATE, 0, value -> Date.valueOf((LocalDate) value), LocalDate.of(2024, 1, 15), null,
+                LocalDate.of(1969, 12, 31), LocalDate.of(1970, 1, 1), LocalDate.of(9999, 12, 31), LocalDate.of(1000, 1, 1),
+                null, LocalDate.of(2024, 2, 29), LocalDate.of(2024, 1, 16));
+        assertRoundTrip(Type.DATETIME, 0, value -> Timestamp.valueOf((LocalDateTime) value),
+                LocalDateTime.of(2024, 1, 15, 9, 30, 0, 123_456_000), null, LocalDateTime.of(2024, 1, 15, 9, 30, 0, 123_457_000),
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59), LocalDateTime.of(2038, 1, 19, 3, 14, 8), null,
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2023, 12, 31, 23, 0));
+        assertRoundTrip(Type.STRING, 0, Function.identity(), "Ann", null, "", "Zoë Ñúñez", "Ann", null, "Bob", "日本", "Ann");
+    }
+
+    @Test
+    void repeatedStringsAreDictionaryEncoded() throws SQLException {
+        Object[] departments = new Object[40];
+        for (int i = 0; i < departments.length; i++) {
+            departments[i] = i % 10 == 3 ? null : i % 3 == 0 ? "Sales" : i % 3 == 1 ? "Engineering" : "Finance";
+        }
+        ColumnVector column = column(Type.STRING, 0, departments);
+        ByteBuffer encoded = encode(column);
+        assertEquals(SnapshotFormat.DICTIONARY, encoded.get(bitmapBytes(departments.length)));
+        assertEquals(Arrays.asList(departments), bound(decode(column, encoded, departments.length), departments.length));
+    }
+
+    @Test
+    void distinctStringsAreStoredPlain() throws SQLException {
+        Object[] emails = {"a@example.com", "b@example.com", null, "c@example.com", "d@example.com"};
+        ColumnVector column = column(Type.STRING, 0, emails);
+        ByteBuffer encoded = encode(column);
+        assertEquals(SnapshotFormat.PLAIN, encoded.get(bitmapBytes(emails.length)));
+        assertEquals(Arrays.asList(emails), bound(decode(column, encoded, emails.length), emails.length));
+    }
+
+    @Test
+    void increasingIdsAreDeltaEncoded() throws SQLException {
+        Object[] ids = new Object[10];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1_000_000_000L + i;
+        }
+        ByteBuffer encoded = encode(column(Type.INT64, 0, ids));
+        // Null bitmap, the first id as a 5-byte varint, then a 1-byte delta per row
+        assertEquals(bitmapBytes(ids.length) + 5 + (ids.length - 1), encoded.remaining());
+    }
+
+    @Test
+    void corruptColumnsAreRejected() throws SQLException {
+        Object[] values = {"Sales", "Sales", "Sales", "Sales", "Sales"};
+        ColumnVector column = column(Type.STRING, 0, values);
+
+        ByteBuffer unknownEncoding = encode(column);
+        unknownEncoding.put(bitmapBytes(values.length), (byte) 9);
+        assertThrows(IllegalArgumentException.class, () -> decode(column, unknownEncoding, values.length));
+
+        ByteBuffer encoded = encode(column);
+        ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(encoded.array(), encoded.remaining() - 2));
+        assertThrows(BufferUnderflowException.class, () -> decode(column, truncated, values.length));
+    }
+
+    private static void assertRoundTrip(Type type, int scale, Function<Object, Object> jdbcValue, Object... values) throws SQLException {
+        ColumnVector column = column(type, scale, values);
+        ByteBuffer encoded = encode(column);
+        ColumnVector decoded = decode(column, encoded, values.length);
+        assertEquals(0, encoded.remaining(), type + " left bytes unread");
+
+        List<Object> expected = new ArrayList<>();
+        for (Object value : values) {
+            expected.add(value == null ? null : jdbcValue.apply(value));
+        }
+        assertEquals(expected, bound(decoded, values.length), type.name());
+    }
+
+    private static ColumnVector column(Type type, int scale, Object... values) throws SQLException {
+        ColumnVector column = new ColumnVector("c", type, scale, values.length);
+        for (Object value : values) {
+            column.read(row(value), 1);
+        }
+        return column;
+    }
+
+    // A result set positioned on a row whose only column holds value
+    private static ResultSet row(Object value) {
+        return mock(ResultSet.class, invocation -> switch (invocation.getMethod().getName()) {
+            case "wasNull" -> value == null;
+            case "getLong" -> value == null ? 0L : value;
+            case "getInt" -> value == null ? 0 : value;
+            case "getBoolean" -> value != null && (Boolean) value;
+            default -> value;
+        });
+    }
+
+    private static ByteBuffer encode(ColumnVector column) {
+        SnapshotBuffer out = new SnapshotBuffer(16);
+        column.encode(out);
+        ByteBuffer encoded = out.flip();
+        return ByteBuffer.wrap(Arrays.copyOf(encoded.array(), encoded.remaining()));
+    }
+
+    private static ColumnVector decode(ColumnVector like, ByteBuffer encoded, int rows) {
+        ColumnVector decoded = new ColumnVector(like.name, like.type, like.scale, rows);
+        decoded.decode(encoded, rows);
+        return decoded;
+    }
+
+    // Values the column binds for its rows, null where it binds SQL NULL
+    private static List<Object> bound(ColumnVector column, int rows) throws SQLException {
+        List<Object> values = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            PreparedStatement statement = mock(PreparedStatement.class);
+            column.bind(statement, 1, row);
+            Collection<Invocation> invocations = Mockito.mockingDetails(statement).getInvocations();
+            Invocation set = invocations.iterator().next();
+            values.add("setNull".equals(set.getMethod().getName()) ? null : set.getArgument(1));
+        }
+        return values;
+    }
+
+    private static int bitmapBytes(int rows) {
+        return (rows + 7) / 8;
+    }
+}
@@ -0,0 +1,163 @@
+package com.employeems.snapshot;
+
+import com.employeems.TestDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Snapshot write and restore of a table with every column type, and rejection of damaged files
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SnapshotRoundTripTest {
+
+    private static final String TABLE = "snapshot_round_trip";
+    private static final int ROWS = 20;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    private Path directory;
+
+    @BeforeAll
+    static void requireDatabase() {
+        assumeTrue(TestDatabase.isAvailable(), "MySQL test database not reachable");
+    }
+
+    @BeforeEach
+    void createTable() throws SQLException {
+        execute("DROP TABLE IF EXISTS " + TABLE);
+        execute("CREATE TABLE " + TABLE + " (id BIGINT PRIMARY KEY, code INT NULL, active BOOLEAN NULL, "
+                + "amount DECIMAL(12,2) NULL, hired DATE NULL, changed DATETIME(6) NULL, email VARCHAR(100) NULL, "
+                + "department VARCHAR(50) NULL, UNIQUE KEY uk_" + TABLE + "_email (email), "
+                + "KEY idx_" + TABLE + "_department (department))");
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO " + TABLE + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < ROWS; i++) {
+                // Ids out of order and with gaps; every nullable column is null in some rows
+                insert.setLong(1, i % 2 == 0 ? 1000L + i * 7 : 900L - i);
+                insert.setObject(2, i % 5 == 1 ? null : i * -13);
+                insert.setObject(3, i % 6 == 2 ? null : i % 3 == 0);
+                insert.setBigDecimal(4, i % 7 == 3 ? null : new BigDecimal(i * 1234).movePointLeft(2));
+                insert.setObject(5, i % 4 == 0 ? null : LocalDate.of(2020, 1, 1).plusDays(i * 37L));
+                insert.setObject(6, i % 9 == 4 ? null : LocalDateTime.of(2024, 5, 1, 8, 0).plusNanos(i * 1_234_567_000L));
+                insert.setString(7, i % 8 == 5 ? null : "user" + i + "@example.com");
+                // Three repeating values: dictionary encoded
+                insert.setString(8, i % 10 == 7 ? null : List.of("Sales", "Engineering", "Réseau").get(i % 3));
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    @AfterEach
+    void dropTable() throws SQLException {
+        execute("DROP TABLE IF EXISTS " + TABLE);
+    }
+
+    @Test
+    void restoresEveryColumnAndIndex() throws SQLException, IOException {
+        List<List<Object>> before = rows();
+        Set<String> indexes = indexes();
+        Path file = directory.resolve("round-trip.emss");
+
+        // Blocks of 8 rows: two full blocks and a partial one
+        SnapshotResult written = new SnapshotWriter(dataSource, 8).write(List.of(TABLE), file);
+        assertEquals(ROWS, written.rows().get(TABLE));
+
+        execute("DELETE FROM " + TABLE + " WHERE id > 1000");
+        execute("UPDATE " + TABLE + " SET department = 'Changed', amount = NULL");
+
+        SnapshotResult restored = new SnapshotRestorer(dataSource, 3).restore(file);
+        assertEquals(ROWS, restored.rows().get(TABLE));
+        assertEquals(before, rows());
+        assertEquals(indexes, indexes());
+    }
+
+    @Test
+    void damagedFilesChangeNothing() throws SQLException, IOException {
+        Path file = directory.resolve("damaged.emss");
+        new SnapshotWriter(dataSource, 8).write(List.of(TABLE), file);
+        execute("DELETE FROM " + TABLE + " WHERE id > 1000");
+        List<List<Object>> current = rows();
+        byte[] bytes = Files.readAllBytes(file);
+
+        // One flipped bit inside a block's payload
+        byte[] flipped = bytes.clone();
+        flipped[bytes.length / 2] ^= 0x10;
+        Path corrupt = Files.write(directory.resolve("corrupt.emss"), flipped);
+        IOException checksum = assertThrows(IOException.class, () -> new SnapshotRestorer(dataSource).restore(corrupt));
+        assertTrue(checksum.getMessage().contains("checksum"), checksum.getMessage());
+
+        Path truncated = Files.write(directory.resolve("truncated.emss"), Arrays.copyOf(bytes, bytes.length - 3));
+        assertThrows(IOException.class, () -> new SnapshotRestorer(dataSource).restore(truncated));
+
+        assertEquals(current, rows());
+    }
+
+    private List<List<Object>> rows() throws SQLException {
+        List<List<Object>> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT * FROM " + TABLE + " ORDER BY id")) {
+            int columns = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                List<Object> row = new ArrayList<>();
+                for (int i = 1; i <= columns; i++) {
+                    row.add(resultSet.getObject(i));
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private Set<String> indexes() throws SQLException {
+        Set<String> indexes = new TreeSet<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SHOW INDEX FROM " + TABLE)) {
+            while (resultSet.next()) {
+                indexes.add(resultSet.getString("Key_name") + ":" + resultSet.getString("Column_name")
+                        + ":" + resultSet.getInt("Non_unique"));
+            }
+        }
+        return indexes;
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
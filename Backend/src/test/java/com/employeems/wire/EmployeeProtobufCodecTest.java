@@ -0,0 +1,144 @@
+package com.employeems.wire;
+
+import com.employeems.entity.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Protocol Buffers encoding of employees and response envelopes, including fields added by newer schema versions
+ */
+class EmployeeProtobufCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void employeeRoundTripsEveryField() {
+        Employee employee = employee();
+        assertEquals(fields(employee), fields(EmployeeProtobufCodec.decodeEmployee(EmployeeProtobufCodec.encodeEmployee(employee))));
+    }
+
+    @Test
+    void unsetFieldsStayUnset() {
+        Employee employee = new Employee();
+        employee.setFirstName("Ann");
+
+        Employee decoded = EmployeeProtobufCodec.decodeEmployee(EmployeeProtobufCodec.encodeEmployee(employee));
+        assertEquals("Ann", decoded.getFirstName());
+        assertNull(decoded.getId());
+        assertNull(decoded.getSalary());
+        assertNull(decoded.getHireDate());
+        assertNull(decoded.getManagerId());
+        assertEquals(fields(employee), fields(decoded));
+    }
+
+    @Test
+    void unknownFieldsOfEveryWireTypeAreSkipped() {
+        Employee employee = employee();
+        byte[] known = EmployeeProtobufCodec.encodeEmployee(employee);
+
+        // Fields of a newer schema (13 and up), before and after the known ones
+        ProtoWriter newer = new ProtoWriter();
+        newer.writeInt64(20, 123_456_789L);
+        newer.writeString(22, "added later");
+        ProtoWriter nested = new ProtoWriter();
+        nested.writeInt64(1, 7);
+        newer.writeMessage(24, nested);
+        byte[] bytes = concat(newer.toByteArray(), known, fixed64(13), fixed32(14), newer.toByteArray());
+
+        assertEquals(fields(employee), fields(EmployeeProtobufCodec.decodeEmployee(bytes)));
+    }
+
+    @Test
+    void malformedInputIsRejected() {
+        byte[] known = EmployeeProtobufCodec.encodeEmployee(employee());
+        assertThrows(IllegalArgumentException.class,
+                () -> EmployeeProtobufCodec.decodeEmployee(Arrays.copyOf(known, known.length - 1)));
+        // Wire type 3 (start group) is not supported
+        assertThrows(IllegalArgumentException.class,
+                () -> EmployeeProtobufCodec.decodeEmployee(concat(new byte[]{(byte) ((15 << 3) | 3), 0x01}, known)));
+
+        ProtoWriter farFuture = new ProtoWriter();
+        farFuture.writeSInt64(7, Long.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> EmployeeProtobufCodec.decodeEmployee(farFuture.toByteArray()));
+    }
+
+    @Test
+    void envelopeRoundTripsKnownAndExtraKeys() throws JsonProcessingException {
+        Map<String, Object> envelope = new LinkedHashMap<>();
+        envelope.put("employees", List.of(employee(), employee()));
+        envelope.put("currentPage", 2);
+        envelope.put("totalItems", 41L);
+        envelope.put("totalPages", 3);
+        envelope.put("hasNext", false);
+        envelope.put("hasPrevious", true);
+        envelope.put("pageSize", 20);
+        envelope.put("message", "ok");
+        envelope.put("facets", Map.of("department", Map.of("Sales", 12)));
+        // Schema field with a different type: carried as JSON instead
+        envelope.put("error", List.of("first", "second"));
+
+        ProtoWriter newer = new ProtoWriter();
+        newer.writeString(14, "added later");
+        byte[] bytes = concat(EmployeeProtobufCodec.encodeEnvelope(envelope, objectMapper), newer.toByteArray());
+        Map<String, Object> decoded = EmployeeProtobufCodec.decodeEnvelope(bytes, objectMapper);
+
+        assertEquals(envelope.keySet(), decoded.keySet());
+        @SuppressWarnings("unchecked")
+        List<Employee> employees = (List<Employee>) decoded.get("employees");
+        assertEquals(2, employees.size());
+        assertEquals(fields(employee()), fields(employees.get(1)));
+        for (String key : List.of("currentPage", "totalItems", "totalPages", "hasNext", "hasPrevious", "pageSize", "message",
+                "facets", "error")) {
+            assertEquals(envelope.get(key), decoded.get(key), key);
+        }
+    }
+
+    private static Employee employee() {
+        Employee employee = new Employee("Zoë", "Ñúñez", "zoe.nunez@example.com", "Réseau", "Ingénieure",
+                LocalDate.of(1968, 2, 29), new BigDecimal("-1234.56"));
+        employee.setId(9_000_000_001L);
+        employee.setIsActive(false);
+        employee.setManagerId(42L);
+        employee.setCreatedAt(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_000));
+        employee.setUpdatedAt(LocalDateTime.of(2024, 5, 1, 8, 30, 15, 123_000_000));
+        return employee;
+    }
+
+    private static List<Object> fields(Employee employee) {
+        return Arrays.asList(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getEmail(),
+                employee.getDepartment(), employee.getPosition(), employee.getHireDate(), employee.getSalary(),
+                employee.getIsActive(), employee.getManagerId(), employee.getCreatedAt(), employee.getUpdatedAt());
+    }
+
+    // One-byte tag (fields up to 15) and eight bytes of an unknown fixed64 (wire type 1) field
+    private static byte[] fixed64(int field) {
+        return new byte[]{(byte) ((field << 3) | 1), 1, 2, 3, 4, 5, 6, 7, 8};
+    }
+
+    // One-byte tag (fields up to 15) and four bytes of an unknown fixed32 (wire type 5) field
+    private static byte[] fixed32(int field) {
+        return new byte[]{(byte) ((field << 3) | 5), 1, 2, 3, 4};
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,40 @@
+#!/bin/bash
+# Compares startup time of the regular jar against the fast-start build.
+# Usage: startup-benchmark.sh [runs]
+#
+# Build both variants first:
+#   mvn clean package && cp target/employee-management-system-1.0.0.jar target/regular.jar
+#   mvn -Pfast-start package
+#
+# Each run stops right after context refresh (spring.context.exit=onRefresh),
+# so the initialization runners and the web traffic do not skew the numbers.
+
+RUNS=${1:-5}
+TARGET="$(cd "$(dirname "$0")" && pwd)/target"
+
+if [ ! -f "$TARGET/regular.jar" ] || [ ! -f "$TARGET/fast-start/app.jsa" ]; then
+    echo "ERROR: build target/regular.jar and the fast-start profile first"
+    exit 1
+fi
+
+measure() {
+    local label=$1
+    shift
+    local total=0
+    for i in $(seq 1 "$RUNS"); do
+        local start=$(date +%s%N)
+        "$@" > /dev/null 2>&1
+        local end=$(date +%s%N)
+        local ms=$(( (end - start) / 1000000 ))
+        total=$(( total + ms ))
+        echo "$label run $i: ${ms} ms"
+    done
+    echo "$label average: $(( total / RUNS )) ms"
+    echo
+}
+
+measure "regular" java -Dspring.context.exit=onRefresh -jar "$TARGET/regular.jar"
+
+cd "$TARGET/fast-start"
+measure "fast-start" java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+    -cp "$(cat classpath.txt)" com.employeems.EmployeeManagementSystemApplication